@@ -0,0 +1,120 @@
+package com.quickcart.backend.catalog;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Small LRU cache with a per-entry TTL and hit/miss/eviction counters.
+ *
+ * Values are computed outside the lock. A load remembers the tick it started at and is only stored if neither
+ * its key nor the whole cache was invalidated since, so writes cannot be masked by a slow concurrent read.
+ * Invalidating one key leaves loads of other keys alone; per-key ticks are only kept while that key is loading.
+ */
+public final class BoundedTtlCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, long expirations, int size, int maxEntries) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Guarded by entries
+    private final Map<K, Integer> loading = new HashMap<>();
+    private final Map<K, Long> invalidatedAt = new HashMap<>();
+    private long tick;
+    private long clearedAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedTtlCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        // access-order LinkedHashMap = LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        long startTick;
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAtNanos() < 0) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            startTick = tick;
+            loading.merge(key, 1, Integer::sum);
+        }
+
+        misses.increment();
+        V value = null;
+        try {
+            value = loader.get();
+            return value;
+        } finally {
+            synchronized (entries) {
+                boolean stale = clearedAt > startTick || invalidatedAt.getOrDefault(key, Long.MIN_VALUE) > startTick;
+                if (value != null && !stale) {
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                }
+                if (loading.merge(key, -1, Integer::sum) == 0) {
+                    loading.remove(key);
+                    invalidatedAt.remove(key);
+                }
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            if (loading.containsKey(key)) {
+                invalidatedAt.put(key, ++tick);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            clearedAt = ++tick;
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size, maxEntries);
+    }
+}
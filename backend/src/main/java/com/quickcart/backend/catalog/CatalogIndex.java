@@ -0,0 +1,216 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.ProductFacetsResponse;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process, read-optimized index over ACTIVE products that answers buyer filtering and facet counts
+ * without touching Postgres.
+ *
+ * Lifecycle:
+ * - full rebuild at startup and every {@code app.catalog.index.rebuildIntervalMs} (safety net for writes that
+ *   bypass the services, e.g. manual SQL)
+ * - {@link ProductCatalogChangedEvent}s mark ids dirty after commit; a short fixed-delay job re-reads just those rows
+ *
+ * The index is eventually consistent. Writes made on this node show up within one refresh delay; events are
+ * not shared between nodes, so with several instances a write made on another node shows up only at this node's
+ * next rebuild (up to rebuildIntervalMs later). Manufacturers always go to the database because they must see
+ * their own non-ACTIVE products and read-your-writes immediately.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogIndex {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeMonitor = new Object();
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /** Null until the first rebuild completes. */
+    private volatile CatalogSnapshot snapshot;
+
+    @Value("${app.catalog.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.catalog.index.batchSize:5000}")
+    private int batchSize;
+
+    /**
+     * Above this many dirty ids a full rebuild is cheaper than moving entries in the sorted columns one by one.
+     */
+    @Value("${app.catalog.index.maxIncrementalBatch:2000}")
+    private int maxIncrementalBatch;
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * Whether list/facet requests for this user can be answered from the index.
+     */
+    public boolean canServe(User user) {
+        return isReady() && (user == null || !user.hasRole("MANUFACTURER"));
+    }
+
+    public int size() {
+        CatalogSnapshot current = snapshot;
+        return current == null ? 0 : current.size();
+    }
+
+    public Optional<ProductFacetsResponse> facets(CatalogQuery query) {
+        lock.readLock().lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            return current == null ? Optional.empty() : Optional.of(current.facets(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Page of matching product ids for a single-property sort on id, price, rating or stock (default id ASC).
+     * Empty when the index cannot answer (not built yet, or the sort has no in-memory column).
+     */
+    public Optional<CatalogPage> page(CatalogQuery query, Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1 || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        String property = orders.isEmpty() ? "id" : orders.getFirst().getProperty();
+        boolean ascending = orders.isEmpty() || orders.getFirst().isAscending();
+
+        lock.readLock().lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(current.page(query, property, ascending, pageable.getOffset(), pageable.getPageSize()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        if (enabled) {
+            pendingIds.addAll(event.productIds());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.index.refreshDelayMs:500}")
+    public void applyPendingChanges() {
+        if (!enabled || snapshot == null || pendingIds.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeMonitor) {
+            List<Long> ids = new ArrayList<>(pendingIds);
+            ids.forEach(pendingIds::remove);
+
+            if (ids.size() > maxIncrementalBatch) {
+                rebuild();
+                return;
+            }
+
+            // Read outside the lock; rows missing from the result were deleted.
+            // On failure the ids go back in the queue so the next run retries them.
+            List<CatalogRow> rows;
+            try {
+                rows = productRepository.findCatalogRowsByIdIn(ids);
+            } catch (RuntimeException ex) {
+                pendingIds.addAll(ids);
+                throw ex;
+            }
+            Set<Long> missing = new HashSet<>(ids);
+            boolean facetsChanged = false;
+
+            lock.writeLock().lock();
+            try {
+                for (CatalogRow row : rows) {
+                    facetsChanged |= snapshot.changesFacetInputs(row);
+                    snapshot.upsert(row);
+                    missing.remove(row.id());
+                }
+                facetsChanged |= !missing.isEmpty();
+                missing.forEach(snapshot::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            eventPublisher.publishEvent(new CatalogIndexUpdatedEvent(size(), false, facetsChanged, rows, missing));
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.catalog.index.rebuildIntervalMs:900000}",
+            initialDelayString = "${app.catalog.index.initialDelayMs:0}"
+    )
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (writeMonitor) {
+            long started = System.currentTimeMillis();
+
+            // Everything committed before this point is in the rows read below;
+            // later commits re-queue their ids and are applied on top of the new snapshot.
+            List<Long> drained = new ArrayList<>(pendingIds);
+            drained.forEach(pendingIds::remove);
+
+            CatalogSnapshot next = new CatalogSnapshot();
+            try {
+                long afterId = 0;
+                List<CatalogRow> batch;
+                do {
+                    batch = productRepository.findActiveCatalogRowsAfter(afterId, Limit.of(batchSize));
+                    batch.forEach(next::load);
+                    if (!batch.isEmpty()) {
+                        afterId = batch.getLast().id();
+                    }
+                } while (batch.size() == batchSize);
+            } catch (RuntimeException ex) {
+                // The current snapshot stays in place, so its queued changes must not be lost
+                pendingIds.addAll(drained);
+                throw ex;
+            }
+            next.buildColumns();
+
+            lock.writeLock().lock();
+            try {
+                snapshot = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Catalog index rebuilt: {} active products in {} ms", next.size(), System.currentTimeMillis() - started);
+        }
+
+        eventPublisher.publishEvent(CatalogIndexUpdatedEvent.rebuilt(size()));
+    }
+}
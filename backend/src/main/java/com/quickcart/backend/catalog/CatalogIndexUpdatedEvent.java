@@ -0,0 +1,23 @@
+package com.quickcart.backend.catalog;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by {@link CatalogIndex} after it applied queued changes or swapped in a rebuilt snapshot,
+ * so caches built on top of it can drop results computed from the previous state.
+ *
+ * Incremental updates carry the rows that were re-read (any status) and the ids that no longer exist,
+ * so other in-memory structures can follow without their own database round trip.
+ * A full rebuild carries neither; listeners rebuild themselves.
+ *
+ * {@code facetsChanged} is false when every change only moved stock without crossing zero (the common case for
+ * orders), so facet results computed before the update are still correct.
+ */
+public record CatalogIndexUpdatedEvent(int productCount, boolean fullRebuild, boolean facetsChanged,
+                                       List<CatalogRow> changedRows, Set<Long> removedIds) {
+
+    static CatalogIndexUpdatedEvent rebuilt(int productCount) {
+        return new CatalogIndexUpdatedEvent(productCount, true, true, List.of(), Set.of());
+    }
+}
@@ -0,0 +1,9 @@
+package com.quickcart.backend.catalog;
+
+import java.util.List;
+
+/**
+ * One page of product ids answered by the catalog index, in display order, plus the total match count.
+ */
+public record CatalogPage(List<Long> productIds, long total) {
+}
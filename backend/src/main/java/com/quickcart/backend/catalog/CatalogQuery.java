@@ -0,0 +1,51 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.repository.spec.ProductSpecifications;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Buyer list/facet filters, normalized the same way as {@link ProductSpecifications}
+ * (lower-cased category slugs and brand key).
+ */
+public record CatalogQuery(
+        List<String> categorySlugs,
+        String brandKey,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        BigDecimal minRating,
+        Boolean inStock,
+        Boolean featured,
+        Boolean returnable,
+        Boolean hasDiscountPrice,
+        BigDecimal minDiscount
+) {
+
+    public static CatalogQuery of(
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount
+    ) {
+        return new CatalogQuery(
+                ProductSpecifications.parseCategorySlugs(category),
+                Product.brandKeyOf(brand),
+                minPrice,
+                maxPrice,
+                rating,
+                inStock,
+                featured,
+                returnable,
+                hasDiscountPrice,
+                minDiscount
+        );
+    }
+}
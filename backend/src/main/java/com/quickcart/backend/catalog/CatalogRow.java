@@ -0,0 +1,27 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.entity.ProductStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat projection of the product columns the catalog index and suggestion index need (no description fields).
+ */
+public record CatalogRow(
+        Long id,
+        ProductStatus status,
+        String name,
+        BigDecimal price,
+        BigDecimal mrp,
+        BigDecimal discountPrice,
+        BigDecimal rating,
+        Integer reviewCount,
+        Integer stock,
+        Boolean isFeatured,
+        Boolean isReturnable,
+        String brand,
+        Long categoryId,
+        String categoryName,
+        String categorySlug
+) {
+}
@@ -0,0 +1,414 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.ProductFacetsResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar, slot-addressed copy of the ACTIVE catalog.
+ *
+ * Every product gets a slot; per-slot values live in primitive arrays (money as cents, rating as hundredths),
+ * categories/brands/flags are bitsets over slots, and price/rating/stock/id are {@link SortedColumn}s.
+ * Removed products leave a hole that is dropped on the next full rebuild.
+ *
+ * Not thread-safe: {@link CatalogIndex} serializes writers and guards readers with a read/write lock.
+ */
+final class CatalogSnapshot {
+
+    /** Marker for a missing money value (mrp). */
+    private static final long NONE = Long.MIN_VALUE;
+
+    /** Null ratings sort after every real rating, matching Postgres' default NULLS LAST for ASC. */
+    private static final long NULL_RATING = Long.MAX_VALUE;
+
+    private record CategoryRef(Long id, String name, String slug) {
+    }
+
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private int slotCount;
+
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private long[] priceCents = new long[1024];
+    private long[] mrpCents = new long[1024];
+    private long[] ratingHundredths = new long[1024];
+    private long[] stock = new long[1024];
+    private int[] categoryOrd = new int[1024];
+    private int[] brandOrd = new int[1024];
+
+    private final BitSet live = new BitSet();
+    private final BitSet featured = new BitSet();
+    private final BitSet returnable = new BitSet();
+    private final BitSet discounted = new BitSet();
+
+    private final List<CategoryRef> categories = new ArrayList<>();
+    private final List<BitSet> categoryBits = new ArrayList<>();
+    private final Map<Long, Integer> categoryOrdById = new HashMap<>();
+    private final Map<String, Integer> categoryOrdBySlug = new HashMap<>();
+
+    private final List<String> brandValues = new ArrayList<>();
+    private final List<BitSet> brandBits = new ArrayList<>();
+    private final Map<String, Integer> brandOrdByKey = new HashMap<>();
+
+    private SortedColumn byId;
+    private SortedColumn byPrice;
+    private SortedColumn byRating;
+    private SortedColumn byStock;
+
+    /**
+     * Bulk load path: adds the row without touching sorted columns. Call {@link #buildColumns()} when done.
+     */
+    void load(CatalogRow row) {
+        if (row.status() == ProductStatus.ACTIVE) {
+            write(allocateSlot(row.id()), row);
+        }
+    }
+
+    void buildColumns() {
+        byId = SortedColumn.build(live, ids, ids);
+        byPrice = SortedColumn.build(live, priceCents, ids);
+        byRating = SortedColumn.build(live, ratingHundredths, ids);
+        byStock = SortedColumn.build(live, stock, ids);
+    }
+
+    /**
+     * Incremental path: inserts, updates or (for non-ACTIVE rows) removes one product.
+     */
+    void upsert(CatalogRow row) {
+        if (row.status() != ProductStatus.ACTIVE) {
+            remove(row.id());
+            return;
+        }
+
+        Integer existing = slotById.get(row.id());
+        int slot;
+        if (existing == null) {
+            slot = allocateSlot(row.id());
+        } else {
+            slot = existing;
+            unindex(slot);
+        }
+
+        write(slot, row);
+        byId.insert(slot, ids[slot], ids[slot]);
+        byPrice.insert(slot, priceCents[slot], ids[slot]);
+        byRating.insert(slot, ratingHundredths[slot], ids[slot]);
+        byStock.insert(slot, stock[slot], ids[slot]);
+    }
+
+    /**
+     * Whether applying the row would change anything facet counts can depend on: membership (status), category,
+     * brand, name (search text), price/mrp/discount, rating, flags, or stock crossing zero. Any other stock move
+     * returns false, which is what lets facet caches survive checkout traffic. Unknown products return true.
+     */
+    boolean changesFacetInputs(CatalogRow row) {
+        Integer slot = slotById.get(row.id());
+        if (slot == null || row.status() != ProductStatus.ACTIVE) {
+            return true;
+        }
+        int s = slot;
+
+        long rowPrice = row.price() == null ? 0 : toHundredths(row.price(), RoundingMode.HALF_UP);
+        long rowMrp = row.mrp() == null ? NONE : toHundredths(row.mrp(), RoundingMode.HALF_UP);
+        long rowRating = row.rating() == null ? NULL_RATING : toHundredths(row.rating(), RoundingMode.HALF_UP);
+        long rowStock = row.stock() == null ? 0 : row.stock();
+        if (priceCents[s] != rowPrice || mrpCents[s] != rowMrp || ratingHundredths[s] != rowRating
+                || (stock[s] > 0) != (rowStock > 0)) {
+            return true;
+        }
+        if (featured.get(s) != Boolean.TRUE.equals(row.isFeatured())
+                || returnable.get(s) != Boolean.TRUE.equals(row.isReturnable())
+                || discounted.get(s) != (row.discountPrice() != null)
+                || !Objects.equals(names[s], row.name())) {
+            return true;
+        }
+
+        if (row.categoryId() == null) {
+            if (categoryOrd[s] >= 0) {
+                return true;
+            }
+        } else {
+            Integer ord = categoryOrdById.get(row.categoryId());
+            if (ord == null || ord != categoryOrd[s]) {
+                return true;
+            }
+            CategoryRef ref = categories.get(ord);
+            if (!Objects.equals(ref.name(), row.categoryName()) || !Objects.equals(ref.slug(), row.categorySlug())) {
+                return true;
+            }
+        }
+
+        String brandKey = Product.brandKeyOf(row.brand());
+        if (brandKey == null) {
+            return brandOrd[s] >= 0;
+        }
+        Integer brand = brandOrdByKey.get(brandKey);
+        return brand == null || brand != brandOrd[s];
+    }
+
+    void remove(Long productId) {
+        Integer slot = slotById.remove(productId);
+        if (slot != null) {
+            unindex(slot);
+        }
+    }
+
+    int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Slots matching the query. The category/brand filters can be skipped so facets can ignore their own dimension.
+     */
+    BitSet match(CatalogQuery q, boolean applyCategory, boolean applyBrand) {
+        BitSet result = (BitSet) live.clone();
+
+        if (applyCategory && !q.categorySlugs().isEmpty()) {
+            BitSet anyCategory = new BitSet();
+            for (String slug : q.categorySlugs()) {
+                Integer ord = categoryOrdBySlug.get(slug);
+                if (ord != null) {
+                    anyCategory.or(categoryBits.get(ord));
+                }
+            }
+            result.and(anyCategory);
+        }
+
+        if (applyBrand && q.brandKey() != null) {
+            Integer ord = brandOrdByKey.get(q.brandKey());
+            if (ord == null) {
+                result.clear();
+            } else {
+                result.and(brandBits.get(ord));
+            }
+        }
+
+        if (q.minPrice() != null || q.maxPrice() != null) {
+            result.and(byPrice.range(
+                    q.minPrice() == null ? Long.MIN_VALUE : toHundredths(q.minPrice(), RoundingMode.CEILING),
+                    q.maxPrice() == null ? Long.MAX_VALUE : toHundredths(q.maxPrice(), RoundingMode.FLOOR)));
+        }
+
+        if (q.minRating() != null) {
+            result.and(byRating.range(toHundredths(q.minRating(), RoundingMode.CEILING), NULL_RATING - 1));
+        }
+
+        if (q.inStock() != null) {
+            result.and(Boolean.TRUE.equals(q.inStock())
+                    ? byStock.range(1, Long.MAX_VALUE)
+                    : byStock.range(Long.MIN_VALUE, 0));
+        }
+
+        applyFlag(result, featured, q.featured());
+        applyFlag(result, returnable, q.returnable());
+        applyFlag(result, discounted, q.hasDiscountPrice());
+
+        if (q.minDiscount() != null) {
+            long minDiscount = toHundredths(q.minDiscount(), RoundingMode.CEILING);
+            for (int s = result.nextSetBit(0); s >= 0; s = result.nextSetBit(s + 1)) {
+                if (mrpCents[s] == NONE || mrpCents[s] - priceCents[s] < minDiscount) {
+                    result.clear(s);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    ProductFacetsResponse facets(CatalogQuery q) {
+        int[] categoryCounts = new int[categories.size()];
+        BitSet forCategories = match(q, false, true);
+        for (int s = forCategories.nextSetBit(0); s >= 0; s = forCategories.nextSetBit(s + 1)) {
+            if (categoryOrd[s] >= 0) {
+                categoryCounts[categoryOrd[s]]++;
+            }
+        }
+
+        int[] brandCounts = new int[brandValues.size()];
+        BitSet forBrands = match(q, true, false);
+        for (int s = forBrands.nextSetBit(0); s >= 0; s = forBrands.nextSetBit(s + 1)) {
+            if (brandOrd[s] >= 0) {
+                brandCounts[brandOrd[s]]++;
+            }
+        }
+
+        List<ProductFacetsResponse.CategoryFacet> categoryFacets = new ArrayList<>();
+        for (int ord = 0; ord < categoryCounts.length; ord++) {
+            if (categoryCounts[ord] > 0) {
+                CategoryRef ref = categories.get(ord);
+                categoryFacets.add(ProductFacetsResponse.CategoryFacet.builder()
+                        .id(ref.id())
+                        .name(ref.name())
+                        .slug(ref.slug())
+                        .count(categoryCounts[ord])
+                        .build());
+            }
+        }
+        categoryFacets.sort(Comparator.comparing(ProductFacetsResponse.CategoryFacet::getName,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<ProductFacetsResponse.BrandFacet> brandFacets = new ArrayList<>();
+        for (int ord = 0; ord < brandCounts.length; ord++) {
+            if (brandCounts[ord] > 0) {
+                brandFacets.add(ProductFacetsResponse.BrandFacet.builder()
+                        .value(brandValues.get(ord))
+                        .count(brandCounts[ord])
+                        .build());
+            }
+        }
+        brandFacets.sort(Comparator.comparing(ProductFacetsResponse.BrandFacet::getValue, String.CASE_INSENSITIVE_ORDER));
+
+        return ProductFacetsResponse.builder()
+                .categories(categoryFacets)
+                .brands(brandFacets)
+                .build();
+    }
+
+    /**
+     * Returns null when the sort property has no in-memory column (caller falls back to the database).
+     */
+    CatalogPage page(CatalogQuery q, String sortProperty, boolean ascending, long offset, int size) {
+        SortedColumn column = switch (sortProperty) {
+            case "id" -> byId;
+            case "price" -> byPrice;
+            case "rating" -> byRating;
+            case "stock" -> byStock;
+            default -> null;
+        };
+        if (column == null) {
+            return null;
+        }
+
+        BitSet matched = match(q, true, true);
+        List<Long> pageIds = new ArrayList<>(size);
+        long skipped = 0;
+        int n = column.size();
+        for (int i = 0; i < n && pageIds.size() < size; i++) {
+            int s = column.slotAt(ascending ? i : n - 1 - i);
+            if (!matched.get(s)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            pageIds.add(ids[s]);
+        }
+        return new CatalogPage(pageIds, matched.cardinality());
+    }
+
+    private int allocateSlot(Long productId) {
+        int slot = slotCount++;
+        if (slot == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            mrpCents = Arrays.copyOf(mrpCents, capacity);
+            ratingHundredths = Arrays.copyOf(ratingHundredths, capacity);
+            stock = Arrays.copyOf(stock, capacity);
+            categoryOrd = Arrays.copyOf(categoryOrd, capacity);
+            brandOrd = Arrays.copyOf(brandOrd, capacity);
+        }
+        slotById.put(productId, slot);
+        return slot;
+    }
+
+    private void write(int slot, CatalogRow row) {
+        ids[slot] = row.id();
+        names[slot] = row.name();
+        priceCents[slot] = row.price() == null ? 0 : toHundredths(row.price(), RoundingMode.HALF_UP);
+        mrpCents[slot] = row.mrp() == null ? NONE : toHundredths(row.mrp(), RoundingMode.HALF_UP);
+        ratingHundredths[slot] = row.rating() == null ? NULL_RATING : toHundredths(row.rating(), RoundingMode.HALF_UP);
+        stock[slot] = row.stock() == null ? 0 : row.stock();
+
+        live.set(slot);
+        featured.set(slot, Boolean.TRUE.equals(row.isFeatured()));
+        returnable.set(slot, Boolean.TRUE.equals(row.isReturnable()));
+        discounted.set(slot, row.discountPrice() != null);
+
+        categoryOrd[slot] = row.categoryId() == null ? -1 : categoryOrd(row);
+        if (categoryOrd[slot] >= 0) {
+            categoryBits.get(categoryOrd[slot]).set(slot);
+        }
+
+        // Same normalization as the SQL facets: group by brand_key, skip null/blank brands.
+        String brandKey = Product.brandKeyOf(row.brand());
+        brandOrd[slot] = brandKey == null ? -1 : brandOrd(brandKey, row.brand());
+        if (brandOrd[slot] >= 0) {
+            brandBits.get(brandOrd[slot]).set(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        byId.remove(ids[slot], ids[slot]);
+        byPrice.remove(priceCents[slot], ids[slot]);
+        byRating.remove(ratingHundredths[slot], ids[slot]);
+        byStock.remove(stock[slot], ids[slot]);
+
+        live.clear(slot);
+        featured.clear(slot);
+        returnable.clear(slot);
+        discounted.clear(slot);
+        if (categoryOrd[slot] >= 0) {
+            categoryBits.get(categoryOrd[slot]).clear(slot);
+        }
+        if (brandOrd[slot] >= 0) {
+            brandBits.get(brandOrd[slot]).clear(slot);
+        }
+    }
+
+    private int categoryOrd(CatalogRow row) {
+        Integer ord = categoryOrdById.get(row.categoryId());
+        if (ord == null) {
+            ord = categories.size();
+            categories.add(new CategoryRef(row.categoryId(), row.categoryName(), row.categorySlug()));
+            categoryBits.add(new BitSet());
+            categoryOrdById.put(row.categoryId(), ord);
+        } else {
+            // Keep the latest name/slug seen for the category.
+            CategoryRef previous = categories.set(ord, new CategoryRef(row.categoryId(), row.categoryName(), row.categorySlug()));
+            if (previous.slug() != null) {
+                categoryOrdBySlug.remove(previous.slug().toLowerCase());
+            }
+        }
+        if (row.categorySlug() != null) {
+            categoryOrdBySlug.put(row.categorySlug().toLowerCase(), ord);
+        }
+        return ord;
+    }
+
+    private int brandOrd(String brandKey, String brand) {
+        return brandOrdByKey.computeIfAbsent(brandKey, key -> {
+            brandValues.add(brand);
+            brandBits.add(new BitSet());
+            return brandValues.size() - 1;
+        });
+    }
+
+    private static long toHundredths(BigDecimal value, RoundingMode rounding) {
+        return value.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static void applyFlag(BitSet result, BitSet flag, Boolean wanted) {
+        if (wanted == null) {
+            return;
+        }
+        if (wanted) {
+            result.and(flag);
+        } else {
+            result.andNot(flag);
+        }
+    }
+}
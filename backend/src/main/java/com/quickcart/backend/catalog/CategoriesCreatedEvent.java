@@ -0,0 +1,11 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.CategoryResponse;
+
+import java.util.List;
+
+/**
+ * Published by CategoryService after new categories were inserted.
+ */
+public record CategoriesCreatedEvent(List<CategoryResponse> categories) {
+}
@@ -0,0 +1,14 @@
+package com.quickcart.backend.catalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published by OrderService#placeOrder with the distinct products of the new order; consumed after commit.
+ */
+public record OrderPlacedEvent(Long orderId, Set<Long> productIds) {
+
+    public static OrderPlacedEvent of(Long orderId, Collection<Long> productIds) {
+        return new OrderPlacedEvent(orderId, Set.copyOf(productIds));
+    }
+}
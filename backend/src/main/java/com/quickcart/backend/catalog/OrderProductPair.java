@@ -0,0 +1,7 @@
+package com.quickcart.backend.catalog;
+
+/**
+ * One (order, product) line, as read when the related-products index is built from historical orders.
+ */
+public record OrderProductPair(Long orderId, Long productId) {
+}
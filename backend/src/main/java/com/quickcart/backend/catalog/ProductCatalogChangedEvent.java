@@ -0,0 +1,21 @@
+package com.quickcart.backend.catalog;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published whenever a write may have changed how products filter, sort or facet
+ * (create/update/deactivate, rating recalculation, stock movement).
+ *
+ * Consumers only get ids and re-read the committed rows, so publishers never need to describe the change.
+ */
+public record ProductCatalogChangedEvent(Set<Long> productIds) {
+
+    public static ProductCatalogChangedEvent of(Long productId) {
+        return new ProductCatalogChangedEvent(Set.of(productId));
+    }
+
+    public static ProductCatalogChangedEvent of(Collection<Long> productIds) {
+        return new ProductCatalogChangedEvent(Set.copyOf(productIds));
+    }
+}
@@ -0,0 +1,68 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.CategoryResponse;
+import com.quickcart.backend.dto.ProductDetailsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * Buyer-facing product detail responses keyed by product id (ACTIVE products only; manufacturers bypass it).
+ *
+ * Entries are evicted per product after every committed write that publishes {@link ProductCatalogChangedEvent}
+ * (edits, deactivation, bulk create, rating recalculation, stock moves from orders); the TTL only bounds how long
+ * a missed event could go unnoticed. Callers get their own copy, so the cached snapshot is never mutated.
+ */
+@Component
+public class ProductDetailCache {
+
+    private final boolean enabled;
+    private final BoundedTtlCache<Long, ProductDetailsResponse> cache;
+
+    public ProductDetailCache(
+            @Value("${app.catalog.detailCache.enabled:true}") boolean enabled,
+            @Value("${app.catalog.detailCache.maxEntries:10000}") int maxEntries,
+            @Value("${app.catalog.detailCache.ttlMs:300000}") long ttlMs
+    ) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlMs);
+    }
+
+    public ProductDetailsResponse get(Long productId, Supplier<ProductDetailsResponse> loader) {
+        return enabled ? copy(cache.get(productId, loader)) : loader.get();
+    }
+
+    public BoundedTtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        event.productIds().forEach(cache::invalidate);
+    }
+
+    private static ProductDetailsResponse copy(ProductDetailsResponse cached) {
+        if (cached == null) {
+            return null;
+        }
+        CategoryResponse category = cached.getCategory();
+        ProductDetailsResponse.RatingDistribution ratings = cached.getRatingDistribution();
+        return cached.toBuilder()
+                .category(category == null ? null : CategoryResponse.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .slug(category.getSlug())
+                        .build())
+                .ratingDistribution(ratings == null ? null : ProductDetailsResponse.RatingDistribution.builder()
+                        .oneStar(ratings.getOneStar())
+                        .twoStar(ratings.getTwoStar())
+                        .threeStar(ratings.getThreeStar())
+                        .fourStar(ratings.getFourStar())
+                        .fiveStar(ratings.getFiveStar())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.ProductFacetsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * Facet responses keyed by {@link ProductFacetCacheKey}.
+ *
+ * Facet counts span the whole catalog, so invalidation is all-or-nothing, but only for changes that can move a
+ * count: the catalog index reports whether an applied change touched status, category, brand, name, price,
+ * rating, flags or stock crossing zero. Plain stock moves from orders keep the cache; the TTL bounds anything
+ * else (e.g. description edits behind a search facet). Until the index is serving, every product write clears it.
+ */
+@Component
+public class ProductFacetCache {
+
+    private final boolean enabled;
+    private final CatalogIndex catalogIndex;
+    private final BoundedTtlCache<ProductFacetCacheKey, ProductFacetsResponse> cache;
+
+    public ProductFacetCache(
+            CatalogIndex catalogIndex,
+            @Value("${app.catalog.facetCache.enabled:true}") boolean enabled,
+            @Value("${app.catalog.facetCache.maxEntries:5000}") int maxEntries,
+            @Value("${app.catalog.facetCache.ttlMs:60000}") long ttlMs
+    ) {
+        this.enabled = enabled;
+        this.catalogIndex = catalogIndex;
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlMs);
+    }
+
+    public ProductFacetsResponse get(ProductFacetCacheKey key, Supplier<ProductFacetsResponse> loader) {
+        return enabled ? cache.get(key, loader) : loader.get();
+    }
+
+    public BoundedTtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        // Once the index serves, it decides when the change is applied (onCatalogIndexUpdated)
+        if (!catalogIndex.isReady()) {
+            cache.invalidateAll();
+        }
+    }
+
+    @EventListener
+    public void onCatalogIndexUpdated(CatalogIndexUpdatedEvent event) {
+        if (event.facetsChanged()) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.spec.ProductSpecifications;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Canonical form of a facet request, so equivalent filters share one cache entry:
+ * category slugs sorted/lower-cased/de-duplicated, brand trimmed/lower-cased, decimals without trailing zeros,
+ * search text trimmed/lower-cased with whitespace collapsed (matching is case-insensitive anyway).
+ *
+ * Buyers all share the ACTIVE scope; each manufacturer gets its own scope (they see their own products only).
+ */
+public record ProductFacetCacheKey(
+        String scope,
+        List<String> categorySlugs,
+        String brand,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        BigDecimal rating,
+        Boolean inStock,
+        Boolean featured,
+        Boolean returnable,
+        Boolean hasDiscountPrice,
+        BigDecimal minDiscount,
+        String q
+) {
+
+    private static final String BUYER_SCOPE = "active";
+
+    public static ProductFacetCacheKey of(
+            User user,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        String scope = user != null && user.hasRole("MANUFACTURER") ? "manufacturer:" + user.getId() : BUYER_SCOPE;
+
+        return new ProductFacetCacheKey(
+                scope,
+                ProductSpecifications.parseCategorySlugs(category).stream().sorted().toList(),
+                Product.brandKeyOf(brand),
+                normalize(minPrice),
+                normalize(maxPrice),
+                normalize(rating),
+                inStock,
+                featured,
+                returnable,
+                hasDiscountPrice,
+                normalize(minDiscount),
+                q == null || q.isBlank() ? null : q.trim().toLowerCase().replaceAll("\\s+", " ")
+        );
+    }
+
+    // BigDecimal#equals is scale-sensitive (10 != 10.00)
+    private static BigDecimal normalize(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+}
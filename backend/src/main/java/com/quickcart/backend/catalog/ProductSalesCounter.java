@@ -0,0 +1,108 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.repository.ProductSalesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Units sold per (product, day), accumulated in memory from committed orders and cancellations and
+ * flushed to product_sales_daily every flushIntervalMs; each flush then refreshes the rolling totals and
+ * products.popularity_score that sort=popularity reads.
+ *
+ * Order transactions only touch a {@link LongAdder} (striped, so concurrent checkouts of the same hot
+ * product do not contend), never a shared counter row. Popularity therefore lags sales by up to one flush.
+ */
+@Component
+@Slf4j
+public class ProductSalesCounter {
+
+    private record SalesKey(Long productId, LocalDate salesDay) {
+    }
+
+    /** Rolling window covered by product_stats; older buckets are never read. */
+    private static final int WINDOW_DAYS = 30;
+
+    private final ProductSalesRepository productSalesRepository;
+    private final boolean enabled;
+
+    private final ConcurrentHashMap<SalesKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile LocalDate lastRefreshDay;
+
+    public ProductSalesCounter(
+            ProductSalesRepository productSalesRepository,
+            @Value("${app.products.popularity.enabled:true}") boolean enabled
+    ) {
+        this.productSalesRepository = productSalesRepository;
+        this.enabled = enabled;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSalesRecorded(ProductSalesRecordedEvent event) {
+        if (!enabled || event.salesDay().isBefore(LocalDate.now().minusDays(WINDOW_DAYS))) {
+            return;
+        }
+        event.unitsByProduct().forEach((productId, units) ->
+                pending.computeIfAbsent(new SalesKey(productId, event.salesDay()), k -> new LongAdder()).add(units));
+    }
+
+    /**
+     * Writes the accumulated deltas and refreshes popularity. Also runs the refresh once per day without new
+     * sales, so products age out of the 7/30-day windows.
+     */
+    @Scheduled(fixedDelayString = "${app.products.popularity.flushIntervalMs:60000}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusDays(WINDOW_DAYS - 1);
+
+        List<ProductSalesRepository.DailyUnits> deltas = new ArrayList<>();
+        for (Map.Entry<SalesKey, LongAdder> entry : pending.entrySet()) {
+            SalesKey key = entry.getKey();
+            long units = entry.getValue().sumThenReset();
+            if (units != 0) {
+                deltas.add(new ProductSalesRepository.DailyUnits(key.productId(), key.salesDay(), units));
+            }
+            // Keys for days that left the window get no more adds (see onSalesRecorded); drop them.
+            if (key.salesDay().isBefore(windowStart)) {
+                pending.remove(key);
+            }
+        }
+
+        if (deltas.isEmpty() && today.equals(lastRefreshDay)) {
+            return;
+        }
+
+        try {
+            productSalesRepository.addDailyUnits(deltas);
+        } catch (RuntimeException ex) {
+            // Put the drained units back so the next flush retries them.
+            deltas.forEach(d -> pending.computeIfAbsent(new SalesKey(d.productId(), d.salesDay()), k -> new LongAdder())
+                    .add(d.units()));
+            log.error("Failed to flush product sales counters", ex);
+            return;
+        }
+
+        try {
+            int changed = productSalesRepository.refreshStats(today);
+            lastRefreshDay = today;
+            log.debug("Flushed {} sales deltas, {} popularity scores changed", deltas.size(), changed);
+        } catch (RuntimeException ex) {
+            // The deltas are stored; lastRefreshDay is unchanged, so the next flush retries the rollup.
+            lastRefreshDay = null;
+            log.error("Failed to refresh product popularity", ex);
+        }
+    }
+}
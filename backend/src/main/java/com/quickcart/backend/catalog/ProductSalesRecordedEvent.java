@@ -0,0 +1,15 @@
+package com.quickcart.backend.catalog;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Units sold (positive) or given back by a cancellation (negative) per product, attributed to the day the
+ * order was placed. Published inside the order transaction and counted only once it commits.
+ */
+public record ProductSalesRecordedEvent(LocalDate salesDay, Map<Long, Integer> unitsByProduct) {
+
+    public ProductSalesRecordedEvent {
+        unitsByProduct = Map.copyOf(unitsByProduct);
+    }
+}
@@ -0,0 +1,213 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.repository.OrderItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * "Frequently bought together": for every product, the products that most often appear in the same order.
+ *
+ * Built once from historical order_items (streamed in order-id windows, never aggregated in SQL) and then kept
+ * up to date from {@link OrderPlacedEvent}s after each order commits. Requests only read memory.
+ *
+ * Each product keeps a fixed number of candidate neighbours in two parallel primitive arrays, maintained with
+ * the Space-Saving heavy-hitters scheme: when the candidates are full, a new neighbour replaces the one with the
+ * lowest count and inherits that count. Memory is bounded per product and the top entries stay accurate for
+ * products that are genuinely bought together often; counts are approximate near the bottom.
+ */
+@Component
+@Slf4j
+public class RelatedProductsIndex {
+
+    private final OrderItemRepository orderItemRepository;
+    private final boolean enabled;
+    private final int candidates;
+    private final int maxBasketSize;
+    private final int batchSize;
+
+    private volatile Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /** Guards the swap at the end of a rebuild against orders placed while it was running. */
+    private final Object eventMonitor = new Object();
+    private List<OrderPlacedEvent> placedDuringRebuild;
+
+    public RelatedProductsIndex(
+            OrderItemRepository orderItemRepository,
+            @Value("${app.catalog.related.enabled:true}") boolean enabled,
+            @Value("${app.catalog.related.candidates:50}") int candidates,
+            @Value("${app.catalog.related.maxBasketSize:100}") int maxBasketSize,
+            @Value("${app.catalog.related.batchSize:5000}") int batchSize
+    ) {
+        this.orderItemRepository = orderItemRepository;
+        this.enabled = enabled;
+        this.candidates = candidates;
+        this.maxBasketSize = maxBasketSize;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return neighbours.size();
+    }
+
+    /**
+     * Up to {@code limit} product ids most often ordered together with {@code productId}, best first.
+     */
+    public List<Long> related(Long productId, int limit) {
+        Neighbours n = neighbours.get(productId);
+        return n == null ? List.of() : n.top(limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (eventMonitor) {
+            if (placedDuringRebuild != null) {
+                placedDuringRebuild.add(event);
+            }
+            addBasket(neighbours, event.productIds());
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.catalog.related.rebuildIntervalMs:86400000}",
+            initialDelayString = "${app.catalog.related.initialDelayMs:0}"
+    )
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+
+        synchronized (eventMonitor) {
+            placedDuringRebuild = new ArrayList<>();
+        }
+
+        Map<Long, Neighbours> next = new ConcurrentHashMap<>();
+        long scannedUpTo;
+        long orders = 0;
+        try {
+            Long maxOrderId = orderItemRepository.findMaxOrderId();
+            scannedUpTo = maxOrderId == null ? 0 : maxOrderId;
+
+            // Lines come back grouped by order, and each window holds whole orders.
+            List<Long> basket = new ArrayList<>();
+            for (long after = 0; after < scannedUpTo; after += batchSize) {
+                Long currentOrder = null;
+                for (OrderProductPair pair : orderItemRepository.findProductPairsInOrderRange(after, Math.min(after + batchSize, scannedUpTo))) {
+                    if (!pair.orderId().equals(currentOrder)) {
+                        orders += addBasket(next, basket);
+                        basket.clear();
+                        currentOrder = pair.orderId();
+                    }
+                    basket.add(pair.productId());
+                }
+                orders += addBasket(next, basket);
+                basket.clear();
+            }
+        } catch (RuntimeException ex) {
+            synchronized (eventMonitor) {
+                placedDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (eventMonitor) {
+            // Orders above the scanned range were not part of the pass; replay them onto the new index.
+            placedDuringRebuild.stream()
+                    .filter(e -> e.orderId() == null || e.orderId() > scannedUpTo)
+                    .forEach(e -> addBasket(next, e.productIds()));
+            placedDuringRebuild = null;
+            neighbours = next;
+            ready = true;
+        }
+
+        log.info("Related products index rebuilt: {} orders, {} products in {} ms",
+                orders, next.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Counts every pair of distinct products in the basket in both directions.
+     *
+     * @return 1 if the basket was counted, 0 if it was skipped (fewer than two products, or above maxBasketSize)
+     */
+    private int addBasket(Map<Long, Neighbours> target, Collection<Long> productIds) {
+        long[] ids = productIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        if (ids.length < 2 || ids.length > maxBasketSize) {
+            return 0;
+        }
+        for (long a : ids) {
+            Neighbours n = target.computeIfAbsent(a, k -> new Neighbours(candidates));
+            for (long b : ids) {
+                if (a != b) {
+                    n.add(b);
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Space-Saving candidate set: parallel id/count arrays, at most {@code capacity} entries.
+     */
+    static final class Neighbours {
+
+        private final long[] ids;
+        private final int[] counts;
+        private int size;
+
+        Neighbours(int capacity) {
+            this.ids = new long[capacity];
+            this.counts = new int[capacity];
+        }
+
+        synchronized void add(long id) {
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size] = 1;
+                size++;
+            } else {
+                ids[min] = id;
+                counts[min]++;
+            }
+        }
+
+        synchronized List<Long> top(int limit) {
+            return IntStream.range(0, size)
+                    .boxed()
+                    .sorted(Comparator.comparingInt((Integer i) -> counts[i]).reversed()
+                            .thenComparingLong(i -> ids[i]))
+                    .limit(limit)
+                    .map(i -> ids[i])
+                    .toList();
+        }
+    }
+}
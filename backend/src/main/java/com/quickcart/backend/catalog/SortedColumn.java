@@ -0,0 +1,123 @@
+package com.quickcart.backend.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Slots ordered by (key, product id) in parallel primitive arrays.
+ *
+ * Serves range filters (binary search, then a contiguous run of slots) and ordered iteration for sorting.
+ * Single changes are applied in place with one arraycopy, which keeps incremental updates cheap
+ * compared to re-sorting; a full rebuild sorts once.
+ *
+ * Not thread-safe: {@link CatalogIndex} guards it with its read/write lock.
+ */
+final class SortedColumn {
+
+    private long[] keys;
+    private long[] ids;
+    private int[] slots;
+    private int size;
+
+    private SortedColumn(long[] keys, long[] ids, int[] slots, int size) {
+        this.keys = keys;
+        this.ids = ids;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Builds a column over the given slots, reading each slot's key and product id from the slot-indexed arrays.
+     */
+    static SortedColumn build(BitSet liveSlots, long[] keyBySlot, long[] idBySlot) {
+        int[] sorted = liveSlots.stream()
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(s -> keyBySlot[s]).thenComparingLong(s -> idBySlot[s]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int n = sorted.length;
+        long[] keys = new long[Math.max(n, 16)];
+        long[] ids = new long[keys.length];
+        int[] slots = new int[keys.length];
+        IntStream.range(0, n).forEach(i -> {
+            keys[i] = keyBySlot[sorted[i]];
+            ids[i] = idBySlot[sorted[i]];
+            slots[i] = sorted[i];
+        });
+        return new SortedColumn(keys, ids, slots, n);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slotAt(int index) {
+        return slots[index];
+    }
+
+    void insert(int slot, long key, long id) {
+        if (size == keys.length) {
+            int capacity = keys.length + (keys.length >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+        }
+        int at = lowerBound(key, id);
+        int tail = size - at;
+        System.arraycopy(keys, at, keys, at + 1, tail);
+        System.arraycopy(ids, at, ids, at + 1, tail);
+        System.arraycopy(slots, at, slots, at + 1, tail);
+        keys[at] = key;
+        ids[at] = id;
+        slots[at] = slot;
+        size++;
+    }
+
+    void remove(long key, long id) {
+        int at = lowerBound(key, id);
+        if (at >= size || keys[at] != key || ids[at] != id) {
+            return;
+        }
+        int tail = size - at - 1;
+        System.arraycopy(keys, at + 1, keys, at, tail);
+        System.arraycopy(ids, at + 1, ids, at, tail);
+        System.arraycopy(slots, at + 1, slots, at, tail);
+        size--;
+    }
+
+    /**
+     * Slots whose key lies in [min, max].
+     */
+    BitSet range(long min, long max) {
+        BitSet result = new BitSet();
+        if (min > max) {
+            return result;
+        }
+        int from = lowerBound(min, Long.MIN_VALUE);
+        for (int i = from; i < size && keys[i] <= max; i++) {
+            result.set(slots[i]);
+        }
+        return result;
+    }
+
+    /**
+     * First index whose (key, id) is >= the given pair.
+     */
+    private int lowerBound(long key, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = keys[mid] != key ? Long.compare(keys[mid], key) : Long.compare(ids[mid], id);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,378 @@
+package com.quickcart.backend.catalog;
+
+import com.quickcart.backend.dto.CategoryResponse;
+import com.quickcart.backend.dto.ProductSuggestionsResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductStatus;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory prefix index for typeahead over ACTIVE product names, brands and category names.
+ *
+ * Every name is split into lower-cased word tokens; a sorted token map (TreeMap) points each token at the
+ * products/brands/categories containing it, so a prefix lookup is a range scan starting at the prefix.
+ * The scan stops after {@code app.catalog.suggest.maxScan} postings, which bounds the latency of very short
+ * prefixes; candidates are then ranked by popularity (review count for products, product count for
+ * brands and categories).
+ *
+ * Follows {@link CatalogIndex}: incremental updates reuse the rows it re-read, a full rebuild follows each of its
+ * rebuilds, and new categories arrive via {@link CategoriesCreatedEvent}. Incremental changes that arrive while
+ * a rebuild scans are recorded and replayed onto the new state before it is swapped in, as
+ * {@link RelatedProductsIndex} does with orders.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionIndex {
+
+    private record ProductEntry(String name, String brand, Long categoryId, int weight, String[] tokens) {
+    }
+
+    private record CategoryEntry(Long id, String name, String slug, String[] tokens) {
+    }
+
+    /** Postings for one token. Created lazily; empty ones are removed. */
+    private static final class Postings {
+        final Set<Long> products = new HashSet<>();
+        final Set<String> brands = new HashSet<>();
+        final Set<Long> categories = new HashSet<>();
+
+        boolean isEmpty() {
+            return products.isEmpty() && brands.isEmpty() && categories.isEmpty();
+        }
+    }
+
+    /**
+     * Everything a lookup reads. Mutated in place by incremental updates; a rebuild fills a fresh one off-lock.
+     */
+    private static final class State {
+        final TreeMap<String, Postings> tokens = new TreeMap<>();
+        final Map<Long, ProductEntry> products = new HashMap<>();
+        final Map<Long, CategoryEntry> categories = new HashMap<>();
+        final Map<Long, Integer> categoryProductCounts = new HashMap<>();
+        /** brand key ({@link Product#brandKeyOf}) -> display value */
+        final Map<String, String> brandDisplay = new HashMap<>();
+        final Map<String, Integer> brandProductCounts = new HashMap<>();
+
+        void addProduct(CatalogRow row) {
+            String[] nameTokens = tokenize(row.name());
+            int weight = row.reviewCount() == null ? 0 : row.reviewCount();
+            products.put(row.id(), new ProductEntry(row.name(), row.brand(), row.categoryId(), weight, nameTokens));
+            for (String token : nameTokens) {
+                postings(token).products.add(row.id());
+            }
+
+            if (row.categoryId() != null) {
+                categoryProductCounts.merge(row.categoryId(), 1, Integer::sum);
+            }
+
+            // Same key as the brand filter and facets, so " Acme" and "acme" are one brand
+            String key = Product.brandKeyOf(row.brand());
+            if (key != null) {
+                brandDisplay.putIfAbsent(key, row.brand().trim());
+                if (brandProductCounts.merge(key, 1, Integer::sum) == 1) {
+                    for (String token : tokenize(key)) {
+                        postings(token).brands.add(key);
+                    }
+                }
+            }
+        }
+
+        void removeProduct(Long id) {
+            ProductEntry entry = products.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String token : entry.tokens()) {
+                dropPosting(token, p -> p.products.remove(id));
+            }
+
+            if (entry.categoryId() != null) {
+                categoryProductCounts.computeIfPresent(entry.categoryId(), (k, v) -> v > 1 ? v - 1 : null);
+            }
+
+            String key = Product.brandKeyOf(entry.brand());
+            if (key != null && brandProductCounts.computeIfPresent(key, (k, v) -> v > 1 ? v - 1 : null) == null) {
+                brandDisplay.remove(key);
+                for (String token : tokenize(key)) {
+                    dropPosting(token, p -> p.brands.remove(key));
+                }
+            }
+        }
+
+        void addCategory(Long id, String name, String slug) {
+            if (id == null || name == null) {
+                return;
+            }
+            CategoryEntry previous = categories.put(id, new CategoryEntry(id, name, slug, tokenize(name)));
+            if (previous != null) {
+                for (String token : previous.tokens()) {
+                    dropPosting(token, p -> p.categories.remove(id));
+                }
+            }
+            for (String token : tokenize(name)) {
+                postings(token).categories.add(id);
+            }
+        }
+
+        Postings postings(String token) {
+            return tokens.computeIfAbsent(token, t -> new Postings());
+        }
+
+        void dropPosting(String token, Consumer<Postings> removal) {
+            Postings postings = tokens.get(token);
+            if (postings != null) {
+                removal.accept(postings);
+                if (postings.isEmpty()) {
+                    tokens.remove(token);
+                }
+            }
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Guarded by lock; replaced wholesale by a rebuild. */
+    private State state = new State();
+
+    /** Guarded by lock: changes applied while a rebuild is scanning, replayed onto its new state. */
+    private List<Consumer<State>> appliedDuringRebuild;
+
+    private volatile boolean ready;
+
+    @Value("${app.catalog.index.batchSize:5000}")
+    private int batchSize;
+
+    @Value("${app.catalog.suggest.maxScan:2000}")
+    private int maxScan;
+
+    @Value("${app.catalog.suggest.maxLimit:10}")
+    private int maxLimit;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top suggestions of each kind for the prefix. Earlier words must match whole tokens (or token prefixes);
+     * the last word is treated as a prefix. Returns empty lists until the first build completes.
+     */
+    public ProductSuggestionsResponse suggest(String prefix, int limit) {
+        int n = Math.clamp(limit, 1, maxLimit);
+        String[] words = tokenize(prefix);
+        if (!ready || words.length == 0) {
+            return empty();
+        }
+
+        String last = words[words.length - 1];
+        String[] leading = Arrays.copyOf(words, words.length - 1);
+
+        lock.readLock().lock();
+        try {
+            State current = state;
+            Set<Long> productIds = new LinkedHashSet<>();
+            Set<String> brandKeys = new LinkedHashSet<>();
+            Set<Long> categoryIds = new LinkedHashSet<>();
+
+            int scanned = 0;
+            NavigableMap<String, Postings> range = current.tokens.subMap(last, true, last + Character.MAX_VALUE, false);
+            for (Postings postings : range.values()) {
+                productIds.addAll(postings.products);
+                brandKeys.addAll(postings.brands);
+                categoryIds.addAll(postings.categories);
+                scanned += postings.products.size() + postings.brands.size() + postings.categories.size();
+                if (scanned >= maxScan) {
+                    break;
+                }
+            }
+
+            List<ProductSuggestionsResponse.ProductSuggestion> productHits = productIds.stream()
+                    .map(id -> Map.entry(id, current.products.get(id)))
+                    .filter(e -> e.getValue() != null && matchesAll(e.getValue().tokens(), leading))
+                    .sorted(Comparator.comparingInt((Map.Entry<Long, ProductEntry> e) -> e.getValue().weight()).reversed()
+                            .thenComparing(e -> e.getValue().name(), String.CASE_INSENSITIVE_ORDER))
+                    .limit(n)
+                    .map(e -> ProductSuggestionsResponse.ProductSuggestion.builder()
+                            .id(e.getKey())
+                            .name(e.getValue().name())
+                            .brand(e.getValue().brand())
+                            .build())
+                    .toList();
+
+            List<String> brandHits = brandKeys.stream()
+                    .filter(key -> current.brandDisplay.containsKey(key) && matchesAll(tokenize(key), leading))
+                    .sorted(Comparator.comparingInt((String key) -> current.brandProductCounts.getOrDefault(key, 0)).reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(n)
+                    .map(current.brandDisplay::get)
+                    .toList();
+
+            List<CategoryResponse> categoryHits = categoryIds.stream()
+                    .map(current.categories::get)
+                    .filter(c -> c != null && matchesAll(c.tokens(), leading))
+                    .sorted(Comparator.comparingInt((CategoryEntry c) -> current.categoryProductCounts.getOrDefault(c.id(), 0)).reversed()
+                            .thenComparing(CategoryEntry::name, String.CASE_INSENSITIVE_ORDER))
+                    .limit(n)
+                    .map(c -> CategoryResponse.builder().id(c.id()).name(c.name()).slug(c.slug()).build())
+                    .toList();
+
+            return ProductSuggestionsResponse.builder()
+                    .products(productHits)
+                    .brands(brandHits)
+                    .categories(categoryHits)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onCatalogIndexUpdated(CatalogIndexUpdatedEvent event) {
+        if (event.fullRebuild()) {
+            rebuild();
+            return;
+        }
+
+        apply(target -> {
+            for (CatalogRow row : event.changedRows()) {
+                target.removeProduct(row.id());
+                if (row.status() == ProductStatus.ACTIVE) {
+                    target.addCategory(row.categoryId(), row.categoryName(), row.categorySlug());
+                    target.addProduct(row);
+                }
+            }
+            event.removedIds().forEach(target::removeProduct);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriesCreated(CategoriesCreatedEvent event) {
+        apply(target -> event.categories().forEach(c -> target.addCategory(c.getId(), c.getName(), c.getSlug())));
+    }
+
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (appliedDuringRebuild != null) {
+                appliedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds from the database: all categories, then ACTIVE products in id batches.
+     * The new structures are built off-lock and swapped in under the write lock, after replaying the incremental
+     * changes that arrived during the scan (in order, so a row re-read after its commit wins).
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            appliedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State next = new State();
+        try {
+            categoryRepository.findAll().forEach(c -> next.addCategory(c.getId(), c.getName(), c.getSlug()));
+
+            long afterId = 0;
+            List<CatalogRow> batch;
+            do {
+                batch = productRepository.findActiveCatalogRowsAfter(afterId, Limit.of(batchSize));
+                batch.forEach(next::addProduct);
+                if (!batch.isEmpty()) {
+                    afterId = batch.getLast().id();
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                appliedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            appliedDuringRebuild.forEach(change -> change.accept(next));
+            appliedDuringRebuild = null;
+            state = next;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Suggestion index rebuilt: {} tokens, {} products in {} ms",
+                next.tokens.size(), next.products.size(), System.currentTimeMillis() - started);
+    }
+
+    private static boolean matchesAll(String[] entryTokens, String[] words) {
+        for (String word : words) {
+            boolean found = false;
+            for (String token : entryTokens) {
+                if (token.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static ProductSuggestionsResponse empty() {
+        return ProductSuggestionsResponse.builder()
+                .products(List.of())
+                .brands(List.of())
+                .categories(List.of())
+                .build();
+    }
+}
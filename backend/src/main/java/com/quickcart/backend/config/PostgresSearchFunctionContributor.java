@@ -0,0 +1,32 @@
+package com.quickcart.backend.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Exposes Postgres full-text operators to HQL/Criteria:
+ * - fts_match(vector, text): {@code vector @@ websearch_to_tsquery('english', text)} (operator form, so the GIN index applies)
+ * - fts_rank(vector, text): {@code ts_rank(vector, websearch_to_tsquery('english', text))}
+ *
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class PostgresSearchFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var registry = functionContributions.getFunctionRegistry();
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        registry.registerPattern(
+                "fts_match",
+                "(?1 @@ websearch_to_tsquery('english', ?2))",
+                types.resolve(StandardBasicTypes.BOOLEAN)
+        );
+        registry.registerPattern(
+                "fts_rank",
+                "ts_rank(?1, websearch_to_tsquery('english', ?2))",
+                types.resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
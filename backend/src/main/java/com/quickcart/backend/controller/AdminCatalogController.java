@@ -0,0 +1,80 @@
+package com.quickcart.backend.controller;
+
+import com.quickcart.backend.catalog.BoundedTtlCache;
+import com.quickcart.backend.catalog.CatalogIndex;
+import com.quickcart.backend.catalog.ProductDetailCache;
+import com.quickcart.backend.catalog.ProductFacetCache;
+import com.quickcart.backend.dto.CatalogStatsResponse;
+import com.quickcart.backend.dto.MessageResponse;
+import com.quickcart.backend.dto.UpdateStockShardsRequest;
+import com.quickcart.backend.service.HotStockService;
+import com.quickcart.backend.service.ProductRatingReconciler;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/catalog")
+@RequiredArgsConstructor
+public class AdminCatalogController {
+
+    private final CatalogIndex catalogIndex;
+    private final ProductFacetCache productFacetCache;
+    private final ProductDetailCache productDetailCache;
+    private final ProductRatingReconciler productRatingReconciler;
+    private final HotStockService hotStockService;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogStatsResponse> getStats() {
+        return ResponseEntity.ok(CatalogStatsResponse.builder()
+                .indexReady(catalogIndex.isReady())
+                .indexedProducts(catalogIndex.size())
+                .facetCache(toResponse(productFacetCache.stats()))
+                .detailCache(toResponse(productDetailCache.stats()))
+                .build());
+    }
+
+    /**
+     * Recomputes every product's star histogram from product_reviews (id windows, see ProductRatingReconciler).
+     */
+    @PostMapping("/rating-histograms/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> rebuildRatingHistograms() {
+        int written = productRatingReconciler.rebuildHistograms();
+        return ResponseEntity.ok(MessageResponse.builder()
+                .message("Rating histograms rebuilt for " + written + " products")
+                .build());
+    }
+
+    /**
+     * Turns hot SKU mode on for a product (stock split over {@code shards} sub-counters for flash sales)
+     * or off again with {@code shards = 0}; see HotStockService.
+     */
+    @PutMapping("/products/{productId}/stock-shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> updateStockShards(
+            @PathVariable Long productId,
+            @Valid @RequestBody UpdateStockShardsRequest request
+    ) {
+        int stock = hotStockService.setShardCount(productId, request.getShards());
+        String mode = request.getShards() == 0 ? "single counter" : request.getShards() + " stock shards";
+        return ResponseEntity.ok(MessageResponse.builder()
+                .message("Product " + productId + " now uses " + mode + " (stock " + stock + ")")
+                .build());
+    }
+
+    private static CatalogStatsResponse.CacheStats toResponse(BoundedTtlCache.Stats stats) {
+        return CatalogStatsResponse.CacheStats.builder()
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .evictions(stats.evictions())
+                .expirations(stats.expirations())
+                .size(stats.size())
+                .maxEntries(stats.maxEntries())
+                .hitRatio(stats.hitRatio())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.quickcart.backend.controller;
 
 import com.quickcart.backend.dto.InvoiceResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.security.CustomUserDetails;
 import com.quickcart.backend.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
@@ -28,4 +29,19 @@ public class InvoiceController {
                 pageable
         );
     }
+
+    /**
+     * Slice mode ({@code mode=slice}) for infinite scroll: same page/size/sort, no total and no count query.
+     */
+    @GetMapping(params = "mode=slice")
+    @PreAuthorize("hasRole('RETAILER')")
+    public SliceResponse<InvoiceResponse> getRetailerInvoiceSlice(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            Pageable pageable
+    ) {
+        return invoiceService.getInvoiceSliceForRetailer(
+                userDetails.getUser(),
+                pageable
+        );
+    }
 }
@@ -10,8 +10,10 @@ import com.quickcart.backend.dto.PlaceOrderRequest;
 import com.quickcart.backend.dto.RejectOrderRequest;
 import com.quickcart.backend.dto.RefundDecisionRequest;
 import com.quickcart.backend.dto.RefundResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.dto.UpdateOrderStatusRequest;
 import com.quickcart.backend.security.CustomUserDetails;
+import com.quickcart.backend.service.IdempotencyService;
 import com.quickcart.backend.service.InvoiceService;
 import com.quickcart.backend.service.OrderAuditService;
 import com.quickcart.backend.service.OrderQueryService;
@@ -39,19 +41,27 @@ public class OrderController {
     private final OrderAuditService orderAuditService;
     private final InvoiceService invoiceService;
     private final RefundService refundService;
+    private final IdempotencyService idempotencyService;
 
+    /**
+     * Send an {@code Idempotency-Key} header to make retries safe: a repeated key returns the first response
+     * (with {@code Idempotent-Replayed: true}) instead of placing another order.
+     */
     @PostMapping
     @PreAuthorize("hasRole('RETAILER')")
     public ResponseEntity<OrderCreatedResponse> placeOrder(
             @Valid @RequestBody PlaceOrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetails currentUser
     ) {
-        var saved = orderService.placeOrder(request, currentUser.getUser());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(OrderCreatedResponse.builder()
-                        .orderId(saved.getId())
-                        .totalAmount(saved.getTotalAmount())
-                        .build());
+        return idempotencyService.execute("orders", currentUser.getUser().getId(), idempotencyKey, request, () -> {
+            var saved = orderService.placeOrder(request, currentUser.getUser());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(OrderCreatedResponse.builder()
+                            .orderId(saved.getId())
+                            .totalAmount(saved.getTotalAmount())
+                            .build());
+        });
     }
 
     /**
@@ -70,6 +80,17 @@ public class OrderController {
         );
     }
 
+    /**
+     * Slice mode ({@code mode=slice}) for infinite scroll: same page/size/sort, no total and no count query.
+     */
+    @GetMapping(params = "mode=slice")
+    public ResponseEntity<SliceResponse<OrderResponse>> getOrderSlice(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(orderQueryService.getOrderSlice(currentUser.getUser(), pageable));
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponse> getOrderById(
             @PathVariable Long orderId,
@@ -7,6 +7,7 @@ import com.quickcart.backend.dto.RazorpayCreateOrderResponse;
 import com.quickcart.backend.dto.RazorpayKeyResponse;
 import com.quickcart.backend.dto.RazorpayVerifyPaymentRequest;
 import com.quickcart.backend.security.CustomUserDetails;
+import com.quickcart.backend.service.IdempotencyService;
 import com.quickcart.backend.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final RazorpayProperties razorpayProperties;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Expose Razorpay public key id for frontend checkout.
@@ -51,15 +53,18 @@ public class PaymentController {
 
     /**
      * Create Razorpay order id (preferred endpoint).
+     * Accepts an {@code Idempotency-Key} header; a repeated key replays the first response without calling the gateway.
      */
     @PostMapping("/razorpay/order")
     @PreAuthorize("hasRole('RETAILER')")
     public ResponseEntity<RazorpayCreateOrderResponse> createRazorpayOrder(
             @Valid @RequestBody PaymentRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetails currentUser
     ) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(paymentService.createRazorpayOrder(request.getOrderId(), currentUser.getUser()));
+        return idempotencyService.execute("razorpay-order", currentUser.getUser().getId(), idempotencyKey, request,
+                () -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(paymentService.createRazorpayOrder(request.getOrderId(), currentUser.getUser())));
     }
 
     /**
@@ -2,23 +2,41 @@ package com.quickcart.backend.controller;
 
 import com.quickcart.backend.dto.BulkCreateProductsRequest;
 import com.quickcart.backend.dto.BulkCreateProductsResponse;
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuRequest;
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuResponse;
 import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.CursorPageResponse;
+import com.quickcart.backend.dto.ProductChangesResponse;
 import com.quickcart.backend.dto.ProductDetailsResponse;
 import com.quickcart.backend.dto.ProductFacetsResponse;
+import com.quickcart.backend.dto.ProductImportResponse;
 import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.dto.ProductSuggestionsResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.dto.UpdateProductRequest;
 import com.quickcart.backend.security.CustomUserDetails;
+import com.quickcart.backend.service.CatalogSnapshotService;
+import com.quickcart.backend.service.ProductImportService;
 import com.quickcart.backend.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/products")
@@ -26,6 +44,8 @@ import java.math.BigDecimal;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @PostMapping
     @PreAuthorize("hasRole('MANUFACTURER')")
@@ -48,6 +68,38 @@ public class ProductController {
         );
     }
 
+    /**
+     * Partial price/mrp/discountPrice/stock updates keyed by the caller's SKUs (e.g. an ERP sync).
+     * Returns one result per SKU: UPDATED with the product id, or NOT_FOUND.
+     */
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('MANUFACTURER')")
+    public ResponseEntity<BulkUpdateProductsBySkuResponse> updateProductsBySku(
+            @Valid @RequestBody BulkUpdateProductsBySkuRequest request,
+            @AuthenticationPrincipal CustomUserDetails currentUser
+    ) {
+        return ResponseEntity.ok(productService.updateProductsBySku(request, currentUser.getUser()));
+    }
+
+    /**
+     * Streaming import for large catalogs: NDJSON (one product per line) or CSV with a header row,
+     * using the same fields as {@code POST /products}. Rows are committed in batches; bad rows are reported
+     * with their line number and skipped, the rest are created.
+     */
+    @PostMapping(value = "/import", consumes = {ProductImportService.NDJSON, ProductImportService.CSV})
+    @PreAuthorize("hasRole('MANUFACTURER')")
+    public ResponseEntity<ProductImportResponse> importProducts(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal CustomUserDetails currentUser
+    ) {
+        return ResponseEntity.ok(productImportService.importProducts(body, contentType, currentUser.getUser()));
+    }
+
+    /**
+     * Paged product list. Besides entity properties, {@code sort=popularity} lists best sellers first
+     * (rolling 7/30-day units sold, refreshed every minute).
+     */
     @GetMapping
     public ResponseEntity<Page<ProductListResponse>> listProducts(
             @AuthenticationPrincipal CustomUserDetails currentUser,
@@ -66,7 +118,11 @@ public class ProductController {
             /** true => discount_price is NOT NULL; false => discount_price IS NULL */
             @RequestParam(required = false) Boolean hasDiscountPrice,
             /** computed (mrp - price) >= minDiscount */
-            @RequestParam(required = false) BigDecimal minDiscount
+            @RequestParam(required = false) BigDecimal minDiscount,
+            /** full-text search over name, brand and descriptions; unsorted (or sort=relevance) orders by rank */
+            @RequestParam(required = false) String q,
+            /** "card" omits the long description from each row; anything else returns full rows */
+            @RequestParam(required = false) String view
     ) {
         return ResponseEntity.ok(
                 productService.getProductListForUser(
@@ -81,7 +137,95 @@ public class ProductController {
                         featured,
                         returnable,
                         hasDiscountPrice,
-                        minDiscount
+                        minDiscount,
+                        q,
+                        view
+                )
+        );
+    }
+
+    /**
+     * Slice mode of the product list ({@code mode=slice}): same filters, page, size and sort as the paged mode,
+     * but returns {@code hasNext} instead of totals, so no count query runs. Meant for infinite scroll.
+     * A request that also sends {@code cursor} is served by the cursor mode.
+     */
+    @GetMapping(params = {"mode=slice", "!cursor"})
+    public ResponseEntity<SliceResponse<ProductListResponse>> listProductsSlice(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            Pageable pageable,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal rating,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) Boolean returnable,
+            @RequestParam(required = false) Boolean hasDiscountPrice,
+            @RequestParam(required = false) BigDecimal minDiscount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String view
+    ) {
+        return ResponseEntity.ok(
+                productService.getProductSliceForUser(
+                        currentUser.getUser(),
+                        pageable,
+                        category,
+                        brand,
+                        minPrice,
+                        maxPrice,
+                        rating,
+                        inStock,
+                        featured,
+                        returnable,
+                        hasDiscountPrice,
+                        minDiscount,
+                        q,
+                        view
+                )
+        );
+    }
+
+    /**
+     * Cursor (keyset) mode of the product list, selected by sending a {@code cursor} parameter.
+     * Send an empty cursor for the first page, then the returned {@code nextCursor} until {@code hasNext} is false.
+     * Supported sorts: id, price, createdAt, rating. No totals are returned; use the paged mode when they are needed.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ProductListResponse>> listProductsByCursor(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal rating,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) Boolean returnable,
+            @RequestParam(required = false) Boolean hasDiscountPrice,
+            @RequestParam(required = false) BigDecimal minDiscount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String view
+    ) {
+        return ResponseEntity.ok(
+                productService.getProductCursorPageForUser(
+                        currentUser.getUser(),
+                        cursor,
+                        pageable,
+                        category,
+                        brand,
+                        minPrice,
+                        maxPrice,
+                        rating,
+                        inStock,
+                        featured,
+                        returnable,
+                        hasDiscountPrice,
+                        minDiscount,
+                        q,
+                        view
                 )
         );
     }
@@ -110,7 +254,9 @@ public class ProductController {
             /** true => discount_price is NOT NULL; false => discount_price IS NULL */
             @RequestParam(required = false) Boolean hasDiscountPrice,
             /** computed (mrp - price) >= minDiscount */
-            @RequestParam(required = false) BigDecimal minDiscount
+            @RequestParam(required = false) BigDecimal minDiscount,
+            /** full-text search over name, brand and descriptions; unsorted (or sort=relevance) orders by rank */
+            @RequestParam(required = false) String q
     ) {
         return ResponseEntity.ok(
                 productService.getProductFacetsForUser(
@@ -124,11 +270,70 @@ public class ProductController {
                         featured,
                         returnable,
                         hasDiscountPrice,
-                        minDiscount
+                        minDiscount,
+                        q
                 )
         );
     }
 
+    /**
+     * Typeahead suggestions for the search box: top products, brands and categories whose words start with the prefix.
+     * The last word is matched as a prefix; earlier words must also match. Answered from memory, without SQL.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ProductSuggestionsResponse> suggestProducts(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            @RequestParam String prefix,
+            /** per kind; capped at app.catalog.suggest.maxLimit */
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(productService.getProductSuggestionsForUser(currentUser.getUser(), prefix, limit));
+    }
+
+    /**
+     * Change feed for incremental catalog sync. Omit {@code cursor} for a full initial sync, then keep sending
+     * the returned {@code nextCursor}; deactivated products come through as {@code deleted} entries.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesResponse> getProductChanges(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            /** capped at app.products.changes.maxLimit */
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(productService.getProductChangesForUser(currentUser.getUser(), cursor, limit));
+    }
+
+    /**
+     * Full ACTIVE catalog as gzip NDJSON (one product list row per line), regenerated on a schedule.
+     * Send the ETag back in {@code If-None-Match} to get a 304 while the snapshot is unchanged;
+     * {@code Range} requests are honoured so interrupted downloads can resume.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<Resource> getCatalogSnapshot(WebRequest webRequest) {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.current().orElse(null);
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .build();
+        }
+
+        String etag = "\"" + snapshot.etag() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(snapshot.generatedAt())
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("catalog.ndjson.gz")
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(snapshot.file()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDetailsResponse> getProductById(
             @PathVariable Long id,
@@ -137,6 +342,20 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductDetailsByIdForUser(id, currentUser.getUser()));
     }
 
+    /**
+     * Products most often ordered together with this one (ACTIVE only, best first). Empty when there is no history.
+     * 404 when the caller cannot see the product itself (same rules as GET /products/{id}).
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<ProductListResponse>> getRelatedProducts(
+            @PathVariable Long id,
+            /** capped at app.catalog.related.maxLimit */
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal CustomUserDetails currentUser
+    ) {
+        return ResponseEntity.ok(productService.getRelatedProductsForUser(id, currentUser.getUser(), limit));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('MANUFACTURER')")
     public ResponseEntity<String> updateProduct(
@@ -1,5 +1,6 @@
 package com.quickcart.backend.controller;
 
+import com.quickcart.backend.dto.CursorPageResponse;
 import com.quickcart.backend.dto.MessageResponse;
 import com.quickcart.backend.dto.ProductReviewResponse;
 import com.quickcart.backend.dto.UpsertProductReviewRequest;
@@ -29,6 +30,19 @@ public class ProductReviewController {
         return ResponseEntity.ok(productReviewService.listReviews(productId, pageable));
     }
 
+    /**
+     * Cursor (keyset) mode of the review list, selected by sending a {@code cursor} parameter (empty for the first page).
+     * Supported sorts: createdAt,desc (default), rating,desc, rating,asc.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ProductReviewResponse>> listReviewsByCursor(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(productReviewService.getReviewCursorPage(productId, cursor, pageable));
+    }
+
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ProductReviewResponse> getMyReview(
@@ -0,0 +1,37 @@
+package com.quickcart.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Partial price/stock updates addressed by the caller's own SKUs. Omitted (null) fields are left unchanged.
+ */
+@Data
+public class BulkUpdateProductsBySkuRequest {
+
+    @NotEmpty(message = "Items list cannot be empty")
+    private List<@Valid Item> items;
+
+    @Data
+    public static class Item {
+
+        @NotBlank(message = "SKU is required")
+        private String sku;
+
+        @Positive(message = "Price must be greater than 0")
+        private BigDecimal price;
+
+        @Positive(message = "MRP must be greater than 0")
+        private BigDecimal mrp;
+
+        @Positive(message = "Discount price must be greater than 0")
+        private BigDecimal discountPrice;
+
+        @Min(value = 0)
+        private Integer stock;
+    }
+}
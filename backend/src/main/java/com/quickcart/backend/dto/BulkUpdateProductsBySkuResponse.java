@@ -0,0 +1,31 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkUpdateProductsBySkuResponse {
+
+    private int updatedCount;
+    private int notFoundCount;
+
+    /** One entry per distinct SKU, in request order. */
+    private List<SkuResult> results;
+
+    public enum Status {
+        UPDATED,
+        /** No product of the caller carries this SKU */
+        NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    public static class SkuResult {
+        private String sku;
+        private Status status;
+        private Long productId;
+    }
+}
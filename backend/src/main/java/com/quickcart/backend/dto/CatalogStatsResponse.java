@@ -0,0 +1,29 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Admin view of the in-memory catalog structures, used to size them.
+ */
+@Data
+@Builder
+public class CatalogStatsResponse {
+
+    private boolean indexReady;
+    private int indexedProducts;
+    private CacheStats facetCache;
+    private CacheStats detailCache;
+
+    @Data
+    @Builder
+    public static class CacheStats {
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long expirations;
+        private int size;
+        private int maxEntries;
+        private double hitRatio;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Cursor (keyset) page: no total count, just whether another page exists and the opaque token to fetch it.
+ */
+@Data
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+
+    /** Opaque token for the next page; null when {@code hasNext} is false. */
+    private String nextCursor;
+}
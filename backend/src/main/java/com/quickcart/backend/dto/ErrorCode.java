@@ -13,6 +13,7 @@ public enum ErrorCode {
     INSUFFICIENT_STOCK("INSUFFICIENT_STOCK"),
     VALIDATION_FAILED("VALIDATION_FAILED"),
     BAD_REQUEST("BAD_REQUEST"),
+    INVALID_IDEMPOTENCY_KEY("INVALID_IDEMPOTENCY_KEY"),
     UNAUTHORIZED("UNAUTHORIZED"),
     FORBIDDEN("FORBIDDEN"),
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR");
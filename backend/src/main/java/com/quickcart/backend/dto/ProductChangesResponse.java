@@ -0,0 +1,39 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the product change feed, oldest change first.
+ */
+@Data
+@Builder
+public class ProductChangesResponse {
+
+    private List<ProductChange> changes;
+
+    /**
+     * Position after the last change returned (or the request's position when nothing changed).
+     * Store it and send it back on the next poll.
+     */
+    private String nextCursor;
+
+    /** More changes are already available; poll again right away. */
+    private boolean hasMore;
+
+    @Data
+    @Builder
+    public static class ProductChange {
+        private Long id;
+        private String status;
+        private LocalDateTime updatedAt;
+
+        /** true when the product is no longer buyable (deactivated); buyers get no product body then. */
+        private boolean deleted;
+
+        private ProductListResponse product;
+    }
+}
@@ -7,7 +7,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ProductDetailsResponse {
 
     private Long id;
@@ -33,6 +33,9 @@ public class ProductDetailsResponse {
     private BigDecimal rating;
     private Integer reviewCount;
 
+    /** review counts per star rating */
+    private RatingDistribution ratingDistribution;
+
     private Boolean isFeatured;
     private Boolean isReturnable;
     private Integer warrantyMonths;
@@ -48,4 +51,14 @@ public class ProductDetailsResponse {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    public static class RatingDistribution {
+        private long oneStar;
+        private long twoStar;
+        private long threeStar;
+        private long fourStar;
+        private long fiveStar;
+    }
 }
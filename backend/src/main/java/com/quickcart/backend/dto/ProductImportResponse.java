@@ -0,0 +1,30 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a streaming product import. Rows that failed are reported individually; the rest were created.
+ */
+@Data
+@Builder
+public class ProductImportResponse {
+
+    private int totalRows;
+    private int createdCount;
+    private int failedCount;
+
+    /** First {@code app.products.import.maxErrors} row errors, in file order. */
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @Builder
+    public static class RowError {
+        /** 1-based line in the uploaded file (for CSV, the header is line 1). */
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,26 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions for a search prefix, grouped by kind.
+ */
+@Data
+@Builder
+public class ProductSuggestionsResponse {
+
+    private List<ProductSuggestion> products;
+    private List<String> brands;
+    private List<CategoryResponse> categories;
+
+    @Data
+    @Builder
+    public static class ProductSuggestion {
+        private Long id;
+        private String name;
+        private String brand;
+    }
+}
@@ -0,0 +1,30 @@
+package com.quickcart.backend.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Offset page without a total: the page was fetched with one extra row to learn {@code hasNext},
+ * so no count query runs. Selected with {@code mode=slice} on list endpoints (infinite scroll).
+ */
+@Data
+@Builder
+public class SliceResponse<T> {
+
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public static <T> SliceResponse<T> of(Slice<T> slice) {
+        return SliceResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.quickcart.backend.dto;
+
+import com.quickcart.backend.service.HotStockService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateStockShardsRequest {
+
+    /** Number of stock sub-counters; 0 turns hot mode off. */
+    @NotNull(message = "shards is required")
+    @Min(value = 0, message = "shards must be at least 0")
+    @Max(value = HotStockService.MAX_SHARDS, message = "shards must be at most " + HotStockService.MAX_SHARDS)
+    private Integer shards;
+}
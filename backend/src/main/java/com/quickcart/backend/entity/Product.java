@@ -2,11 +2,16 @@ package com.quickcart.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
+// Only changed columns are written, so saving an edit never puts back a stale stock read before concurrent
+// reservations (stock is moved by conditional UPDATEs, see StockReservationService).
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 @Getter
 @Setter
@@ -15,8 +20,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Product {
 
+    // Pooled sequence (V9): ids come from memory in blocks of 50, so inserts can be JDBC-batched.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -31,6 +38,11 @@ public class Product {
     @Column(length = 100)
     private String brand;
 
+    // Normalized brand (see brandKeyOf) so case-insensitive brand filters/facets can use an index (V12).
+    @Setter(AccessLevel.NONE)
+    @Column(name = "brand_key", length = 100)
+    private String brandKey;
+
     @Column(length = 100)
     private String sku;
 
@@ -47,12 +59,22 @@ public class Product {
     @Column(name = "thumbnail_url", length = 500)
     private String thumbnailUrl;
 
-    @Column(precision = 3, scale = 2)
+    // rating/review_count/rating_sum are adjusted atomically by review writes (V15); the entity never updates them.
+    @Column(precision = 3, scale = 2, updatable = false)
     private BigDecimal rating;
 
-    @Column(name = "review_count")
+    @Column(name = "review_count", updatable = false)
     private Integer reviewCount;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum;
+
+    // Rolled up from sales counters in bulk (V13, ProductSalesCounter); never written through the entity.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "popularity_score", insertable = false, updatable = false)
+    private Long popularityScore;
+
     @Column(name = "is_featured")
     private Boolean isFeatured;
 
@@ -99,11 +121,26 @@ public class Product {
         if (reviewCount == null) {
             reviewCount = 0;
         }
+        brandKey = brandKeyOf(brand);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        brandKey = brandKeyOf(brand);
+    }
+
+    /**
+     * Normalized brand used for filtering and facet grouping: trimmed and lower-cased, null when blank.
+     *
+     * @param brand raw brand value
+     * @return the brand key, or null
+     */
+    public static String brandKeyOf(String brand) {
+        if (brand == null || brand.isBlank()) {
+            return null;
+        }
+        return brand.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
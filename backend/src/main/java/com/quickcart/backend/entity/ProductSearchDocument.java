@@ -0,0 +1,26 @@
+package com.quickcart.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the generated {@code products.search_vector} column (see V8 migration).
+ *
+ * Mapped separately from {@link Product} so product loads never select the tsvector;
+ * it only appears in search predicates/ordering (see ProductSpecifications#matchesSearch).
+ */
+@Entity
+@Immutable
+@Table(name = "products")
+@Getter
+@NoArgsConstructor
+public class ProductSearchDocument {
+
+    @Id
+    private Long id;
+
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+}
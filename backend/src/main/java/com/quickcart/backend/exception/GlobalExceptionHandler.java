@@ -5,6 +5,7 @@ import com.quickcart.backend.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -201,6 +202,84 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Handles InvalidCursorException.
+     * Returns 400 BAD REQUEST when a pagination cursor is malformed or was issued for another sort.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI(),
+                ErrorCode.BAD_REQUEST.getCode()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Handles InvalidIdempotencyKeyException.
+     * Returns 400 BAD REQUEST when an Idempotency-Key is malformed or reused for a different request body.
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKey(
+            InvalidIdempotencyKeyException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid idempotency key: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI(),
+                ErrorCode.INVALID_IDEMPOTENCY_KEY.getCode()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Handles IdempotentReplayException.
+     * Returns the stored status and body of the request that first used the Idempotency-Key.
+     */
+    @ExceptionHandler(IdempotentReplayException.class)
+    public ResponseEntity<String> handleIdempotentReplay(IdempotentReplayException ex) {
+        return ResponseEntity.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IdempotentReplayException.REPLAYED_HEADER, "true")
+                .body(ex.getBody());
+    }
+
+    /**
+     * Handles InvalidImportFileException.
+     * Returns 400 BAD REQUEST when a product import file is unusable as a whole.
+     */
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImportFile(
+            InvalidImportFileException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid import file: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI(),
+                ErrorCode.BAD_REQUEST.getCode()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     /**
      * Handles validation errors from @Valid annotations.
      * Returns 400 BAD REQUEST with detailed field validation errors.
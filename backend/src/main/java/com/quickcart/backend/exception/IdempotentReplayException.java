@@ -0,0 +1,23 @@
+package com.quickcart.backend.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown instead of running a request again when its Idempotency-Key already completed.
+ * Carries the stored response, which GlobalExceptionHandler writes back verbatim.
+ */
+@Getter
+public class IdempotentReplayException extends RuntimeException {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final int status;
+    private final String body;
+
+    public IdempotentReplayException(int status, String body) {
+        // Not an error: no stack trace needed
+        super("Idempotent replay", null, false, false);
+        this.status = status;
+        this.body = body;
+    }
+}
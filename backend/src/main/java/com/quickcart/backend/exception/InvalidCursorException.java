@@ -0,0 +1,11 @@
+package com.quickcart.backend.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded or does not match the requested sort.
+ */
+public class InvalidCursorException extends ApplicationException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.quickcart.backend.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key header is malformed or was already used for a different request.
+ */
+public class InvalidIdempotencyKeyException extends ApplicationException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.quickcart.backend.exception;
+
+/**
+ * Exception thrown when a product import file cannot be processed at all (e.g. an unknown CSV column).
+ * Problems confined to single rows are reported per row instead.
+ */
+public class InvalidImportFileException extends ApplicationException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
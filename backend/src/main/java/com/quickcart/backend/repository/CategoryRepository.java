@@ -2,10 +2,12 @@ package com.quickcart.backend.repository;
 
 import com.quickcart.backend.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
@@ -14,4 +16,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsBySlugIgnoreCase(String slug);
 
     List<Category> findBySlugInIgnoreCase(Collection<String> slugs);
+
+    /**
+     * All category ids; the category table is small, so bulk imports validate rows against this in memory.
+     */
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
 }
@@ -0,0 +1,34 @@
+package com.quickcart.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository {
+
+    /**
+     * Inserts the key for this request, or takes over an expired row.
+     *
+     * @return false when a live row for the key already exists
+     */
+    boolean tryClaim(Long userId, String scope, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt);
+
+    /**
+     * Live, completed record for the key.
+     */
+    Optional<StoredResponse> findCompleted(Long userId, String scope, String key, LocalDateTime now);
+
+    void complete(Long userId, String scope, String key, int status, String body);
+
+    /**
+     * Deletes a claimed key that was never completed, so a retry can run.
+     */
+    void release(Long userId, String scope, String key);
+
+    /**
+     * Deletes up to {@code limit} rows that expired before {@code now}.
+     */
+    int purgeExpired(LocalDateTime now, int limit);
+
+    record StoredResponse(String requestHash, int status, String body) {
+    }
+}
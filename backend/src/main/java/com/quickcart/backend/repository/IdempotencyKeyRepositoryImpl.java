@@ -0,0 +1,72 @@
+package com.quickcart.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: the claim is INSERT ... ON CONFLICT on the primary key, so of two concurrent retries
+ * exactly one claims the key, with no read-then-write race.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryImpl implements IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryClaim(Long userId, String scope, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (user_id, scope, idem_key, request_hash, created_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (user_id, scope, idem_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    response_status = NULL,
+                    response_body = NULL,
+                    created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at <= EXCLUDED.created_at
+                """, userId, scope, key, requestHash, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt)) > 0;
+    }
+
+    @Override
+    public Optional<StoredResponse> findCompleted(Long userId, String scope, String key, LocalDateTime now) {
+        return jdbcTemplate.query("""
+                SELECT request_hash, response_status, response_body
+                FROM idempotency_keys
+                WHERE user_id = ? AND scope = ? AND idem_key = ?
+                  AND expires_at > ? AND response_status IS NOT NULL
+                """,
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3)),
+                userId, scope, key, Timestamp.valueOf(now)
+        ).stream().findFirst();
+    }
+
+    @Override
+    public void complete(Long userId, String scope, String key, int status, String body) {
+        jdbcTemplate.update("""
+                UPDATE idempotency_keys SET response_status = ?, response_body = ?
+                WHERE user_id = ? AND scope = ? AND idem_key = ?
+                """, status, body, userId, scope, key);
+    }
+
+    @Override
+    public void release(Long userId, String scope, String key) {
+        jdbcTemplate.update("""
+                DELETE FROM idempotency_keys
+                WHERE user_id = ? AND scope = ? AND idem_key = ? AND response_status IS NULL
+                """, userId, scope, key);
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM idempotency_keys
+                WHERE ctid IN (SELECT ctid FROM idempotency_keys WHERE expires_at < ? LIMIT ?)
+                """, Timestamp.valueOf(now), limit);
+    }
+}
@@ -4,6 +4,7 @@ import com.quickcart.backend.entity.Invoice;
 import com.quickcart.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +24,17 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
            "WHERE i.order.retailer = :retailer")
     Page<Invoice> findByRetailer(@Param("retailer") User retailer, Pageable pageable);
 
+    /**
+     * Slice variant of {@link #findByRetailer}: one extra row instead of a count query.
+     * Every fetch join is to-one, so the row limit applies in SQL.
+     */
+    @Query("SELECT i FROM Invoice i " +
+           "LEFT JOIN FETCH i.order o " +
+           "LEFT JOIN FETCH o.retailer " +
+           "LEFT JOIN FETCH o.manufacturer " +
+           "WHERE i.order.retailer = :retailer")
+    Slice<Invoice> findSliceByRetailer(@Param("retailer") User retailer, Pageable pageable);
+
     /**
      * Find invoice by order ID with eager loading.
      */
@@ -0,0 +1,30 @@
+package com.quickcart.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderExpiryRepository {
+
+    /**
+     * Locks up to {@code limit} of the oldest CREATED orders placed before {@code cutoff}, skipping rows that
+     * another transaction (a user action or another node's sweep) holds. Orders with a successful payment, or
+     * a payment started after the cutoff, are left alone.
+     *
+     * @return the claimed order ids
+     */
+    List<Long> claimExpired(LocalDateTime cutoff, int limit);
+
+    /**
+     * Units per (product, day the order was placed) across the given orders, in one GROUP BY.
+     */
+    List<OrderedUnits> findOrderedUnits(List<Long> orderIds);
+
+    /**
+     * Marks the orders CANCELLED and writes one ORDER_CANCELLED audit event each (batched insert).
+     */
+    void markCancelled(List<Long> orderIds, String note, LocalDateTime now);
+
+    record OrderedUnits(Long productId, LocalDate orderDay, int units) {
+    }
+}
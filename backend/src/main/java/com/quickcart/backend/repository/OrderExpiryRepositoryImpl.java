@@ -0,0 +1,84 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.OrderEventType;
+import com.quickcart.backend.entity.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain JDBC on purpose: a whole chunk of expired orders is claimed, cancelled and audited with a fixed number
+ * of set-based statements, without loading orders, items or products as entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderExpiryRepositoryImpl implements OrderExpiryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> claimExpired(LocalDateTime cutoff, int limit) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        return jdbcTemplate.queryForList("""
+                SELECT o.id
+                FROM orders o
+                WHERE o.status = ? AND o.created_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM payments pm
+                                  WHERE pm.order_id = o.id AND (pm.status = 'SUCCESS' OR pm.created_at >= ?))
+                ORDER BY o.created_at, o.id
+                LIMIT ?
+                FOR UPDATE OF o SKIP LOCKED
+                """, Long.class, OrderStatus.CREATED.name(), before, before, limit);
+    }
+
+    @Override
+    public List<OrderedUnits> findOrderedUnits(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                SELECT oi.product_id, CAST(o.created_at AS date), SUM(oi.quantity)
+                FROM order_items oi
+                JOIN orders o ON o.id = oi.order_id
+                WHERE oi.order_id IN (%s)
+                GROUP BY oi.product_id, CAST(o.created_at AS date)
+                """.formatted(placeholders(orderIds.size())),
+                (rs, rowNum) -> new OrderedUnits(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getInt(3)),
+                orderIds.toArray());
+    }
+
+    @Override
+    public void markCancelled(List<Long> orderIds, String note, LocalDateTime now) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Timestamp at = Timestamp.valueOf(now);
+
+        Object[] updateArgs = new Object[orderIds.size() + 2];
+        updateArgs[0] = OrderStatus.CANCELLED.name();
+        updateArgs[1] = at;
+        for (int i = 0; i < orderIds.size(); i++) {
+            updateArgs[i + 2] = orderIds.get(i);
+        }
+        jdbcTemplate.update("UPDATE orders SET status = ?, updated_at = ? WHERE id IN (%s)"
+                .formatted(placeholders(orderIds.size())), updateArgs);
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO order_events (order_id, event_type, from_status, to_status, actor_user_id, note, created_at)
+                VALUES (?, ?, ?, ?, NULL, ?, ?)
+                """,
+                orderIds.stream()
+                        .map(id -> new Object[]{id, OrderEventType.ORDER_CANCELLED.name(),
+                                OrderStatus.CREATED.name(), OrderStatus.CANCELLED.name(), note, at})
+                        .toList());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
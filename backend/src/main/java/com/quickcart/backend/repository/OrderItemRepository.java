@@ -1,12 +1,28 @@
 package com.quickcart.backend.repository;
 
+import com.quickcart.backend.catalog.OrderProductPair;
 import com.quickcart.backend.entity.Order;
 import com.quickcart.backend.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrder(Order order);
+
+    /**
+     * Related-products index build: (order, product) lines of the orders in (afterOrderId, upToOrderId], by order.
+     */
+    @Query("SELECT new com.quickcart.backend.catalog.OrderProductPair(oi.order.id, oi.product.id) " +
+           "FROM OrderItem oi " +
+           "WHERE oi.order.id > :afterOrderId AND oi.order.id <= :upToOrderId " +
+           "ORDER BY oi.order.id")
+    List<OrderProductPair> findProductPairsInOrderRange(@Param("afterOrderId") Long afterOrderId,
+                                                        @Param("upToOrderId") Long upToOrderId);
+
+    @Query("SELECT MAX(oi.order.id) FROM OrderItem oi")
+    Long findMaxOrderId();
 }
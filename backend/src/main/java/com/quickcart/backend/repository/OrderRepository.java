@@ -2,9 +2,12 @@ package com.quickcart.backend.repository;
 
 import com.quickcart.backend.entity.Order;
 import com.quickcart.backend.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -48,6 +51,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o.id FROM Order o WHERE o.manufacturer = :manufacturer")
     Page<Long> findIdsByManufacturer(@Param("manufacturer") User manufacturer, Pageable pageable);
 
+    /**
+     * Slice variants of the id queries: one extra row instead of a count query.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.retailer = :retailer")
+    Slice<Long> findIdSliceByRetailer(@Param("retailer") User retailer, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.manufacturer = :manufacturer")
+    Slice<Long> findIdSliceByManufacturer(@Param("manufacturer") User manufacturer, Pageable pageable);
+
     /**
      * Fetch orders with all required relations for a set of ids.
      * DISTINCT prevents duplicate root entities due to collection join.
@@ -71,6 +83,8 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "WHERE o.id = :id AND o.retailer = :retailer")
     Optional<Order> findByIdAndRetailer(@Param("id") Long id, @Param("retailer") User retailer);
 
+    boolean existsByIdAndRetailer(Long id, User retailer);
+
     /**
      * Secure fetch: order must belong to manufacturer with eager loading.
      */
@@ -82,6 +96,8 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "WHERE o.id = :id AND o.manufacturer = :manufacturer")
     Optional<Order> findByIdAndManufacturer(@Param("id") Long id, @Param("manufacturer") User manufacturer);
 
+    boolean existsByIdAndManufacturer(Long id, User manufacturer);
+
     /**
      * Find order by ID with eager loading of all relationships.
      */
@@ -92,4 +108,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "LEFT JOIN FETCH i.product " +
            "WHERE o.id = :id")
     Optional<Order> findByIdWithRelations(@Param("id") Long id);
+
+    /**
+     * Locks the order row (SELECT ... FOR UPDATE) before a status change, so that user actions and the
+     * expiry sweeper (which skips locked rows) never both act on the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findLockedById(@Param("id") Long id);
 }
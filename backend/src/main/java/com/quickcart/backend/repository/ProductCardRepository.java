@@ -0,0 +1,37 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductCardRepository {
+
+    /**
+     * Same filtering, sorting and paging as {@code ProductRepository#findAll(spec, pageable)}, projected to cards.
+     * The count query is skipped when the first page is already partial.
+     */
+    Page<ProductCardRow> findCardPage(Specification<Product> spec, Pageable pageable, boolean includeDescription);
+
+    /**
+     * Slice variant of {@link #findCardPage}: reads one row past the page to learn whether another exists,
+     * and never counts.
+     */
+    Slice<ProductCardRow> findCardSlice(Specification<Product> spec, Pageable pageable, boolean includeDescription);
+
+    /**
+     * Cards for the given ids, in no particular order (the catalog index supplies the order).
+     */
+    List<ProductCardRow> findCardsByIdIn(Collection<Long> ids, boolean includeDescription);
+
+    /**
+     * Change feed: products matching {@code spec} (any status) positioned after the cursor in (updatedAt, id) order
+     * and updated no later than {@code upTo}, at most {@code limit} rows.
+     */
+    List<ProductCardRow> findChangesAfter(Specification<Product> spec, ProductChangeCursor cursor, LocalDateTime upTo, int limit);
+}
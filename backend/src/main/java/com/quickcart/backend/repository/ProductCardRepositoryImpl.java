@@ -0,0 +1,127 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductCardRepositoryImpl implements ProductCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductCardRow> findCardPage(Specification<Product> spec, Pageable pageable, boolean includeDescription) {
+        var typed = cardQuery(spec, pageable.getSort(), includeDescription);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<ProductCardRow> findCardSlice(Specification<Product> spec, Pageable pageable, boolean includeDescription) {
+        var typed = cardQuery(spec, pageable.getSort(), includeDescription);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typed.getResultList(), pageable, false);
+        }
+
+        List<ProductCardRow> rows = typed
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<ProductCardRow> findCardsByIdIn(Collection<Long> ids, boolean includeDescription) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ProductCardRow.class);
+        var root = query.from(Product.class);
+
+        // Rows deactivated since the catalog index last refreshed are dropped here rather than after loading.
+        query.select(ProductCardRow.selection(cb, root, includeDescription))
+                .where(root.get("id").in(ids), cb.equal(root.get("status"), ProductStatus.ACTIVE));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<ProductCardRow> findChangesAfter(Specification<Product> spec, ProductChangeCursor cursor, LocalDateTime upTo, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ProductCardRow.class);
+        var root = query.from(Product.class);
+
+        var updatedAt = root.<LocalDateTime>get("updatedAt");
+        var id = root.<Long>get("id");
+
+        // The redundant updated_at >= cursor conjunct is the index range start; the OR alone gives none,
+        // and every poll would scan idx_products_updated_at_id from the oldest row.
+        Predicate after = cb.and(
+                cb.greaterThanOrEqualTo(updatedAt, cursor.updatedAt()),
+                cb.or(
+                        cb.greaterThan(updatedAt, cursor.updatedAt()),
+                        cb.and(cb.equal(updatedAt, cursor.updatedAt()), cb.greaterThan(id, cursor.id()))));
+        Predicate settled = cb.lessThanOrEqualTo(updatedAt, upTo);
+        Predicate filters = spec.toPredicate(root, query, cb);
+
+        query.select(ProductCardRow.selection(cb, root, true))
+                .where(filters == null ? cb.and(after, settled) : cb.and(filters, after, settled))
+                .orderBy(cb.asc(updatedAt), cb.asc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<ProductCardRow> cardQuery(Specification<Product> spec, Sort sort, boolean includeDescription) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ProductCardRow.class);
+        var root = query.from(Product.class);
+
+        query.select(ProductCardRow.selection(cb, root, includeDescription));
+        Predicate filters = spec.toPredicate(root, query, cb);
+        if (filters != null) {
+            query.where(filters);
+        }
+        // An explicit sort wins; otherwise keep whatever the specs ordered by (search rank).
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Product> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var root = query.from(Product.class);
+
+        query.select(cb.count(root));
+        Predicate filters = spec.toPredicate(root, query, cb);
+        if (filters != null) {
+            query.where(filters);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
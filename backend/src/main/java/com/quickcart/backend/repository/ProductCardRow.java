@@ -0,0 +1,67 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductStatus;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columns a product list card needs, selected straight into a record: no entity instances, no persistence-context
+ * snapshots, and the manufacturer/category joined for their names only.
+ *
+ * {@code description} is null when the caller asked for the card view.
+ */
+public record ProductCardRow(
+        Long id,
+        String name,
+        String description,
+        String brand,
+        String thumbnailUrl,
+        BigDecimal price,
+        BigDecimal mrp,
+        BigDecimal rating,
+        Integer reviewCount,
+        Integer stock,
+        ProductStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long manufacturerId,
+        String manufacturerName,
+        Long categoryId,
+        String categoryName,
+        String categorySlug
+) {
+
+    /**
+     * Constructor selection over a product root; shared by the paged, id and keyset queries.
+     */
+    static CompoundSelection<ProductCardRow> selection(CriteriaBuilder cb, From<?, Product> root, boolean includeDescription) {
+        var manufacturer = root.join("manufacturer", JoinType.LEFT);
+        var category = root.join("category", JoinType.LEFT);
+
+        return cb.construct(ProductCardRow.class,
+                root.get("id"),
+                root.get("name"),
+                includeDescription ? root.get("description") : cb.nullLiteral(String.class),
+                root.get("brand"),
+                root.get("thumbnailUrl"),
+                root.get("price"),
+                root.get("mrp"),
+                root.get("rating"),
+                root.get("reviewCount"),
+                root.get("stock"),
+                root.get("status"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                manufacturer.get("id"),
+                manufacturer.get("name"),
+                category.get("id"),
+                category.get("name"),
+                category.get("slug"));
+    }
+}
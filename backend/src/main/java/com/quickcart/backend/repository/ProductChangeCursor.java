@@ -0,0 +1,42 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the product change feed: the (updated_at, id) of the last change a client has seen.
+ * Encoded as an opaque URL-safe token, like {@link ProductKeyset}.
+ */
+public record ProductChangeCursor(LocalDateTime updatedAt, Long id) {
+
+    private static final String VERSION = "c1";
+
+    /** Start of the feed: every product is "changed" after this. */
+    public static final ProductChangeCursor START = new ProductChangeCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    public String encode() {
+        String raw = String.join("|", VERSION, updatedAt.toString(), String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Malformed change cursor");
+            }
+            return new ProductChangeCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Malformed change cursor");
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.quickcart.backend.dto.ProductFacetsResponse;
 import com.quickcart.backend.entity.User;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 public interface ProductFacetRepository {
 
-    List<ProductFacetsResponse.CategoryFacet> getCategoryFacets(
+    /**
+     * Category and brand facets in one pass over the filtered products.
+     * Each facet ignores its own filter (multi-select semantics) but applies every other one.
+     */
+    ProductFacetsResponse getFacets(
             User user,
             String category,
             String brand,
@@ -19,20 +22,7 @@ public interface ProductFacetRepository {
             Boolean featured,
             Boolean returnable,
             Boolean hasDiscountPrice,
-            BigDecimal minDiscount
-    );
-
-    List<ProductFacetsResponse.BrandFacet> getBrandFacets(
-            User user,
-            String category,
-            String brand,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            BigDecimal rating,
-            Boolean inStock,
-            Boolean featured,
-            Boolean returnable,
-            Boolean hasDiscountPrice,
-            BigDecimal minDiscount
+            BigDecimal minDiscount,
+            String q
     );
 }
@@ -8,15 +8,22 @@ import com.quickcart.backend.repository.spec.ProductSpecifications;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -25,8 +32,17 @@ public class ProductFacetRepositoryImpl implements ProductFacetRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
+    /**
+     * Single scan with conditional aggregation:
+     * rows are grouped by (category, brand_key) over products matching the shared filters and
+     * at least one of the two facet filters. Each row carries two counts:
+     * - products that also match the brand filter (summed per category for the category facet)
+     * - products that also match the category filter (summed per brand for the brand facet)
+     *
+     * A product belongs to exactly one (category, brand) group, so plain sums are exact and no count(distinct) is needed.
+     */
     @Override
-    public List<ProductFacetsResponse.CategoryFacet> getCategoryFacets(
+    public ProductFacetsResponse getFacets(
             User user,
             String category,
             String brand,
@@ -37,12 +53,13 @@ public class ProductFacetRepositoryImpl implements ProductFacetRepository {
             Boolean featured,
             Boolean returnable,
             Boolean hasDiscountPrice,
-            BigDecimal minDiscount
+            BigDecimal minDiscount,
+            String q
     ) {
-        // For category facets we intentionally DO NOT apply the category filter itself.
+        // Filters shared by both facets; the category/brand filters are applied per count below.
         Specification<Product> spec = Specification
                 .where(ProductSpecifications.visibleToUser(user))
-                .and(ProductSpecifications.hasBrand(brand))
+                .and(ProductSpecifications.matchesSearch(q))
                 .and(ProductSpecifications.priceGte(minPrice))
                 .and(ProductSpecifications.priceLte(maxPrice))
                 .and(ProductSpecifications.ratingGte(rating))
@@ -56,111 +73,91 @@ public class ProductFacetRepositoryImpl implements ProductFacetRepository {
         var query = cb.createTupleQuery();
         var root = query.from(Product.class);
 
-        Join<Product, Category> categoryJoin = root.join("category");
+        // LEFT join: uncategorized products still count towards brand facets.
+        Join<Product, Category> categoryJoin = root.join("category", JoinType.LEFT);
 
         Expression<Long> categoryId = categoryJoin.get("id");
         Expression<String> categoryName = categoryJoin.get("name");
         Expression<String> categorySlug = categoryJoin.get("slug");
-        Expression<Long> countDistinctProducts = cb.countDistinct(root.get("id"));
+        Expression<String> brandKey = root.get("brandKey");
+        Expression<String> brandValue = cb.least(root.<String>get("brand"));
+
+        List<String> slugs = ProductSpecifications.parseCategorySlugs(category);
+        Predicate categoryMatch = slugs.isEmpty() ? null : cb.lower(categorySlug).in(slugs);
+        String requestedBrandKey = Product.brandKeyOf(brand);
+        Predicate brandMatch = requestedBrandKey == null ? null : cb.equal(brandKey, requestedBrandKey);
 
         query.multiselect(
-                categoryId.alias("id"),
-                categoryName.alias("name"),
-                categorySlug.alias("slug"),
-                countDistinctProducts.alias("count")
+                categoryId.alias("categoryId"),
+                categoryName.alias("categoryName"),
+                categorySlug.alias("categorySlug"),
+                brandKey.alias("brandKey"),
+                brandValue.alias("brandValue"),
+                countWhere(cb, root, brandMatch).alias("categoryFacetCount"),
+                countWhere(cb, root, categoryMatch).alias("brandFacetCount")
         );
 
+        List<Predicate> where = new ArrayList<>();
         Predicate predicate = spec.toPredicate(root, query, cb);
         if (predicate != null) {
-            query.where(predicate);
+            where.add(predicate);
+        }
+        // A row is only useful if it contributes to at least one facet.
+        if (categoryMatch != null && brandMatch != null) {
+            where.add(cb.or(categoryMatch, brandMatch));
         }
+        query.where(where.toArray(Predicate[]::new));
 
-        query.groupBy(categoryId, categoryName, categorySlug);
-        query.orderBy(cb.asc(categoryName));
+        query.groupBy(categoryId, categoryName, categorySlug, brandKey);
 
         List<Tuple> rows = entityManager.createQuery(query).getResultList();
-        return rows.stream()
-                .map(t -> ProductFacetsResponse.CategoryFacet.builder()
-                        .id(t.get("id", Long.class))
-                        .name(t.get("name", String.class))
-                        .slug(t.get("slug", String.class))
-                        .count(t.get("count", Long.class))
-                        .build())
-                .toList();
-    }
-
-    @Override
-    public List<ProductFacetsResponse.BrandFacet> getBrandFacets(
-            User user,
-            String category,
-            String brand,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            BigDecimal rating,
-            Boolean inStock,
-            Boolean featured,
-            Boolean returnable,
-            Boolean hasDiscountPrice,
-            BigDecimal minDiscount
-    ) {
-        // For brand facets we intentionally DO NOT apply the brand filter itself.
-        Specification<Product> spec = Specification
-                .where(ProductSpecifications.visibleToUser(user))
-                .and(ProductSpecifications.hasCategorySlugs(category))
-                .and(ProductSpecifications.priceGte(minPrice))
-                .and(ProductSpecifications.priceLte(maxPrice))
-                .and(ProductSpecifications.ratingGte(rating))
-                .and(ProductSpecifications.inStock(inStock))
-                .and(ProductSpecifications.isFeatured(featured))
-                .and(ProductSpecifications.isReturnable(returnable))
-                .and(ProductSpecifications.hasDiscountPrice(hasDiscountPrice))
-                .and(ProductSpecifications.discountGte(minDiscount));
 
-        var cb = entityManager.getCriteriaBuilder();
-        var query = cb.createTupleQuery();
-        var root = query.from(Product.class);
-
-        // normalize brand display: use the stored value, but group by lower() to merge casing differences.
-        Expression<String> brandValue = root.get("brand");
-        Expression<String> brandKey = cb.lower(root.get("brand"));
-        Expression<Long> countDistinctProducts = cb.countDistinct(root.get("id"));
-
-        query.multiselect(
-                brandValue.alias("value"),
-                brandKey.alias("key"),
-                countDistinctProducts.alias("count")
-        );
-
-        Predicate predicate = spec.toPredicate(root, query, cb);
-        if (predicate != null) {
-            query.where(predicate);
+        Map<Long, ProductFacetsResponse.CategoryFacet> categories = new LinkedHashMap<>();
+        Map<String, ProductFacetsResponse.BrandFacet> brands = new LinkedHashMap<>();
+
+        for (Tuple t : rows) {
+            Long id = t.get("categoryId", Long.class);
+            long categoryFacetCount = t.get("categoryFacetCount", Long.class);
+            if (id != null && categoryFacetCount > 0) {
+                var facet = categories.computeIfAbsent(id, k -> ProductFacetsResponse.CategoryFacet.builder()
+                        .id(id)
+                        .name(t.get("categoryName", String.class))
+                        .slug(t.get("categorySlug", String.class))
+                        .build());
+                facet.setCount(facet.getCount() + categoryFacetCount);
+            }
+
+            // omit null/blank brands from facets (blank brands have a null key)
+            String key = t.get("brandKey", String.class);
+            long brandFacetCount = t.get("brandFacetCount", Long.class);
+            if (key != null && brandFacetCount > 0) {
+                var facet = brands.computeIfAbsent(key, k -> ProductFacetsResponse.BrandFacet.builder()
+                        .value(t.get("brandValue", String.class))
+                        .build());
+                facet.setCount(facet.getCount() + brandFacetCount);
+            }
         }
 
-        // omit null/blank brands from facets
-        Predicate brandNotNull = cb.isNotNull(root.get("brand"));
-        Predicate brandNotBlank = cb.notEqual(cb.trim(cb.literal(' '), root.get("brand")), "");
-        query.where(predicate == null ? cb.and(brandNotNull, brandNotBlank) : cb.and(predicate, brandNotNull, brandNotBlank));
-
-        query.groupBy(brandKey, brandValue);
-        query.orderBy(cb.asc(brandKey));
-
-        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        return ProductFacetsResponse.builder()
+                .categories(categories.values().stream()
+                        .sorted(Comparator.comparing(ProductFacetsResponse.CategoryFacet::getName,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList())
+                .brands(brands.values().stream()
+                        .sorted(Comparator.comparing(ProductFacetsResponse.BrandFacet::getValue, String.CASE_INSENSITIVE_ORDER))
+                        .toList())
+                .build();
+    }
 
-        // Merge same lower-cased brands but potentially different original casing by summing counts.
-        // Since we group by both key and value, duplicates are less likely; but we keep it simple by choosing first value per key.
-        return rows.stream()
-                .collect(java.util.stream.Collectors.groupingBy(t -> t.get("key", String.class)))
-                .values().stream()
-                .map(group -> {
-                    Tuple first = group.getFirst();
-                    long sum = group.stream().mapToLong(t -> t.get("count", Long.class)).sum();
-                    return ProductFacetsResponse.BrandFacet.builder()
-                            .value(first.get("value", String.class))
-                            .count(sum)
-                            .build();
-                })
-                .sorted(java.util.Comparator.comparing(ProductFacetsResponse.BrandFacet::getValue, String.CASE_INSENSITIVE_ORDER))
-                .toList();
+    /**
+     * count(*) when there is no condition, otherwise sum(case when condition then 1 else 0 end).
+     */
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Root<Product> root, Predicate condition) {
+        if (condition == null) {
+            return cb.count(root);
+        }
+        return cb.sum(cb.<Long>selectCase()
+                .when(condition, 1L)
+                .otherwise(0L));
     }
 }
-
@@ -0,0 +1,132 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Position in a keyset (seek) scan over products: the sort key/direction plus the last row's key value and id.
+ *
+ * Encoded as an opaque URL-safe token so clients cannot depend on its layout.
+ * The id is always the tie-breaker, so (key, id) is unique and pages never overlap or skip rows.
+ */
+public record ProductKeyset(SortKey sortKey, Sort.Direction direction, String lastValue, Long lastId) {
+
+    private static final String VERSION = "v1";
+    private static final String NULL_VALUE = "~";
+
+    /**
+     * Sorts supported in cursor mode. Each one is backed by a (status, key, id) index.
+     */
+    public enum SortKey {
+        ID("id", false),
+        PRICE("price", false),
+        CREATED_AT("createdAt", true),
+        RATING("rating", true);
+
+        private final String property;
+        private final boolean nullable;
+
+        SortKey(String property, boolean nullable) {
+            this.property = property;
+            this.nullable = nullable;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public static SortKey fromProperty(String property) {
+            return Arrays.stream(values())
+                    .filter(k -> k.property.equalsIgnoreCase(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidCursorException(
+                            "Unsupported sort property for cursor pagination: '" + property + "'. Supported: "
+                                    + Arrays.stream(values()).map(SortKey::getProperty).collect(Collectors.joining(", "))));
+        }
+    }
+
+    /**
+     * Keyset for the first page (nothing seen yet).
+     */
+    public static ProductKeyset first(SortKey sortKey, Sort.Direction direction) {
+        return new ProductKeyset(sortKey, direction, null, null);
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    /**
+     * Keyset positioned right after the given row (same sort key/direction).
+     */
+    public ProductKeyset after(ProductCardRow row) {
+        Object value = switch (sortKey) {
+            case ID -> row.id();
+            case PRICE -> row.price();
+            case CREATED_AT -> row.createdAt();
+            case RATING -> row.rating();
+        };
+        String raw = value == null ? null : (value instanceof BigDecimal d ? d.toPlainString() : value.toString());
+        return new ProductKeyset(sortKey, direction, raw, row.id());
+    }
+
+    public BigDecimal decimalValue() {
+        return lastValue == null ? null : new BigDecimal(lastValue);
+    }
+
+    public LocalDateTime timestampValue() {
+        return lastValue == null ? null : LocalDateTime.parse(lastValue);
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+                VERSION,
+                sortKey.name(),
+                direction.name(),
+                lastValue == null ? NULL_VALUE : lastValue,
+                String.valueOf(lastId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductKeyset decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+
+            ProductKeyset keyset = new ProductKeyset(
+                    SortKey.valueOf(parts[1]),
+                    Sort.Direction.valueOf(parts[2]),
+                    NULL_VALUE.equals(parts[3]) ? null : parts[3],
+                    Long.valueOf(parts[4]));
+
+            // Validate the value parses for its key so a tampered token fails here, not in the query.
+            switch (keyset.sortKey()) {
+                case ID -> { }
+                case PRICE, RATING -> keyset.decimalValue();
+                case CREATED_AT -> keyset.timestampValue();
+            }
+            if (!keyset.sortKey().isNullable() && keyset.sortKey() != SortKey.ID && keyset.lastValue() == null) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            return keyset;
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
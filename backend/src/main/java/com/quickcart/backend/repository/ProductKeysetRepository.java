@@ -0,0 +1,15 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductKeysetRepository {
+
+    /**
+     * Seeks past the given keyset and returns at most {@code limit} product cards in (key, id) order.
+     * No count query is issued; callers fetch one extra row to know whether another page exists.
+     */
+    List<ProductCardRow> findSeekPage(Specification<Product> spec, ProductKeyset keyset, int limit, boolean includeDescription);
+}
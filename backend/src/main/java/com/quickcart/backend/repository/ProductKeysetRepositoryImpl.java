@@ -0,0 +1,116 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Nulls;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductCardRow> findSeekPage(Specification<Product> spec, ProductKeyset keyset, int limit, boolean includeDescription) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ProductCardRow.class);
+        var root = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filters = spec.toPredicate(root, query, cb);
+        if (filters != null) {
+            predicates.add(filters);
+        }
+
+        boolean asc = keyset.direction() == Sort.Direction.ASC;
+        Path<Long> id = root.get("id");
+
+        List<Order> orders = new ArrayList<>();
+        switch (keyset.sortKey()) {
+            case ID -> {
+                if (!keyset.isFirstPage()) {
+                    predicates.add(asc ? cb.greaterThan(id, keyset.lastId()) : cb.lessThan(id, keyset.lastId()));
+                }
+            }
+            case PRICE -> {
+                Path<BigDecimal> price = root.get("price");
+                if (!keyset.isFirstPage()) {
+                    predicates.add(seek(cb, price, keyset.decimalValue(), id, keyset.lastId(), asc, false));
+                }
+                orders.add(asc ? cb.asc(price) : cb.desc(price));
+            }
+            case RATING -> {
+                Path<BigDecimal> rating = root.get("rating");
+                if (!keyset.isFirstPage()) {
+                    predicates.add(seek(cb, rating, keyset.decimalValue(), id, keyset.lastId(), asc, true));
+                }
+                orders.add(asc ? cb.asc(rating, Nulls.LAST) : cb.desc(rating, Nulls.LAST));
+            }
+            case CREATED_AT -> {
+                Path<LocalDateTime> createdAt = root.get("createdAt");
+                if (!keyset.isFirstPage()) {
+                    predicates.add(seek(cb, createdAt, keyset.timestampValue(), id, keyset.lastId(), asc, true));
+                }
+                orders.add(asc ? cb.asc(createdAt, Nulls.LAST) : cb.desc(createdAt, Nulls.LAST));
+            }
+        }
+        // id is always the tie-breaker, in the same direction as the key so one index range scan serves the page
+        orders.add(asc ? cb.asc(id) : cb.desc(id));
+
+        query.select(ProductCardRow.selection(cb, root, includeDescription))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Row-value comparison "(key, id) after (lastValue, lastId)" spelled out for criteria:
+     * key >= v AND (key > v OR (key = v AND id > lastId)), flipped for DESC.
+     * The redundant key >= v conjunct is what gives the index scan its start, so a deep page does not walk
+     * (or bitmap-sort) everything before the cursor.
+     *
+     * Nullable keys sort NULLS LAST, so a non-null position also admits the null tail,
+     * and a null position only moves forward by id within that tail.
+     */
+    private static <Y extends Comparable<? super Y>> Predicate seek(
+            CriteriaBuilder cb,
+            Path<Y> key,
+            Y lastValue,
+            Path<Long> id,
+            Long lastId,
+            boolean asc,
+            boolean nullable
+    ) {
+        Predicate idAfter = asc ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+
+        if (lastValue == null) {
+            return cb.and(cb.isNull(key), idAfter);
+        }
+
+        Predicate keyFrom = asc ? cb.greaterThanOrEqualTo(key, lastValue) : cb.lessThanOrEqualTo(key, lastValue);
+        Predicate keyAfter = asc ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+        Predicate sameKey = cb.and(cb.equal(key, lastValue), idAfter);
+
+        return nullable
+                ? cb.and(cb.or(keyFrom, cb.isNull(key)), cb.or(keyAfter, sameKey, cb.isNull(key)))
+                : cb.and(keyFrom, cb.or(keyAfter, sameKey));
+    }
+}
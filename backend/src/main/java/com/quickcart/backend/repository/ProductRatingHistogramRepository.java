@@ -0,0 +1,40 @@
+package com.quickcart.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRatingHistogramRepository {
+
+    /**
+     * Primary-key read; empty when the product has never been reviewed.
+     */
+    Optional<RatingHistogram> findByProductId(Long productId);
+
+    /**
+     * Moves one review between buckets: decrements {@code removedRating} and increments {@code addedRating}
+     * (0 means none, so a new review is (0, r) and a delete is (r, 0)). Creates the row when missing.
+     */
+    void applyDelta(Long productId, int removedRating, int addedRating);
+
+    /**
+     * Recomputes the histograms of products in (afterId, upToId] from product_reviews,
+     * dropping rows of products that no longer have reviews.
+     *
+     * @return number of histogram rows written
+     */
+    int rebuildRange(long afterId, long upToId);
+
+    /**
+     * Products in (afterId, upToId] whose histogram row differs from their product_reviews rows
+     * (including a missing row for a reviewed product and a leftover row for an unreviewed one).
+     */
+    List<Long> findDriftedProductIds(long afterId, long upToId);
+
+    /**
+     * Recomputes the histograms of the given products from product_reviews.
+     *
+     * @return number of histogram rows written
+     */
+    int resetFromReviews(Collection<Long> productIds);
+}
@@ -0,0 +1,135 @@
+package com.quickcart.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: every write is a single counter upsert and reads are by primary key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductRatingHistogramRepositoryImpl implements ProductRatingHistogramRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<RatingHistogram> findByProductId(Long productId) {
+        return jdbcTemplate.query("""
+                        SELECT stars_1, stars_2, stars_3, stars_4, stars_5
+                        FROM product_rating_histograms
+                        WHERE product_id = ?
+                        """,
+                (rs, rowNum) -> new RatingHistogram(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+                productId).stream().findFirst();
+    }
+
+    @Override
+    public void applyDelta(Long productId, int removedRating, int addedRating) {
+        if (removedRating == addedRating) {
+            return;
+        }
+        long[] delta = new long[6];
+        delta[removedRating]--;
+        delta[addedRating]++;
+
+        jdbcTemplate.update("""
+                INSERT INTO product_rating_histograms (product_id, stars_1, stars_2, stars_3, stars_4, stars_5)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON CONFLICT (product_id) DO UPDATE SET
+                    stars_1 = product_rating_histograms.stars_1 + EXCLUDED.stars_1,
+                    stars_2 = product_rating_histograms.stars_2 + EXCLUDED.stars_2,
+                    stars_3 = product_rating_histograms.stars_3 + EXCLUDED.stars_3,
+                    stars_4 = product_rating_histograms.stars_4 + EXCLUDED.stars_4,
+                    stars_5 = product_rating_histograms.stars_5 + EXCLUDED.stars_5
+                """, productId, delta[1], delta[2], delta[3], delta[4], delta[5]);
+    }
+
+    @Override
+    public int rebuildRange(long afterId, long upToId) {
+        jdbcTemplate.update("""
+                DELETE FROM product_rating_histograms h
+                WHERE h.product_id > ? AND h.product_id <= ?
+                  AND NOT EXISTS (SELECT 1 FROM product_reviews r WHERE r.product_id = h.product_id)
+                """, afterId, upToId);
+
+        return jdbcTemplate.update("""
+                INSERT INTO product_rating_histograms (product_id, stars_1, stars_2, stars_3, stars_4, stars_5)
+                SELECT product_id,
+                       COUNT(*) FILTER (WHERE rating = 1),
+                       COUNT(*) FILTER (WHERE rating = 2),
+                       COUNT(*) FILTER (WHERE rating = 3),
+                       COUNT(*) FILTER (WHERE rating = 4),
+                       COUNT(*) FILTER (WHERE rating = 5)
+                FROM product_reviews
+                WHERE product_id > ? AND product_id <= ?
+                GROUP BY product_id
+                ON CONFLICT (product_id) DO UPDATE SET
+                    stars_1 = EXCLUDED.stars_1,
+                    stars_2 = EXCLUDED.stars_2,
+                    stars_3 = EXCLUDED.stars_3,
+                    stars_4 = EXCLUDED.stars_4,
+                    stars_5 = EXCLUDED.stars_5
+                """, afterId, upToId);
+    }
+
+    @Override
+    public List<Long> findDriftedProductIds(long afterId, long upToId) {
+        return jdbcTemplate.queryForList("""
+                SELECT COALESCE(h.product_id, s.product_id)
+                FROM (SELECT * FROM product_rating_histograms WHERE product_id > ? AND product_id <= ?) h
+                FULL JOIN (SELECT product_id,
+                                  COUNT(*) FILTER (WHERE rating = 1) AS c1,
+                                  COUNT(*) FILTER (WHERE rating = 2) AS c2,
+                                  COUNT(*) FILTER (WHERE rating = 3) AS c3,
+                                  COUNT(*) FILTER (WHERE rating = 4) AS c4,
+                                  COUNT(*) FILTER (WHERE rating = 5) AS c5
+                           FROM product_reviews
+                           WHERE product_id > ? AND product_id <= ?
+                           GROUP BY product_id) s ON s.product_id = h.product_id
+                WHERE h.product_id IS NULL OR s.product_id IS NULL
+                   OR h.stars_1 <> s.c1 OR h.stars_2 <> s.c2 OR h.stars_3 <> s.c3
+                   OR h.stars_4 <> s.c4 OR h.stars_5 <> s.c5
+                ORDER BY 1
+                """, Long.class, afterId, upToId, afterId, upToId);
+    }
+
+    @Override
+    public int resetFromReviews(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Object[] args = productIds.toArray();
+
+        jdbcTemplate.update("""
+                DELETE FROM product_rating_histograms h
+                WHERE h.product_id IN (%s)
+                  AND NOT EXISTS (SELECT 1 FROM product_reviews r WHERE r.product_id = h.product_id)
+                """.formatted(placeholders), args);
+
+        return jdbcTemplate.update("""
+                INSERT INTO product_rating_histograms (product_id, stars_1, stars_2, stars_3, stars_4, stars_5)
+                SELECT product_id,
+                       COUNT(*) FILTER (WHERE rating = 1),
+                       COUNT(*) FILTER (WHERE rating = 2),
+                       COUNT(*) FILTER (WHERE rating = 3),
+                       COUNT(*) FILTER (WHERE rating = 4),
+                       COUNT(*) FILTER (WHERE rating = 5)
+                FROM product_reviews
+                WHERE product_id IN (%s)
+                GROUP BY product_id
+                ON CONFLICT (product_id) DO UPDATE SET
+                    stars_1 = EXCLUDED.stars_1,
+                    stars_2 = EXCLUDED.stars_2,
+                    stars_3 = EXCLUDED.stars_3,
+                    stars_4 = EXCLUDED.stars_4,
+                    stars_5 = EXCLUDED.stars_5
+                """.formatted(placeholders), args);
+    }
+}
@@ -0,0 +1,21 @@
+package com.quickcart.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRatingReconcileRepository {
+
+    /**
+     * Products in (afterId, upToId] whose rating_sum/review_count differ from their product_reviews rows.
+     */
+    List<Long> findDriftedProductIds(long afterId, long upToId);
+
+    /**
+     * Recomputes rating_sum, review_count and rating of the given products from product_reviews.
+     *
+     * @return number of products updated
+     */
+    int resetFromReviews(Collection<Long> productIds);
+
+    long findMaxProductId();
+}
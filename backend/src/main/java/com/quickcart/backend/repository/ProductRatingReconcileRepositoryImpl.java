@@ -0,0 +1,64 @@
+package com.quickcart.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain JDBC on purpose: drift detection compares aggregates for a whole id window in one statement
+ * (idx_product_reviews_product_id serves the per-window GROUP BY).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductRatingReconcileRepositoryImpl implements ProductRatingReconcileRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findDriftedProductIds(long afterId, long upToId) {
+        return jdbcTemplate.queryForList("""
+                SELECT p.id
+                FROM products p
+                LEFT JOIN (SELECT product_id, SUM(rating) AS total, COUNT(*) AS cnt
+                           FROM product_reviews
+                           WHERE product_id > ? AND product_id <= ?
+                           GROUP BY product_id) s ON s.product_id = p.id
+                WHERE p.id > ? AND p.id <= ?
+                  AND (p.rating_sum <> COALESCE(s.total, 0) OR p.review_count <> COALESCE(s.cnt, 0))
+                ORDER BY p.id
+                """, Long.class, afterId, upToId, afterId, upToId);
+    }
+
+    @Override
+    public int resetFromReviews(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        return jdbcTemplate.update("""
+                UPDATE products p
+                SET rating_sum = s.total,
+                    review_count = s.cnt,
+                    rating = CASE WHEN s.cnt > 0 THEN ROUND(CAST(s.total AS numeric) / s.cnt, 2) END,
+                    updated_at = LOCALTIMESTAMP
+                FROM (SELECT p2.id AS product_id,
+                             COALESCE(SUM(r.rating), 0) AS total,
+                             COUNT(r.id) AS cnt
+                      FROM products p2
+                      LEFT JOIN product_reviews r ON r.product_id = p2.id
+                      WHERE p2.id IN (%s)
+                      GROUP BY p2.id) s
+                WHERE p.id = s.product_id
+                """.formatted(placeholders), productIds.toArray());
+    }
+
+    @Override
+    public long findMaxProductId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM products", Long.class);
+        return max == null ? 0 : max;
+    }
+}
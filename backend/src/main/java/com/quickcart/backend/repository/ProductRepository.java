@@ -1,15 +1,23 @@
 package com.quickcart.backend.repository;
 
+import com.quickcart.backend.catalog.CatalogRow;
 import com.quickcart.backend.entity.Product;
 import com.quickcart.backend.entity.ProductStatus;
 import com.quickcart.backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
@@ -23,13 +31,65 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @EntityGraph(attributePaths = {"manufacturer", "category"})
     Optional<Product> findByIdAndManufacturer(Long id, User manufacturer);
 
+    boolean existsByIdAndManufacturer(Long id, User manufacturer);
+
+    boolean existsByIdAndStatus(Long id, ProductStatus status);
+
     @Override
     @EntityGraph(attributePaths = {"manufacturer", "category"})
     Optional<Product> findById(Long id);
 
+    /**
+     * All products of a basket with their manufacturer in one query (order placement).
+     */
+    @EntityGraph(attributePaths = {"manufacturer"})
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Applies one review write to the product's aggregates in a single atomic statement:
+     * a new review is (+rating, +1), an edit is (new - old, 0), a delete is (-rating, -1).
+     * Every SET expression reads the pre-update row, so rating is derived from the new sum and count.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "UPDATE products SET " +
+                   "rating_sum = rating_sum + :sumDelta, " +
+                   "review_count = review_count + :countDelta, " +
+                   "rating = CASE WHEN review_count + :countDelta > 0 " +
+                   "THEN ROUND(CAST(rating_sum + :sumDelta AS numeric) / (review_count + :countDelta), 2) END, " +
+                   "updated_at = :updatedAt " +
+                   "WHERE id = :productId",
+           nativeQuery = true)
+    int applyRatingDelta(@Param("productId") Long productId,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") int countDelta,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
     // IMPORTANT: JpaSpecificationExecutor's findAll(spec, pageable) does NOT inherit the above graphs.
     // We override it here to eager-fetch relationships used in DTO mapping.
     @Override
     @EntityGraph(attributePaths = {"manufacturer", "category"})
     Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Catalog index rebuild: ACTIVE products after the given id, in id order (keyset batches).
+     */
+    @Query("SELECT new com.quickcart.backend.catalog.CatalogRow(" +
+           "p.id, p.status, p.name, p.price, p.mrp, p.discountPrice, p.rating, p.reviewCount, p.stock, " +
+           "p.isFeatured, p.isReturnable, " +
+           "p.brand, c.id, c.name, c.slug) " +
+           "FROM Product p LEFT JOIN p.category c " +
+           "WHERE p.status = com.quickcart.backend.entity.ProductStatus.ACTIVE AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<CatalogRow> findActiveCatalogRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Catalog index incremental refresh: current state of the given products, whatever their status.
+     */
+    @Query("SELECT new com.quickcart.backend.catalog.CatalogRow(" +
+           "p.id, p.status, p.name, p.price, p.mrp, p.discountPrice, p.rating, p.reviewCount, p.stock, " +
+           "p.isFeatured, p.isReturnable, " +
+           "p.brand, c.id, c.name, c.slug) " +
+           "FROM Product p LEFT JOIN p.category c " +
+           "WHERE p.id IN :ids")
+    List<CatalogRow> findCatalogRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,9 +1,11 @@
 package com.quickcart.backend.repository;
 
 import com.quickcart.backend.entity.ProductReview;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,6 +15,13 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
 
     Optional<ProductReview> findByUserIdAndProductId(Long userId, Long productId);
 
+    /**
+     * Same as {@link #findByUserIdAndProductId} but locks the row, so concurrent edits of one review
+     * apply their rating deltas against the rating the other one wrote.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ProductReview> findLockedByUserIdAndProductId(Long userId, Long productId);
+
     Page<ProductReview> findByProductId(Long productId, Pageable pageable);
 
     long deleteByUserIdAndProductId(Long userId, Long productId);
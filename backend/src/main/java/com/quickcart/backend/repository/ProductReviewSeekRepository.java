@@ -0,0 +1,16 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.dto.ProductReviewResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductReviewSeekRepository {
+
+    /**
+     * Up to {@code limit} reviews of the product after the keyset, in the keyset's order.
+     *
+     * @return empty when the product does not exist (checked by the same statement), otherwise the page (possibly empty)
+     */
+    Optional<List<ProductReviewResponse>> findSeekPage(Long productId, ReviewKeyset keyset, int limit);
+}
@@ -0,0 +1,99 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.dto.ProductReviewResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: the product lookup and the review page are one statement. The product row drives a
+ * LEFT JOIN LATERAL over its reviews, so a missing product returns no rows, a product without (more) reviews
+ * returns one all-NULL review, and otherwise the lateral part is a single range scan of a V17 index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductReviewSeekRepositoryImpl implements ProductReviewSeekRepository {
+
+    private static final String SQL = """
+            SELECT r.id, r.user_id, r.rating, r.comment, r.created_at, r.updated_at
+            FROM products p
+            LEFT JOIN LATERAL (
+                SELECT rv.id, rv.user_id, rv.rating, rv.comment, rv.created_at, rv.updated_at
+                FROM product_reviews rv
+                WHERE rv.product_id = p.id %s
+                ORDER BY %s
+                LIMIT ?
+            ) r ON TRUE
+            WHERE p.id = ?
+            ORDER BY %s
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<List<ProductReviewResponse>> findSeekPage(Long productId, ReviewKeyset keyset, int limit) {
+        List<Object> args = new ArrayList<>();
+        String seek = "";
+        String order = switch (keyset.sortKey()) {
+            case NEWEST -> {
+                if (!keyset.isFirstPage()) {
+                    seek = "AND (rv.created_at, rv.id) < (?, ?)";
+                    args.add(Timestamp.valueOf(keyset.lastCreatedAt()));
+                    args.add(keyset.lastId());
+                }
+                yield "%1$s.created_at DESC, %1$s.id DESC";
+            }
+            case HIGHEST -> {
+                if (!keyset.isFirstPage()) {
+                    seek = "AND (rv.rating, rv.created_at, rv.id) < (?, ?, ?)";
+                    args.add(keyset.lastRating());
+                    args.add(Timestamp.valueOf(keyset.lastCreatedAt()));
+                    args.add(keyset.lastId());
+                }
+                yield "%1$s.rating DESC, %1$s.created_at DESC, %1$s.id DESC";
+            }
+            case LOWEST -> {
+                if (!keyset.isFirstPage()) {
+                    seek = "AND (rv.rating, rv.created_at, rv.id) > (?, ?, ?)";
+                    args.add(keyset.lastRating());
+                    args.add(Timestamp.valueOf(keyset.lastCreatedAt()));
+                    args.add(keyset.lastId());
+                }
+                yield "%1$s.rating, %1$s.created_at, %1$s.id";
+            }
+        };
+        args.add(limit);
+        args.add(productId);
+
+        String sql = SQL.formatted(seek, order.formatted("rv"), order.formatted("r"));
+
+        List<ProductReviewResponse> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            long id = rs.getLong(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            Timestamp createdAt = rs.getTimestamp(5);
+            Timestamp updatedAt = rs.getTimestamp(6);
+            return ProductReviewResponse.builder()
+                    .id(id)
+                    .productId(productId)
+                    .userId(rs.getLong(2))
+                    .rating(rs.getInt(3))
+                    .comment(rs.getString(4))
+                    .createdAt(createdAt == null ? null : createdAt.toLocalDateTime())
+                    .updatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime())
+                    .build();
+        }, args.toArray());
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(rows.stream().filter(Objects::nonNull).toList());
+    }
+}
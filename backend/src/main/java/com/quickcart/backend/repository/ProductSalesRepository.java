@@ -0,0 +1,26 @@
+package com.quickcart.backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductSalesRepository {
+
+    /**
+     * Units to add to one product's bucket for one day (negative for cancellations).
+     */
+    record DailyUnits(Long productId, LocalDate salesDay, long units) {
+    }
+
+    /**
+     * Adds each delta to its (product, day) bucket, creating buckets as needed.
+     */
+    void addDailyUnits(List<DailyUnits> deltas);
+
+    /**
+     * Recomputes the rolling 7/30-day totals ending on {@code today} into product_stats and
+     * products.popularity_score. Products whose sales fell out of the window drop back to zero.
+     *
+     * @return number of products whose popularity score changed
+     */
+    int refreshStats(LocalDate today);
+}
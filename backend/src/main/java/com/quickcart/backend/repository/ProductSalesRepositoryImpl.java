@@ -0,0 +1,92 @@
+package com.quickcart.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Plain JDBC on purpose: counters are upserted and rolled up set-based, without loading any entity.
+ *
+ * popularity_score = units_30d + 3 * units_7d, so recent sales outweigh older ones within the month.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSalesRepositoryImpl implements ProductSalesRepository {
+
+    private static final int RECENT_WEIGHT = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addDailyUnits(List<DailyUnits> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Sales of products deleted since the order are dropped by the join instead of failing the batch.
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO product_sales_daily (product_id, sales_day, units)
+                SELECT p.id, ?, ? FROM products p WHERE p.id = ?
+                ON CONFLICT (product_id, sales_day) DO UPDATE SET units = product_sales_daily.units + EXCLUDED.units
+                """,
+                deltas,
+                deltas.size(),
+                (ps, d) -> {
+                    ps.setDate(1, Date.valueOf(d.salesDay()));
+                    ps.setLong(2, d.units());
+                    ps.setLong(3, d.productId());
+                });
+    }
+
+    @Override
+    @Transactional
+    public int refreshStats(LocalDate today) {
+        Date weekStart = Date.valueOf(today.minusDays(6));
+        Date monthStart = Date.valueOf(today.minusDays(29));
+
+        jdbcTemplate.update("""
+                INSERT INTO product_stats (product_id, units_7d, units_30d, updated_at)
+                SELECT product_id,
+                       GREATEST(COALESCE(SUM(units) FILTER (WHERE sales_day >= ?), 0), 0),
+                       GREATEST(SUM(units), 0),
+                       now()
+                FROM product_sales_daily
+                WHERE sales_day >= ?
+                GROUP BY product_id
+                ON CONFLICT (product_id) DO UPDATE
+                SET units_7d = EXCLUDED.units_7d, units_30d = EXCLUDED.units_30d, updated_at = EXCLUDED.updated_at
+                WHERE product_stats.units_7d <> EXCLUDED.units_7d OR product_stats.units_30d <> EXCLUDED.units_30d
+                """, weekStart, monthStart);
+
+        // Nothing sold inside the window any more
+        jdbcTemplate.update("""
+                UPDATE product_stats s SET units_7d = 0, units_30d = 0, updated_at = now()
+                WHERE s.units_30d <> 0
+                  AND NOT EXISTS (SELECT 1 FROM product_sales_daily d WHERE d.product_id = s.product_id AND d.sales_day >= ?)
+                """, monthStart);
+
+        // Buckets older than the window are never read again
+        jdbcTemplate.update("DELETE FROM product_sales_daily WHERE sales_day < ?", monthStart);
+
+        // Lock the rows to change in id order first (like checkout does): the UPDATE ... FROM alone would lock
+        // them in plan order and could deadlock against a basket. Only this job writes popularity_score and
+        // product_stats, so the locked set is exactly the set the UPDATE changes.
+        jdbcTemplate.queryForList("""
+                SELECT p.id FROM products p JOIN product_stats s ON s.product_id = p.id
+                WHERE p.popularity_score <> s.units_30d + ? * s.units_7d
+                ORDER BY p.id
+                FOR NO KEY UPDATE OF p
+                """, Long.class, RECENT_WEIGHT);
+
+        return jdbcTemplate.update("""
+                UPDATE products p SET popularity_score = s.units_30d + ? * s.units_7d
+                FROM product_stats s
+                WHERE s.product_id = p.id AND p.popularity_score <> s.units_30d + ? * s.units_7d
+                """, RECENT_WEIGHT, RECENT_WEIGHT);
+    }
+}
@@ -0,0 +1,18 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductSkuUpdateRepository {
+
+    /**
+     * Applies the non-null price/mrp/discountPrice/stock of each item to the manufacturer's product with that SKU,
+     * in one set-based statement. Items must have distinct SKUs.
+     *
+     * @return product id by SKU for the rows that were updated
+     */
+    Map<String, Long> updateBySku(Long manufacturerId, List<BulkUpdateProductsBySkuRequest.Item> items, LocalDateTime updatedAt);
+}
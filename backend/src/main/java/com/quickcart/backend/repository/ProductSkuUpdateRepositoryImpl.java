@@ -0,0 +1,73 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC on purpose: a single UPDATE ... FROM (VALUES ...) joins the whole chunk against
+ * uq_products_manufacturer_sku (V10) without loading or dirty-checking any entity.
+ * The chunk's rows are locked in id order first, as ProductStockRepositoryImpl does for baskets: the UPDATE alone
+ * would lock them in plan order and could deadlock against a concurrent checkout.
+ * Must run inside the caller's transaction, which holds the locks until the UPDATE commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSkuUpdateRepositoryImpl implements ProductSkuUpdateRepository {
+
+    private static final String ROW = "(?, CAST(? AS numeric), CAST(? AS numeric), CAST(? AS numeric), CAST(? AS integer))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, Long> updateBySku(Long manufacturerId, List<BulkUpdateProductsBySkuRequest.Item> items, LocalDateTime updatedAt) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+
+        String skus = String.join(", ", Collections.nCopies(items.size(), "?"));
+        List<Object> lockArgs = new ArrayList<>(items.size() + 1);
+        lockArgs.add(manufacturerId);
+        items.forEach(item -> lockArgs.add(item.getSku()));
+        jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE manufacturer_id = ? AND sku IN (%s) ORDER BY id FOR NO KEY UPDATE".formatted(skus),
+                Long.class, lockArgs.toArray());
+
+        String sql = "UPDATE products p SET " +
+                "price = COALESCE(v.price, p.price), " +
+                "mrp = COALESCE(v.mrp, p.mrp), " +
+                "discount_price = COALESCE(v.discount_price, p.discount_price), " +
+                "stock = COALESCE(v.stock, p.stock), " +
+                "updated_at = ? " +
+                "FROM (VALUES " + String.join(", ", Collections.nCopies(items.size(), ROW)) + ") " +
+                "AS v(sku, price, mrp, discount_price, stock) " +
+                "WHERE p.manufacturer_id = ? AND p.sku = v.sku " +
+                "RETURNING p.sku, p.id";
+
+        List<Object> args = new ArrayList<>(items.size() * 5 + 2);
+        args.add(Timestamp.valueOf(updatedAt));
+        for (BulkUpdateProductsBySkuRequest.Item item : items) {
+            args.add(item.getSku());
+            args.add(item.getPrice());
+            args.add(item.getMrp());
+            args.add(item.getDiscountPrice());
+            args.add(item.getStock());
+        }
+        args.add(manufacturerId);
+
+        Map<String, Long> updated = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            updated.put(rs.getString(1), rs.getLong(2));
+        }, args.toArray());
+        return updated;
+    }
+}
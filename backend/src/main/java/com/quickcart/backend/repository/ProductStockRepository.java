@@ -0,0 +1,32 @@
+package com.quickcart.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductStockRepository {
+
+    /**
+     * Locks the rows in ascending id order, then takes every quantity (units per product id) in one
+     * conditional UPDATE. Products that are missing, inactive or short of stock are left unchanged.
+     *
+     * @return remaining stock per product id, for the products that were decremented
+     */
+    Map<Long, Integer> tryReserveAll(Map<Long, Integer> quantities, LocalDateTime updatedAt);
+
+    /**
+     * Puts units back (units per product id, whatever the product status): rows locked in ascending id order,
+     * then one UPDATE.
+     *
+     * @return new stock per product id, for the products that still exist
+     */
+    Map<Long, Integer> releaseAll(Map<Long, Integer> quantities, LocalDateTime updatedAt);
+
+    /**
+     * Current name, status and stock of a product, used to explain a failed reservation.
+     */
+    Optional<StockLevel> findStockLevel(Long productId);
+
+    record StockLevel(String name, boolean active, int stock) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.ProductStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: a basket is reserved (or released) with two statements whatever its size. SELECT ... ORDER BY id
+ * FOR NO KEY UPDATE locks the rows in id order (UPDATE ... FROM (VALUES ...) alone would lock them in plan order and
+ * could deadlock against another basket), then one conditional UPDATE checks {@code stock >= quantity} against
+ * the locked values and RETURNING hands back the new levels without a second read. NO KEY UPDATE is the lock the
+ * UPDATE itself takes; unlike FOR UPDATE it does not block the KEY SHARE locks of order_items foreign key checks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String ROW = "(CAST(? AS bigint), CAST(? AS integer))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, Integer> tryReserveAll(Map<Long, Integer> quantities, LocalDateTime updatedAt) {
+        return applyAll(quantities, updatedAt, "p.stock - v.quantity",
+                "AND p.status = '" + ProductStatus.ACTIVE.name() + "' AND p.stock >= v.quantity");
+    }
+
+    @Override
+    public Map<Long, Integer> releaseAll(Map<Long, Integer> quantities, LocalDateTime updatedAt) {
+        return applyAll(quantities, updatedAt, "p.stock + v.quantity", "");
+    }
+
+    private Map<Long, Integer> applyAll(Map<Long, Integer> quantities, LocalDateTime updatedAt, String newStock, String condition) {
+        if (quantities.isEmpty()) {
+            return Map.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(quantities.size(), "?"));
+        jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE id IN (%s) ORDER BY id FOR NO KEY UPDATE".formatted(placeholders),
+                Long.class, quantities.keySet().toArray());
+
+        String sql = "UPDATE products p SET stock = " + newStock + ", updated_at = ? " +
+                "FROM (VALUES " + String.join(", ", Collections.nCopies(quantities.size(), ROW)) + ") " +
+                "AS v(id, quantity) " +
+                "WHERE p.id = v.id " + condition + " " +
+                "RETURNING p.id, p.stock";
+
+        List<Object> args = new ArrayList<>(quantities.size() * 2 + 1);
+        args.add(Timestamp.valueOf(updatedAt));
+        quantities.forEach((productId, quantity) -> {
+            args.add(productId);
+            args.add(quantity);
+        });
+
+        Map<Long, Integer> levels = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            levels.put(rs.getLong(1), rs.getInt(2));
+        }, args.toArray());
+        return levels;
+    }
+
+    @Override
+    public Optional<StockLevel> findStockLevel(Long productId) {
+        return jdbcTemplate.query(
+                "SELECT name, status, stock FROM products WHERE id = ?",
+                (rs, rowNum) -> new StockLevel(
+                        rs.getString(1),
+                        ProductStatus.ACTIVE.name().equals(rs.getString(2)),
+                        rs.getInt(3)),
+                productId
+        ).stream().findFirst();
+    }
+}
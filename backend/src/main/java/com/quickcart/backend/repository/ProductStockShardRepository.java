@@ -0,0 +1,53 @@
+package com.quickcart.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ProductStockShardRepository {
+
+    /**
+     * Shard numbers of the given products that are in hot mode; products without shards are absent.
+     */
+    Map<Long, List<Integer>> findShardNumbers(Collection<Long> productIds);
+
+    List<Long> findShardedProductIds();
+
+    /**
+     * Takes {@code quantity} units from one shard of an active product if that shard alone has them.
+     *
+     * @return the units left in the shard, or empty when the shard (or the product) cannot supply them
+     */
+    Optional<Integer> tryTake(Long productId, int shardNo, int quantity);
+
+    /**
+     * Locks and returns all shards of a product in shard order (the order every multi-shard writer uses).
+     */
+    List<Shard> lockShards(Long productId);
+
+    void setShardStock(Long productId, int shardNo, int stock);
+
+    void addToShard(Long productId, int shardNo, int quantity);
+
+    /**
+     * Replaces the product's shards with {@code stocks.length} shards holding the given units.
+     */
+    void replaceShards(Long productId, int[] stocks);
+
+    void deleteShards(Long productId);
+
+    /**
+     * Locks the product row and returns its reported stock and the value last written back from the shards.
+     */
+    Optional<ProductStock> lockProductStock(Long productId);
+
+    void writeBackStock(Long productId, int stock, Integer reconciled, LocalDateTime updatedAt);
+
+    record Shard(int shardNo, int stock) {
+    }
+
+    record ProductStock(int stock, Integer reconciled) {
+    }
+}
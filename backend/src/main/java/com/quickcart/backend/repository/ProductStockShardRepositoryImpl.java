@@ -0,0 +1,118 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.entity.ProductStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain JDBC on purpose: shard rows are not entities, and a reservation is one conditional UPDATE on a single
+ * (product_id, shard_no) row that never touches the products row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockShardRepositoryImpl implements ProductStockShardRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, List<Integer>> findShardNumbers(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+        Map<Long, List<Integer>> shards = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT product_id, shard_no FROM product_stock_shards WHERE product_id IN (%s) ORDER BY product_id, shard_no"
+                        .formatted(placeholders),
+                rs -> {
+                    shards.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getInt(2));
+                },
+                productIds.toArray());
+        return shards;
+    }
+
+    @Override
+    public List<Long> findShardedProductIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT product_id FROM product_stock_shards ORDER BY product_id", Long.class);
+    }
+
+    @Override
+    public Optional<Integer> tryTake(Long productId, int shardNo, int quantity) {
+        return jdbcTemplate.query(
+                "UPDATE product_stock_shards s SET stock = s.stock - ? " +
+                        "FROM products p " +
+                        "WHERE p.id = s.product_id AND p.status = ? " +
+                        "AND s.product_id = ? AND s.shard_no = ? AND s.stock >= ? " +
+                        "RETURNING s.stock",
+                (rs, rowNum) -> rs.getInt(1),
+                quantity, ProductStatus.ACTIVE.name(), productId, shardNo, quantity
+        ).stream().findFirst();
+    }
+
+    @Override
+    public List<Shard> lockShards(Long productId) {
+        return jdbcTemplate.query(
+                "SELECT shard_no, stock FROM product_stock_shards WHERE product_id = ? ORDER BY shard_no FOR UPDATE",
+                (rs, rowNum) -> new Shard(rs.getInt(1), rs.getInt(2)),
+                productId);
+    }
+
+    @Override
+    public void setShardStock(Long productId, int shardNo, int stock) {
+        jdbcTemplate.update("UPDATE product_stock_shards SET stock = ? WHERE product_id = ? AND shard_no = ?",
+                stock, productId, shardNo);
+    }
+
+    @Override
+    public void addToShard(Long productId, int shardNo, int quantity) {
+        jdbcTemplate.update("UPDATE product_stock_shards SET stock = stock + ? WHERE product_id = ? AND shard_no = ?",
+                quantity, productId, shardNo);
+    }
+
+    @Override
+    public void replaceShards(Long productId, int[] stocks) {
+        deleteShards(productId);
+        List<Object[]> rows = new ArrayList<>(stocks.length);
+        for (int shardNo = 0; shardNo < stocks.length; shardNo++) {
+            rows.add(new Object[]{productId, shardNo, stocks[shardNo]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_stock_shards (product_id, shard_no, stock) VALUES (?, ?, ?)", rows);
+    }
+
+    @Override
+    public void deleteShards(Long productId) {
+        jdbcTemplate.update("DELETE FROM product_stock_shards WHERE product_id = ?", productId);
+    }
+
+    /**
+     * FOR NO KEY UPDATE, not FOR UPDATE: a checkout holding a shard row inserts order_items, whose product_id
+     * foreign key check takes KEY SHARE on this row. FOR UPDATE would block that check while this transaction
+     * waits in lockShards for the checkout's shard, and Postgres would abort one side as a deadlock.
+     */
+    @Override
+    public Optional<ProductStock> lockProductStock(Long productId) {
+        return jdbcTemplate.query(
+                "SELECT stock, stock_reconciled FROM products WHERE id = ? FOR NO KEY UPDATE",
+                (rs, rowNum) -> new ProductStock(rs.getInt(1), rs.getObject(2, Integer.class)),
+                productId
+        ).stream().findFirst();
+    }
+
+    @Override
+    public void writeBackStock(Long productId, int stock, Integer reconciled, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE products SET stock = ?, stock_reconciled = ?, updated_at = ? WHERE id = ?",
+                stock, reconciled, Timestamp.valueOf(updatedAt), productId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.quickcart.backend.repository;
+
+/**
+ * Review counts of one product per star rating.
+ */
+public record RatingHistogram(long stars1, long stars2, long stars3, long stars4, long stars5) {
+
+    public static final RatingHistogram EMPTY = new RatingHistogram(0, 0, 0, 0, 0);
+}
@@ -0,0 +1,103 @@
+package com.quickcart.backend.repository;
+
+import com.quickcart.backend.dto.ProductReviewResponse;
+import com.quickcart.backend.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a keyset scan over one product's reviews: the sort plus the last row's (rating, created_at, id).
+ * Encoded as an opaque URL-safe token, like {@link ProductKeyset}.
+ */
+public record ReviewKeyset(SortKey sortKey, Integer lastRating, LocalDateTime lastCreatedAt, Long lastId) {
+
+    private static final String VERSION = "r1";
+    private static final String NULL_VALUE = "~";
+
+    /**
+     * Supported review orders; each is one range scan of a V17 index.
+     * Within one rating, HIGHEST lists newest first and LOWEST oldest first (same index, opposite direction).
+     */
+    public enum SortKey {
+        /** created_at DESC, id DESC */
+        NEWEST,
+        /** rating DESC, created_at DESC, id DESC */
+        HIGHEST,
+        /** rating ASC, created_at ASC, id ASC */
+        LOWEST
+    }
+
+    /**
+     * Maps a pageable sort to a review order: none or {@code createdAt,desc} (newest), {@code rating,desc}, {@code rating,asc}.
+     */
+    public static SortKey sortKeyOf(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return SortKey.NEWEST;
+        }
+        if (orders.size() > 1) {
+            throw new InvalidCursorException("Review cursor pagination supports a single sort property");
+        }
+        Sort.Order order = orders.getFirst();
+        return switch (order.getProperty()) {
+            case "createdAt" -> {
+                if (order.isAscending()) {
+                    throw new InvalidCursorException("Review cursor pagination supports createdAt,desc only");
+                }
+                yield SortKey.NEWEST;
+            }
+            case "rating" -> order.isAscending() ? SortKey.LOWEST : SortKey.HIGHEST;
+            default -> throw new InvalidCursorException(
+                    "Unsupported sort property for review cursor pagination: '" + order.getProperty() + "'. Supported: createdAt, rating");
+        };
+    }
+
+    /**
+     * Keyset for the first page (nothing seen yet).
+     */
+    public static ReviewKeyset first(SortKey sortKey) {
+        return new ReviewKeyset(sortKey, null, null, null);
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    public ReviewKeyset after(ProductReviewResponse row) {
+        return new ReviewKeyset(sortKey, row.getRating(), row.getCreatedAt(), row.getId());
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+                VERSION,
+                sortKey.name(),
+                lastRating == null ? NULL_VALUE : lastRating.toString(),
+                lastCreatedAt == null ? NULL_VALUE : lastCreatedAt.toString(),
+                String.valueOf(lastId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewKeyset decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || NULL_VALUE.equals(parts[3])) {
+                throw new InvalidCursorException("Malformed review cursor");
+            }
+            SortKey sortKey = SortKey.valueOf(parts[1]);
+            Integer rating = NULL_VALUE.equals(parts[2]) ? null : Integer.valueOf(parts[2]);
+            if (sortKey != SortKey.NEWEST && rating == null) {
+                throw new InvalidCursorException("Malformed review cursor");
+            }
+            return new ReviewKeyset(sortKey, rating, LocalDateTime.parse(parts[3]), Long.valueOf(parts[4]));
+        } catch (InvalidCursorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Malformed review cursor");
+        }
+    }
+}
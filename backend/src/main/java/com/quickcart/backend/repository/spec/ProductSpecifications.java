@@ -1,8 +1,12 @@
 package com.quickcart.backend.repository.spec;
 
 import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductSearchDocument;
 import com.quickcart.backend.entity.ProductStatus;
 import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductCardRow;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -15,10 +19,9 @@ public final class ProductSpecifications {
     private ProductSpecifications() {}
 
     public static Specification<Product> visibleToUser(User user) {
+        // No DISTINCT: every join used by these specs is many-to-one, so rows cannot duplicate,
+        // and a forced DISTINCT turns the page count into count(distinct id) and defeats seek pagination.
         return (root, query, cb) -> {
-            // Avoid duplicates when joins are added
-            query.distinct(true);
-
             if (user != null && user.hasRole("MANUFACTURER")) {
                 return cb.equal(root.get("manufacturer"), user);
             }
@@ -34,17 +37,7 @@ public final class ProductSpecifications {
      */
     public static Specification<Product> hasCategorySlugs(String categorySlugs) {
         return (root, query, cb) -> {
-            if (categorySlugs == null || categorySlugs.isBlank()) {
-                return cb.conjunction();
-            }
-
-            List<String> slugs = Arrays.stream(categorySlugs.split(","))
-                    .map(String::trim)
-                    .filter(s -> !s.isBlank())
-                    .map(String::toLowerCase)
-                    .distinct()
-                    .collect(Collectors.toList());
-
+            List<String> slugs = parseCategorySlugs(categorySlugs);
             if (slugs.isEmpty()) {
                 return cb.conjunction();
             }
@@ -54,12 +47,31 @@ public final class ProductSpecifications {
         };
     }
 
+    /**
+     * Splits a comma-separated category filter into distinct lower-cased slugs (empty when no filter).
+     */
+    public static List<String> parseCategorySlugs(String categorySlugs) {
+        if (categorySlugs == null || categorySlugs.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(categorySlugs.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isBlank())
+                .map(String::toLowerCase)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Case-insensitive brand match on the normalized brand_key column (indexed with status, see V12 migration).
+     */
     public static Specification<Product> hasBrand(String brand) {
         return (root, query, cb) -> {
-            if (brand == null || brand.isBlank()) {
+            String brandKey = Product.brandKeyOf(brand);
+            if (brandKey == null) {
                 return cb.conjunction();
             }
-            return cb.equal(cb.lower(root.get("brand")), brand.trim().toLowerCase());
+            return cb.equal(root.get("brandKey"), brandKey);
         };
     }
 
@@ -158,4 +170,38 @@ public final class ProductSpecifications {
             );
         };
     }
+
+    /**
+     * Full-text search over name, brand, short_description and description (GIN-indexed tsvector, see V8 migration).
+     * Accepts web-search syntax: quoted phrases, "or", and "-excluded" terms.
+     *
+     * When the query has no explicit ordering yet, results are ordered by relevance (ts_rank desc, then id).
+     * An explicit sort from the request replaces that ordering; count queries ignore it.
+     */
+    public static Specification<Product> matchesSearch(String q) {
+        return (root, query, cb) -> {
+            if (q == null || q.isBlank()) {
+                return cb.conjunction();
+            }
+            String text = q.trim();
+
+            // Second root on the same table (joined by id) keeps the tsvector out of the Product mapping.
+            Root<ProductSearchDocument> doc = query.from(ProductSearchDocument.class);
+            Expression<String> vector = doc.get("searchVector");
+
+            boolean listQuery = Product.class.equals(query.getResultType())
+                    || ProductCardRow.class.equals(query.getResultType());
+            if (listQuery && query.getOrderList().isEmpty()) {
+                query.orderBy(
+                        cb.desc(cb.function("fts_rank", Double.class, vector, cb.literal(text))),
+                        cb.asc(root.get("id"))
+                );
+            }
+
+            return cb.and(
+                    cb.equal(doc.get("id"), root.get("id")),
+                    cb.isTrue(cb.function("fts_match", Boolean.class, vector, cb.literal(text)))
+            );
+        };
+    }
 }
@@ -0,0 +1,182 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.dto.ProductListResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Periodically writes every ACTIVE product ({@link ProductListResponse} shape, one JSON object per line, gzip)
+ * to a local file, so full-catalog downloads cost a file read instead of a catalog-wide query per client.
+ *
+ * The file is written under a temporary name and moved into place atomically; its SHA-256 is the ETag.
+ * When a run produces identical bytes the current file (and ETag) is kept, so conditional requests keep hitting.
+ * A replaced file is kept for one more interval, so a request that picked it up just before the swap can still
+ * open it; files left behind by earlier runs of the application are deleted at startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    /**
+     * A published snapshot file. {@code etag} is the hex SHA-256 of the file's bytes.
+     */
+    public record Snapshot(Path file, String etag, long productCount, long sizeBytes, Instant generatedAt) {
+    }
+
+    private final ProductService productService;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.catalog.snapshot.dir:${java.io.tmpdir}/quickcart-snapshots}")
+    private Path dir;
+
+    @Value("${app.catalog.snapshot.batchSize:1000}")
+    private int batchSize;
+
+    private volatile Snapshot current;
+
+    /** Files replaced by a newer snapshot, deleted by the next refresh (guarded by this). */
+    private final List<Path> retired = new ArrayList<>();
+
+    public Optional<Snapshot> current() {
+        return Optional.ofNullable(current);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.catalog.snapshot.intervalMs:3600000}",
+            initialDelayString = "${app.catalog.snapshot.initialDelayMs:60000}"
+    )
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // Keep serving the previous snapshot; the next run retries.
+            log.error("Catalog snapshot refresh failed", ex);
+        }
+    }
+
+    /**
+     * Deletes snapshot and temporary files this process does not serve (left behind by earlier runs).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void deleteStaleFiles() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Snapshot served = current;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "catalog-*.{ndjson.gz,tmp}")) {
+            for (Path file : files) {
+                if ((served == null || !served.file().equals(file)) && !retired.contains(file)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not list stale catalog snapshots in {}", dir, ex);
+        }
+    }
+
+    /**
+     * Writes a new snapshot and publishes it, unless its content equals the current one.
+     */
+    public synchronized Snapshot refresh() {
+        long started = System.currentTimeMillis();
+
+        // Replaced a full interval ago: requests that read current() back then are long done with them.
+        // A file that cannot be deleted yet (still open on Windows) is retried on the next run.
+        retired.removeIf(this::deleteQuietly);
+
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "catalog-", ".tmp");
+
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long[] count = {0};
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DigestOutputStream digest = new DigestOutputStream(new BufferedOutputStream(file, 1 << 16), sha256);
+                 GZIPOutputStream gzip = new GZIPOutputStream(digest, 1 << 16)) {
+
+                productService.forEachActiveProductBatch(batchSize, batch -> {
+                    try {
+                        for (ProductListResponse product : batch) {
+                            gzip.write(jsonMapper.writeValueAsBytes(product));
+                            gzip.write('\n');
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    count[0] += batch.size();
+                });
+            }
+
+            String etag = HexFormat.of().formatHex(sha256.digest());
+            Snapshot previous = current;
+            if (previous != null && previous.etag().equals(etag)) {
+                Files.deleteIfExists(tmp);
+                return previous;
+            }
+
+            Path target = dir.resolve("catalog-" + etag + ".ndjson.gz");
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            Snapshot next = new Snapshot(target, etag, count[0], Files.size(target), Instant.now());
+            current = next;
+
+            // New requests get the new file; the old one stays until the next refresh for requests that
+            // already resolved it.
+            if (previous != null && !previous.file().equals(target)) {
+                retired.add(previous.file());
+            }
+
+            log.info("Catalog snapshot written: {} products, {} bytes in {} ms",
+                    next.productCount(), next.sizeBytes(), System.currentTimeMillis() - started);
+            return next;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write catalog snapshot", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @return true when the file is gone
+     */
+    private boolean deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Could not delete catalog snapshot {}: {}", file, ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.quickcart.backend.service;
 
+import com.quickcart.backend.catalog.CategoriesCreatedEvent;
 import com.quickcart.backend.dto.BulkCreateCategoriesRequest;
 import com.quickcart.backend.dto.BulkCreateCategoriesResponse;
 import com.quickcart.backend.dto.CategoryResponse;
@@ -7,6 +8,7 @@ import com.quickcart.backend.entity.Category;
 import com.quickcart.backend.entity.User;
 import com.quickcart.backend.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ import java.util.*;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Production-grade bulk category insert:
@@ -103,6 +106,10 @@ public class CategoryService {
                         .build())
                 .toList();
 
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new CategoriesCreatedEvent(created));
+        }
+
         return BulkCreateCategoriesResponse.builder()
                 .createdCount(created.size())
                 .existingCount(existing.size())
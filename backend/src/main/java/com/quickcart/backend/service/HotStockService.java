@@ -0,0 +1,171 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.exception.ResourceNotFoundException;
+import com.quickcart.backend.repository.ProductStockShardRepository;
+import com.quickcart.backend.repository.ProductStockShardRepository.ProductStock;
+import com.quickcart.backend.repository.ProductStockShardRepository.Shard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hot SKU ("flash sale") mode: a product's stock is split over N rows of product_stock_shards, and
+ * StockReservationService takes units from one shard per checkout instead of updating the products row.
+ *
+ * products.stock is then the reported total, written back from the shards every reconcileIntervalMs
+ * (so in-stock filters lag by up to one interval). An edit of products.stock in the meantime is detected
+ * against stock_reconciled and its delta spread over the shards, so restocking keeps working in hot mode.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotStockService {
+
+    public static final int MAX_SHARDS = 64;
+
+    private final ProductStockShardRepository productStockShardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.products.hotStock.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Switches a product to hot mode with {@code shards} sub-counters (re-splitting if it already is),
+     * or back to a single counter when {@code shards} is 0.
+     *
+     * @return the product's total stock afterwards
+     */
+    @Transactional
+    public int setShardCount(Long productId, int shards) {
+        if (shards < 0 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("shards must be between 0 and " + MAX_SHARDS);
+        }
+        ProductStock state = productStockShardRepository.lockProductStock(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+
+        List<Shard> current = productStockShardRepository.lockShards(productId);
+        int total = current.isEmpty() ? state.stock() : foldedTotal(productId, state, current);
+
+        if (shards == 0) {
+            productStockShardRepository.deleteShards(productId);
+            productStockShardRepository.writeBackStock(productId, total, null, LocalDateTime.now());
+        } else {
+            productStockShardRepository.replaceShards(productId, split(total, shards));
+            productStockShardRepository.writeBackStock(productId, total, total, LocalDateTime.now());
+        }
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
+        return total;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.products.hotStock.reconcileIntervalMs:5000}",
+            initialDelayString = "${app.products.hotStock.reconcileIntervalMs:5000}"
+    )
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.error("Hot stock reconciliation failed", ex);
+        }
+    }
+
+    /**
+     * Writes each hot product's shard total back to products.stock, one short transaction per product.
+     *
+     * @return number of products whose reported stock changed
+     */
+    public int reconcile() {
+        int changed = 0;
+        for (Long productId : productStockShardRepository.findShardedProductIds()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcileProduct(productId)))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private boolean reconcileProduct(Long productId) {
+        // Same lock order as setShardCount: product row, then shards in shard order
+        ProductStock state = productStockShardRepository.lockProductStock(productId).orElse(null);
+        if (state == null) {
+            return false;
+        }
+        List<Shard> shards = productStockShardRepository.lockShards(productId);
+        if (shards.isEmpty()) {
+            return false;
+        }
+
+        int total = foldedTotal(productId, state, shards);
+        if (total == state.stock() && Objects.equals(state.reconciled(), total)) {
+            return false;
+        }
+        productStockShardRepository.writeBackStock(productId, total, total, LocalDateTime.now());
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
+        return true;
+    }
+
+    /**
+     * Applies an edit of products.stock made since the last write-back (stock - stock_reconciled) to the locked
+     * shards: additions are spread evenly, removals taken from the fullest shards first, never below zero.
+     *
+     * @return the shard total after the edit
+     */
+    private int foldedTotal(Long productId, ProductStock state, List<Shard> shards) {
+        int[] stocks = shards.stream().mapToInt(Shard::stock).toArray();
+        int delta = state.reconciled() == null ? 0 : state.stock() - state.reconciled();
+
+        if (delta > 0) {
+            int[] added = split(delta, stocks.length);
+            for (int i = 0; i < stocks.length; i++) {
+                stocks[i] += added[i];
+            }
+        } else if (delta < 0) {
+            int toRemove = -delta;
+            while (toRemove > 0) {
+                int fullest = 0;
+                for (int i = 1; i < stocks.length; i++) {
+                    if (stocks[i] > stocks[fullest]) {
+                        fullest = i;
+                    }
+                }
+                if (stocks[fullest] == 0) {
+                    break;
+                }
+                int taken = Math.min(toRemove, Math.max(1, stocks[fullest] / 2));
+                stocks[fullest] -= taken;
+                toRemove -= taken;
+            }
+        }
+
+        int total = 0;
+        for (int i = 0; i < stocks.length; i++) {
+            if (stocks[i] != shards.get(i).stock()) {
+                productStockShardRepository.setShardStock(productId, shards.get(i).shardNo(), stocks[i]);
+            }
+            total += stocks[i];
+        }
+        return total;
+    }
+
+    static int[] split(int total, int parts) {
+        int[] stocks = new int[parts];
+        for (int i = 0; i < parts; i++) {
+            stocks[i] = total / parts + (i < total % parts ? 1 : 0);
+        }
+        return stocks;
+    }
+}
@@ -0,0 +1,149 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.catalog.BoundedTtlCache;
+import com.quickcart.backend.exception.IdempotentReplayException;
+import com.quickcart.backend.exception.InvalidIdempotencyKeyException;
+import com.quickcart.backend.repository.IdempotencyKeyRepository;
+import com.quickcart.backend.repository.IdempotencyKeyRepository.StoredResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for non-idempotent POSTs (order placement, gateway order creation).
+ *
+ * The key row is claimed by a single committed insert before the action runs and completed with its response
+ * afterwards; the action runs in its own transactions, so no lock on the key row is held while it works (the
+ * payment action calls the gateway). A retry that arrives while the first attempt is still running is rejected
+ * instead of waiting; a failed attempt releases its key so the client can retry. If the process dies between
+ * the action's commit and the completion, the key stays claimed until it expires: retries are then rejected,
+ * never run twice.
+ * Completed responses are replayed from a small in-memory cache in front of the table, through
+ * IdempotentReplayException so the controllers keep their typed responses; a key reused with a different
+ * request body is rejected.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record CacheKey(Long userId, String scope, String key) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JsonMapper jsonMapper;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+    private final BoundedTtlCache<CacheKey, StoredResponse> cache;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            JsonMapper jsonMapper,
+            @Value("${app.idempotency.ttlHours:24}") long ttlHours,
+            @Value("${app.idempotency.purgeBatchSize:5000}") int purgeBatchSize,
+            @Value("${app.idempotency.cache.maxEntries:10000}") int cacheMaxEntries,
+            @Value("${app.idempotency.cache.ttlMs:300000}") long cacheTtlMs
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jsonMapper = jsonMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.purgeBatchSize = purgeBatchSize;
+        this.cache = new BoundedTtlCache<>(cacheMaxEntries, Math.min(cacheTtlMs, ttl.toMillis()));
+    }
+
+    /**
+     * Runs {@code action} once per (user, scope, key); later requests with the same key get its response replayed
+     * by throwing IdempotentReplayException. Without a key the action simply runs.
+     *
+     * @param request the request body; a key may only be reused with an identical body
+     */
+    public <T> ResponseEntity<T> execute(String scope, Long userId, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        CacheKey cacheKey = new CacheKey(userId, scope, key);
+
+        StoredResponse stored = cache.get(cacheKey,
+                () -> idempotencyKeyRepository.findCompleted(userId, scope, key, LocalDateTime.now()).orElse(null));
+        if (stored != null) {
+            throw replay(stored, requestHash);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!idempotencyKeyRepository.tryClaim(userId, scope, key, requestHash, now, now.plus(ttl))) {
+            // A concurrent request with this key completed after the lookup above, or is still running
+            StoredResponse completed = idempotencyKeyRepository.findCompleted(userId, scope, key, now)
+                    .orElseThrow(() -> new InvalidIdempotencyKeyException(
+                            HEADER + " is in use by a request that has not completed"));
+            throw replay(completed, requestHash);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            idempotencyKeyRepository.release(userId, scope, key);
+            throw ex;
+        }
+        idempotencyKeyRepository.complete(userId, scope, key,
+                response.getStatusCode().value(), jsonMapper.writeValueAsString(response.getBody()));
+        return response;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.idempotency.purgeIntervalMs:3600000}",
+            initialDelayString = "${app.idempotency.purgeIntervalMs:3600000}"
+    )
+    public void purgeExpired() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int purged = 0;
+            int deleted;
+            do {
+                deleted = idempotencyKeyRepository.purgeExpired(now, purgeBatchSize);
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Idempotency key purge failed", ex);
+        }
+    }
+
+    private static IdempotentReplayException replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new InvalidIdempotencyKeyException(HEADER + " was already used for a different request");
+        }
+        return new IdempotentReplayException(stored.status(), stored.body());
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    jsonMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
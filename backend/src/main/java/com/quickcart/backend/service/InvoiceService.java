@@ -1,6 +1,7 @@
 package com.quickcart.backend.service;
 
 import com.quickcart.backend.dto.InvoiceResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.entity.Invoice;
 import com.quickcart.backend.entity.User;
 import com.quickcart.backend.exception.AccessDeniedException;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -42,6 +44,14 @@ public class InvoiceService {
         );
     }
 
+    /**
+     * Slice mode of {@link #getInvoicesForRetailer}: no total, no count query.
+     */
+    public SliceResponse<InvoiceResponse> getInvoiceSliceForRetailer(User retailer, Pageable pageable) {
+        Slice<Invoice> invoices = invoiceRepository.findSliceByRetailer(retailer, pageable);
+        return SliceResponse.of(invoices.map(this::mapToResponse));
+    }
+
     /**
      * Get the invoice for a specific order.
      * Access: only the retailer who placed the order OR the manufacturer who received the order.
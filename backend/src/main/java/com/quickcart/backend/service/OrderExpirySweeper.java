@@ -0,0 +1,115 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.catalog.ProductSalesRecordedEvent;
+import com.quickcart.backend.repository.OrderExpiryRepository;
+import com.quickcart.backend.repository.OrderExpiryRepository.OrderedUnits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cancels CREATED orders that were never paid within ttlMinutes and gives their reserved stock back.
+ *
+ * Each chunk is one short transaction: claim the oldest expired orders with FOR UPDATE SKIP LOCKED, release
+ * their units through StockReservationService (products locked in ascending id order, as at checkout), then
+ * mark them cancelled and audit them in bulk. Every other status change (cancelOrder, the manufacturer's
+ * accept/reject/status/shipment/delivery updates and the payment endpoints) locks the order row first and
+ * re-reads the status, so an order being changed is skipped rather than raced, a change that waited for a sweep
+ * sees CANCELLED and is refused, and several nodes can sweep at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExpirySweeper {
+
+    static final String EXPIRED_NOTE = "Order expired unpaid";
+
+    private final OrderExpiryRepository orderExpiryRepository;
+    private final StockReservationService stockReservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.orders.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.orders.expiry.ttlMinutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.orders.expiry.batchSize:200}")
+    private int batchSize;
+
+    @Scheduled(
+            fixedDelayString = "${app.orders.expiry.intervalMs:60000}",
+            initialDelayString = "${app.orders.expiry.intervalMs:60000}"
+    )
+    public void scheduledSweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int expired = sweep();
+            if (expired > 0) {
+                log.info("Expired {} unpaid orders", expired);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Order expiry sweep failed", ex);
+        }
+    }
+
+    /**
+     * Expires every order past the TTL, one chunk of batchSize orders per transaction.
+     *
+     * @return number of orders cancelled
+     */
+    public int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        int total = 0;
+        while (true) {
+            Integer expired = transactionTemplate.execute(status -> expireChunk(cutoff));
+            int count = expired == null ? 0 : expired;
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int expireChunk(LocalDateTime cutoff) {
+        List<Long> orderIds = orderExpiryRepository.claimExpired(cutoff, batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderedUnits> ordered = orderExpiryRepository.findOrderedUnits(orderIds);
+        Map<Long, Integer> unitsByProduct = new HashMap<>();
+        Map<LocalDate, Map<Long, Integer>> returnedByDay = new HashMap<>();
+        for (OrderedUnits row : ordered) {
+            unitsByProduct.merge(row.productId(), row.units(), Integer::sum);
+            returnedByDay.computeIfAbsent(row.orderDay(), day -> new HashMap<>())
+                    .merge(row.productId(), -row.units(), Integer::sum);
+        }
+
+        if (!unitsByProduct.isEmpty()) {
+            stockReservationService.release(unitsByProduct);
+        }
+        orderExpiryRepository.markCancelled(orderIds, EXPIRED_NOTE, LocalDateTime.now());
+
+        if (!unitsByProduct.isEmpty()) {
+            eventPublisher.publishEvent(ProductCatalogChangedEvent.of(unitsByProduct.keySet()));
+            // Take the units back out of the day they were counted in, as cancelOrder does
+            returnedByDay.forEach((day, units) -> eventPublisher.publishEvent(new ProductSalesRecordedEvent(day, units)));
+        }
+        return orderIds.size();
+    }
+}
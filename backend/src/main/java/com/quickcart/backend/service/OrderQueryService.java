@@ -3,6 +3,7 @@ package com.quickcart.backend.service;
 import com.quickcart.backend.dto.OrderItemResponse;
 import com.quickcart.backend.dto.OrderPaymentResponse;
 import com.quickcart.backend.dto.OrderResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.entity.Order;
 import com.quickcart.backend.entity.OrderItem;
 import com.quickcart.backend.entity.Payment;
@@ -15,6 +16,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -49,9 +52,30 @@ public class OrderQueryService {
             idsPage = orderRepository.findIdsByRetailer(user, pageable);
         }
 
-        List<Long> ids = idsPage.getContent();
+        return new PageImpl<>(loadInIdOrder(idsPage.getContent()), pageable, idsPage.getTotalElements());
+    }
+
+    /**
+     * Slice mode of {@link #getOrders}: the id query fetches one extra row instead of running a count.
+     */
+    public SliceResponse<OrderResponse> getOrderSlice(User user, Pageable pageable) {
+        Slice<Long> idsSlice;
+
+        if (user.hasRole("MANUFACTURER")) {
+            idsSlice = orderRepository.findIdSliceByManufacturer(user, pageable);
+        } else {
+            idsSlice = orderRepository.findIdSliceByRetailer(user, pageable);
+        }
+
+        return SliceResponse.of(new SliceImpl<>(loadInIdOrder(idsSlice.getContent()), pageable, idsSlice.hasNext()));
+    }
+
+    /**
+     * Fetch relations for a page of ids in one query and map them, keeping the ids' order.
+     */
+    private List<OrderResponse> loadInIdOrder(List<Long> ids) {
         if (ids.isEmpty()) {
-            return new PageImpl<>(List.<OrderResponse>of(), pageable, idsPage.getTotalElements());
+            return List.of();
         }
 
         List<Order> orders = orderRepository.findAllByIdWithRelations(ids);
@@ -61,14 +85,12 @@ public class OrderQueryService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toMap(Order::getId, Function.identity()));
 
-        List<OrderResponse> content = ids.stream()
+        return ids.stream()
                 .map(byId::get)
                 .filter(Objects::nonNull)
                 // Keep list endpoint unchanged: do not fetch payment per order here.
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
-
-        return new PageImpl<>(content, pageable, idsPage.getTotalElements());
     }
 
     /**
@@ -1,20 +1,27 @@
 package com.quickcart.backend.service;
 
+import com.quickcart.backend.catalog.OrderPlacedEvent;
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.catalog.ProductSalesRecordedEvent;
 import com.quickcart.backend.dto.OrderItemRequest;
 import com.quickcart.backend.dto.PlaceOrderRequest;
 import com.quickcart.backend.entity.*;
 import com.quickcart.backend.exception.AccessDeniedException;
-import com.quickcart.backend.exception.InsufficientStockException;
 import com.quickcart.backend.exception.ResourceNotFoundException;
 import com.quickcart.backend.repository.OrderRepository;
 import com.quickcart.backend.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +32,8 @@ public class OrderService {
     private final OrderAuditService orderAuditService;
     private final RefundService refundService;
     private final AddressService addressService;
+    private final StockReservationService stockReservationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retailer places an order.
@@ -42,24 +51,23 @@ public class OrderService {
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
+        // Take the stock first: rows locked in ascending id order and decremented in one statement, failing fast when short
+        Map<Long, Integer> quantities = request.getItems().stream()
+                .collect(Collectors.toMap(OrderItemRequest::getProductId, OrderItemRequest::getQuantity, Integer::sum));
+        Map<Long, Integer> remainingStock = stockReservationService.reserve(quantities);
+
+        // Whole basket with manufacturers in one query, then validated in memory
+        Map<Long, Product> products = productRepository.findByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         // Assume all products belong to the same manufacturer (B2B rule)
         User manufacturer = null;
 
         for (OrderItemRequest itemRequest : request.getItems()) {
 
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", itemRequest.getProductId()));
-
-            if (!product.isActive()) {
-                throw new ResourceNotFoundException("Product is inactive or unavailable");
-            }
-
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException(
-                        product.getName(),
-                        itemRequest.getQuantity(),
-                        product.getStockQuantity()
-                );
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "id", itemRequest.getProductId());
             }
 
             // Set manufacturer once
@@ -69,10 +77,12 @@ public class OrderService {
                 throw new AccessDeniedException("All products must belong to the same manufacturer");
             }
 
-            // Reduce stock
-            product.setStockQuantity(
-                    product.getStockQuantity() - itemRequest.getQuantity()
-            );
+            // Keep an instance loaded before the reservation in step with the row (no-op otherwise);
+            // hot-mode products have no level here, their products.stock is written back from the shards
+            Integer left = remainingStock.get(product.getId());
+            if (left != null) {
+                product.setStockQuantity(left);
+            }
 
             BigDecimal itemTotal =
                     product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
@@ -114,6 +124,13 @@ public class OrderService {
 
         orderAuditService.recordEvent(saved, OrderEventType.ORDER_PLACED, null, OrderStatus.CREATED, retailer, "Order placed");
 
+        // Stock moved: in-stock filters/counts must be refreshed once this commits
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(
+                orderItems.stream().map(item -> item.getProduct().getId()).toList()));
+        eventPublisher.publishEvent(new ProductSalesRecordedEvent(LocalDate.now(), unitsByProduct(orderItems, 1)));
+        eventPublisher.publishEvent(OrderPlacedEvent.of(saved.getId(),
+                orderItems.stream().map(item -> item.getProduct().getId()).toList()));
+
         return saved;
     }
 
@@ -127,8 +144,7 @@ public class OrderService {
             throw new AccessDeniedException("Only manufacturers can accept orders");
         }
 
-        Order order = orderRepository.findByIdAndManufacturer(orderId, manufacturer)
-                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+        Order order = lockManufacturerOrder(orderId, manufacturer);
 
         if (order.getStatus() != OrderStatus.CONFIRMED) {
             throw new AccessDeniedException("Only CONFIRMED orders can be accepted");
@@ -151,8 +167,7 @@ public class OrderService {
             throw new AccessDeniedException("Only manufacturers can reject orders");
         }
 
-        Order order = orderRepository.findByIdAndManufacturer(orderId, manufacturer)
-                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+        Order order = lockManufacturerOrder(orderId, manufacturer);
 
         if (order.getStatus() != OrderStatus.CONFIRMED) {
             throw new AccessDeniedException("Only CONFIRMED orders can be rejected");
@@ -180,8 +195,7 @@ public class OrderService {
             throw new AccessDeniedException("Only manufacturers can update order status");
         }
 
-        Order order = orderRepository.findByIdAndManufacturer(orderId, manufacturer)
-                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+        Order order = lockManufacturerOrder(orderId, manufacturer);
 
         // Basic validation (can be expanded later)
         if (order.getStatus() == OrderStatus.CANCELLED ||
@@ -224,8 +238,7 @@ public class OrderService {
             throw new AccessDeniedException("Only manufacturers can create shipments");
         }
 
-        Order order = orderRepository.findByIdAndManufacturer(orderId, manufacturer)
-                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+        Order order = lockManufacturerOrder(orderId, manufacturer);
 
         if (order.getStatus() != OrderStatus.ACCEPTED) {
             throw new AccessDeniedException("Only ACCEPTED orders can be shipped");
@@ -258,8 +271,7 @@ public class OrderService {
             throw new AccessDeniedException("Only manufacturers can mark orders as delivered");
         }
 
-        Order order = orderRepository.findByIdAndManufacturer(orderId, manufacturer)
-                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+        Order order = lockManufacturerOrder(orderId, manufacturer);
 
         if (order.getStatus() != OrderStatus.SHIPPED) {
             throw new AccessDeniedException("Only SHIPPED orders can be marked as DELIVERED");
@@ -273,6 +285,19 @@ public class OrderService {
         orderAuditService.recordEvent(order, OrderEventType.STATUS_CHANGED, from, OrderStatus.DELIVERED, manufacturer, "Order marked as delivered");
     }
 
+    /**
+     * Checks ownership, then locks the order row before loading it, as cancelOrder does: the status checked by the
+     * caller is then current, and the expiry sweeper (which skips locked rows) cannot cancel the order underneath.
+     */
+    private Order lockManufacturerOrder(Long orderId, User manufacturer) {
+        if (!orderRepository.existsByIdAndManufacturer(orderId, manufacturer)) {
+            throw new AccessDeniedException("Order", orderId);
+        }
+        orderRepository.findLockedById(orderId);
+        return orderRepository.findByIdAndManufacturer(orderId, manufacturer)
+                .orElseThrow(() -> new AccessDeniedException("Order", orderId));
+    }
+
     /**
      * Cancel an order (restocks items).
      *
@@ -285,6 +310,8 @@ public class OrderService {
      */
     @Transactional
     public void cancelOrder(Long orderId, String reason, User actor) {
+        // Row lock first: waits for (or blocks) the expiry sweeper, and the status below is then current
+        orderRepository.findLockedById(orderId);
         Order order = orderRepository.findByIdWithRelations(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
@@ -319,14 +346,26 @@ public class OrderService {
             throw new AccessDeniedException("Order cannot be cancelled at current status: " + current);
         }
 
-        // Restock
+        // Restock with atomic increments; the loaded products are then set to the returned levels, which this
+        // transaction holds row locks on, so flushing them cannot overwrite concurrent reservations
         if (order.getItems() != null) {
+            Map<Long, Integer> restocked = stockReservationService.release(unitsByProduct(order.getItems(), 1));
             for (OrderItem item : order.getItems()) {
                 Product product = item.getProduct();
                 if (product == null) continue;
-                Integer q = item.getQuantity() == null ? 0 : item.getQuantity();
-                product.setStockQuantity(product.getStockQuantity() + q);
+                Integer level = restocked.get(product.getId());
+                if (level != null) {
+                    product.setStockQuantity(level);
+                }
             }
+            eventPublisher.publishEvent(ProductCatalogChangedEvent.of(order.getItems().stream()
+                    .filter(item -> item.getProduct() != null)
+                    .map(item -> item.getProduct().getId())
+                    .toList()));
+
+            // Take the units back out of the day they were counted in
+            LocalDate salesDay = order.getCreatedAt() == null ? LocalDate.now() : order.getCreatedAt().toLocalDate();
+            eventPublisher.publishEvent(new ProductSalesRecordedEvent(salesDay, unitsByProduct(order.getItems(), -1)));
         }
 
         OrderStatus from = order.getStatus();
@@ -352,4 +391,12 @@ public class OrderService {
         }
     }
 
+    /**
+     * Ordered units per product, multiplied by {@code sign} (+1 for a sale, -1 for a cancellation).
+     */
+    private static Map<Long, Integer> unitsByProduct(List<OrderItem> items, int sign) {
+        return items.stream()
+                .filter(item -> item.getProduct() != null && item.getQuantity() != null)
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), item -> sign * item.getQuantity(), Integer::sum));
+    }
 }
@@ -19,6 +19,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +33,13 @@ public class PaymentService {
     private final OrderAuditService orderAuditService;
     private final PaymentGatewayRouter gatewayRouter;
     private final RazorpayProperties razorpayProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Outcome of the locked pre-check: the response for an existing payment, or the amount to charge.
+     */
+    private record PaymentStart(RazorpayCreateOrderResponse existing, BigDecimal amount) {
+    }
 
     /**
      * Legacy endpoint compatibility.
@@ -38,7 +48,6 @@ public class PaymentService {
      * Now it maps to the production flow: it only creates the Razorpay order + Payment INITIATED.
      * Frontend must call verify after checkout.
      */
-    @Transactional
     public void makePayment(PaymentRequest request, User retailer) {
         // Keep signature the same for existing callers; create the Razorpay order idempotently.
         createRazorpayOrder(request.getOrderId(), retailer);
@@ -47,19 +56,69 @@ public class PaymentService {
     /**
      * Step 1: Create a Razorpay order.
      * - Validates order ownership and status.
-     * - Creates Payment with INITIATED + gateway=RAZORPAY.
-     * - Calls Razorpay to create order and stores razorpayOrderId.
+     * - Calls Razorpay to create the order, outside any transaction.
+     * - Creates Payment with INITIATED + gateway=RAZORPAY and the razorpayOrderId.
+     *
+     * The order row is locked only for the checks and for the final write (each a short transaction), so a slow
+     * gateway never holds up cancelOrder or the expiry sweeper; the checks are repeated after the call.
      */
-    @Transactional
     public RazorpayCreateOrderResponse createRazorpayOrder(Long orderId, User retailer) {
 
         if (!retailer.hasRole("RETAILER")) {
             throw new RuntimeException("Only retailers can make payments");
         }
 
-        Order order = orderRepository.findByIdAndRetailer(orderId, retailer)
-                .orElseThrow(() -> new OrderAccessDeniedException(orderId));
+        PaymentStart start = transactionTemplate.execute(status -> {
+            Order order = lockOwnedOrder(orderId, retailer);
+            RazorpayCreateOrderResponse existing = existingPaymentResponse(order, retailer);
+            return new PaymentStart(existing, order.getTotalAmount());
+        });
+        if (start.existing() != null) {
+            return start.existing();
+        }
+
+        // Create the gateway order first (so we can persist razorpayOrderId with payment)
+        String receipt = razorpayProperties.getReceiptPrefix() + "-order-" + orderId;
+        GatewayOrder gatewayOrder = gatewayRouter.razorpay().createOrder(start.amount(), razorpayProperties.getCurrency(), receipt);
 
+        return transactionTemplate.execute(status -> {
+            Order order = lockOwnedOrder(orderId, retailer);
+
+            // Another request may have created the payment, or the order may have been cancelled, meanwhile
+            RazorpayCreateOrderResponse existing = existingPaymentResponse(order, retailer);
+            if (existing != null) {
+                return existing;
+            }
+
+            Payment payment = Payment.builder()
+                    .order(order)
+                    .retailer(retailer)
+                    .amount(order.getTotalAmount())
+                    .status(PaymentStatus.INITIATED)
+                    .gateway(PaymentGateway.RAZORPAY)
+                    .razorpayOrderId(gatewayOrder.getId())
+                    .build();
+            payment.setCreatedBy(retailer);
+            payment.setUpdatedBy(retailer);
+            paymentRepository.saveAndFlush(payment);
+
+            orderAuditService.recordEvent(order, OrderEventType.PAYMENT_CREATED, order.getStatus(), order.getStatus(), retailer,
+                    "Payment initiated (Razorpay order created)");
+
+            return RazorpayCreateOrderResponse.builder()
+                    .orderId(order.getId())
+                    .razorpayOrderId(gatewayOrder.getId())
+                    .amount(order.getTotalAmount())
+                    .currency(razorpayProperties.getCurrency())
+                    .build();
+        });
+    }
+
+    /**
+     * Response for an order that already has a payment, or null when a new one may be created.
+     * Throws when the order is no longer payable.
+     */
+    private RazorpayCreateOrderResponse existingPaymentResponse(Order order, User retailer) {
         // If already confirmed and invoice exists, treat as already paid flow.
         var existingPaymentOpt = paymentRepository.findByOrderId(order.getId());
         if (existingPaymentOpt.isPresent()) {
@@ -91,48 +150,20 @@ public class PaymentService {
         if (order.getStatus() != OrderStatus.CREATED) {
             throw new InvalidOrderStatusException(order.getId(), order.getStatus().toString());
         }
+        return null;
+    }
 
-        // Create the gateway order first (so we can persist razorpayOrderId with payment)
-        String receipt = razorpayProperties.getReceiptPrefix() + "-order-" + order.getId();
-        GatewayOrder gatewayOrder = gatewayRouter.razorpay().createOrder(order.getTotalAmount(), razorpayProperties.getCurrency(), receipt);
-
-        Payment payment = Payment.builder()
-                .order(order)
-                .retailer(retailer)
-                .amount(order.getTotalAmount())
-                .status(PaymentStatus.INITIATED)
-                .gateway(PaymentGateway.RAZORPAY)
-                .razorpayOrderId(gatewayOrder.getId())
-                .build();
-        payment.setCreatedBy(retailer);
-        payment.setUpdatedBy(retailer);
-
-        try {
-            paymentRepository.saveAndFlush(payment);
-        } catch (DataIntegrityViolationException ex) {
-            // Race condition: another request created the payment first.
-            var existing = paymentRepository.findByOrderId(order.getId());
-            if (existing.isPresent()) {
-                Payment p = existing.get();
-                return RazorpayCreateOrderResponse.builder()
-                        .orderId(order.getId())
-                        .razorpayOrderId(p.getRazorpayOrderId())
-                        .amount(p.getAmount())
-                        .currency(razorpayProperties.getCurrency())
-                        .build();
-            }
-            throw ex;
+    /**
+     * Checks ownership first, then locks the order row (so an unpaid-order expiry cannot cancel it underneath
+     * this payment) and loads it. Other retailers' orders are never locked.
+     */
+    private Order lockOwnedOrder(Long orderId, User retailer) {
+        if (!orderRepository.existsByIdAndRetailer(orderId, retailer)) {
+            throw new OrderAccessDeniedException(orderId);
         }
-
-        orderAuditService.recordEvent(order, OrderEventType.PAYMENT_CREATED, order.getStatus(), order.getStatus(), retailer,
-                "Payment initiated (Razorpay order created)");
-
-        return RazorpayCreateOrderResponse.builder()
-                .orderId(order.getId())
-                .razorpayOrderId(gatewayOrder.getId())
-                .amount(order.getTotalAmount())
-                .currency(razorpayProperties.getCurrency())
-                .build();
+        orderRepository.findLockedById(orderId);
+        return orderRepository.findByIdAndRetailer(orderId, retailer)
+                .orElseThrow(() -> new OrderAccessDeniedException(orderId));
     }
 
     /**
@@ -146,8 +177,7 @@ public class PaymentService {
             throw new RuntimeException("Only retailers can verify payments");
         }
 
-        Order order = orderRepository.findByIdAndRetailer(request.getOrderId(), retailer)
-                .orElseThrow(() -> new OrderAccessDeniedException(request.getOrderId()));
+        Order order = lockOwnedOrder(request.getOrderId(), retailer);
 
         Payment payment = paymentRepository.findByOrderId(order.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "orderId", order.getId()));
@@ -0,0 +1,404 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductImportResponse;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.ProductStatus;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.AccessDeniedException;
+import com.quickcart.backend.exception.InvalidImportFileException;
+import com.quickcart.backend.repository.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming product import for large catalogs (NDJSON or CSV).
+ *
+ * The body is parsed one row at a time and written in batches of {@code app.products.import.batchSize}, each in its
+ * own transaction: persisted, flushed as JDBC batches (sequence ids, see V9) and cleared from the persistence context,
+ * so memory stays flat whatever the file size. Invalid rows are reported and skipped. If a batch fails in the
+ * database, it is retried row by row so that only the offending rows are reported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.products.import.batchSize:500}")
+    private int batchSize;
+
+    @Value("${app.products.import.maxErrors:1000}")
+    private int maxErrors;
+
+    private record PendingRow(long line, CreateProductRequest request) {
+    }
+
+    /** One parsed line: either a request or the reason it could not be read. */
+    private record ParsedRow(long line, CreateProductRequest request, String error) {
+    }
+
+    private interface RowReader {
+        /** Next row, or null at end of input. */
+        ParsedRow next() throws IOException;
+    }
+
+    /** Running totals for one import. */
+    private final class Outcome {
+        int totalRows;
+        int createdCount;
+        int failedCount;
+        final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failedCount++;
+            if (errors.size() < maxErrors) {
+                errors.add(ProductImportResponse.RowError.builder().line(line).message(message).build());
+            }
+        }
+    }
+
+    public ProductImportResponse importProducts(InputStream body, String contentType, User manufacturer) {
+        if (!manufacturer.hasRole("MANUFACTURER")) {
+            throw new AccessDeniedException("Only manufacturers can create products");
+        }
+
+        Set<Long> categoryIds = categoryRepository.findAllIds();
+        Outcome outcome = new Outcome();
+        long started = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowReader rows = isCsv(contentType) ? csvReader(reader) : ndjsonReader(reader);
+
+            List<PendingRow> batch = new ArrayList<>(batchSize);
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                outcome.totalRows++;
+                String error = row.error() != null ? row.error() : validate(row.request(), categoryIds);
+                if (error != null) {
+                    outcome.fail(row.line(), error);
+                    continue;
+                }
+
+                batch.add(new PendingRow(row.line(), row.request()));
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, manufacturer, outcome);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, manufacturer, outcome);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import body", ex);
+        }
+
+        log.info("Product import for manufacturer {}: {} rows, {} created, {} failed in {} ms",
+                manufacturer.getId(), outcome.totalRows, outcome.createdCount, outcome.failedCount,
+                System.currentTimeMillis() - started);
+
+        return ProductImportResponse.builder()
+                .totalRows(outcome.totalRows)
+                .createdCount(outcome.createdCount)
+                .failedCount(outcome.failedCount)
+                .errors(outcome.errors)
+                .errorsTruncated(outcome.failedCount > outcome.errors.size())
+                .build();
+    }
+
+    private void writeBatch(List<PendingRow> batch, User manufacturer, Outcome outcome) {
+        try {
+            outcome.createdCount += insert(batch, manufacturer);
+        } catch (RuntimeException batchFailure) {
+            // One bad row rolls back its whole batch; replay the batch row by row to isolate it.
+            for (PendingRow row : batch) {
+                try {
+                    outcome.createdCount += insert(List.of(row), manufacturer);
+                } catch (RuntimeException rowFailure) {
+                    outcome.fail(row.line(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private int insert(List<PendingRow> rows, User manufacturer) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Product> products = new ArrayList<>(rows.size());
+            for (PendingRow row : rows) {
+                Product product = toProduct(row.request(), manufacturer);
+                entityManager.persist(product);
+                products.add(product);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            List<Long> created = products.stream().map(Product::getId).toList();
+            eventPublisher.publishEvent(ProductCatalogChangedEvent.of(created));
+            return created;
+        });
+        return ids == null ? 0 : ids.size();
+    }
+
+    private Product toProduct(CreateProductRequest p, User manufacturer) {
+        Category category = p.getCategoryId() == null ? null : entityManager.getReference(Category.class, p.getCategoryId());
+
+        return Product.builder()
+                .name(p.getName())
+                .description(p.getDescription())
+                .shortDescription(p.getShortDescription())
+                .brand(p.getBrand())
+                .sku(p.getSku())
+                .price(p.getPrice())
+                .mrp(p.getMrp())
+                .discountPrice(p.getDiscountPrice())
+                .thumbnailUrl(p.getThumbnailUrl())
+                // rating/review_count are derived from product_reviews; do not accept from request
+                .rating(null)
+                .reviewCount(0)
+                .isFeatured(p.getIsFeatured())
+                .isReturnable(p.getIsReturnable())
+                .warrantyMonths(p.getWarrantyMonths())
+                .category(category)
+                .stock(p.getStock())
+                .status(ProductStatus.ACTIVE)
+                .manufacturer(manufacturer)
+                .build();
+    }
+
+    private String validate(CreateProductRequest request, Set<Long> categoryIds) {
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getCategoryId() != null && !categoryIds.contains(request.getCategoryId())) {
+            return "Category not found with id: " + request.getCategoryId();
+        }
+        return null;
+    }
+
+    private static boolean isCsv(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV);
+    }
+
+    /**
+     * One JSON object per line, same fields as {@code POST /products}. Blank lines are skipped.
+     */
+    private RowReader ndjsonReader(BufferedReader reader) {
+        long[] lineNo = {0};
+        return () -> {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo[0]++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(lineNo[0], jsonMapper.readValue(line, CreateProductRequest.class), null);
+                } catch (JacksonException ex) {
+                    return new ParsedRow(lineNo[0], null, "Malformed JSON: " + ex.getOriginalMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming {@code POST /products} fields (any order, unknown columns rejected).
+     * Quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private RowReader csvReader(BufferedReader reader) throws IOException {
+        long[] lineNo = {0};
+        List<String> header = readCsvRecord(reader, lineNo);
+        if (header == null) {
+            return () -> null;
+        }
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column.trim())) {
+                throw new InvalidImportFileException("Unknown CSV column: '" + column + "'. Supported: "
+                        + String.join(", ", CSV_COLUMNS.stream().sorted().toList()));
+            }
+        }
+
+        return () -> {
+            List<String> values;
+            long line;
+            do {
+                line = lineNo[0] + 1;
+                values = readCsvRecord(reader, lineNo);
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.getFirst().isBlank());
+
+            if (values.size() != header.size()) {
+                return new ParsedRow(line, null,
+                        "Expected " + header.size() + " columns but found " + values.size());
+            }
+
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                record.put(header.get(i).trim(), values.get(i));
+            }
+            try {
+                return new ParsedRow(line, fromCsv(record), null);
+            } catch (IllegalArgumentException ex) {
+                return new ParsedRow(line, null, ex.getMessage());
+            }
+        };
+    }
+
+    private static final Set<String> CSV_COLUMNS = Set.of(
+            "name", "description", "shortDescription", "brand", "sku", "price", "mrp", "discountPrice",
+            "thumbnailUrl", "isFeatured", "isReturnable", "warrantyMonths", "categoryId", "stock");
+
+    private static CreateProductRequest fromCsv(Map<String, String> record) {
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName(text(record.get("name")));
+        req.setDescription(text(record.get("description")));
+        req.setShortDescription(text(record.get("shortDescription")));
+        req.setBrand(text(record.get("brand")));
+        req.setSku(text(record.get("sku")));
+        req.setPrice(decimal("price", record.get("price")));
+        req.setMrp(decimal("mrp", record.get("mrp")));
+        req.setDiscountPrice(decimal("discountPrice", record.get("discountPrice")));
+        req.setThumbnailUrl(text(record.get("thumbnailUrl")));
+        req.setIsFeatured(bool("isFeatured", record.get("isFeatured")));
+        req.setIsReturnable(bool("isReturnable", record.get("isReturnable")));
+        req.setWarrantyMonths(integer("warrantyMonths", record.get("warrantyMonths")));
+        Integer categoryId = integer("categoryId", record.get("categoryId"));
+        req.setCategoryId(categoryId == null ? null : categoryId.longValue());
+        req.setStock(integer("stock", record.get("stock")));
+        return req;
+    }
+
+    private static String text(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String column, String value) {
+        String v = text(value);
+        try {
+            return v == null ? null : new BigDecimal(v.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + ": not a number: '" + v + "'");
+        }
+    }
+
+    private static Integer integer(String column, String value) {
+        String v = text(value);
+        try {
+            return v == null ? null : Integer.valueOf(v.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + ": not an integer: '" + v + "'");
+        }
+    }
+
+    private static Boolean bool(String column, String value) {
+        String v = text(value);
+        if (v == null) {
+            return null;
+        }
+        return switch (v.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException(column + ": not a boolean: '" + v + "'");
+        };
+    }
+
+    /**
+     * Reads one CSV record, which may span several physical lines when a quoted field contains line breaks.
+     * Returns null at end of input.
+     */
+    private static List<String> readCsvRecord(BufferedReader reader, long[] lineNo) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNo[0]++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (!quoted) {
+                break;
+            }
+            // Quoted field continues on the next physical line
+            line = reader.readLine();
+            if (line == null) {
+                break;
+            }
+            lineNo[0]++;
+            field.append('\n');
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,99 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.repository.ProductRatingHistogramRepository;
+import com.quickcart.backend.repository.ProductRatingReconcileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Safety net for the delta-maintained review aggregates (products.rating_sum / review_count / rating):
+ * walks products in id windows, compares them with product_reviews and recomputes the ones that drifted
+ * (manual SQL, a restored backup, a write that bypassed ProductReviewService).
+ *
+ * The star histograms (backfilled by V16) get the same treatment in the same windows; they can also be rebuilt
+ * wholesale from the admin API.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRatingReconciler {
+
+    private final ProductRatingReconcileRepository productRatingReconcileRepository;
+    private final ProductRatingHistogramRepository productRatingHistogramRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.reviews.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reviews.reconcile.batchSize:5000}")
+    private int batchSize;
+
+    @Scheduled(
+            fixedDelayString = "${app.reviews.reconcile.intervalMs:21600000}",
+            initialDelayString = "${app.reviews.reconcile.initialDelayMs:600000}"
+    )
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.error("Product rating reconciliation failed", ex);
+        }
+    }
+
+    /**
+     * @return number of products whose aggregates or histogram were repaired
+     */
+    public int reconcile() {
+        long started = System.currentTimeMillis();
+        long maxId = productRatingReconcileRepository.findMaxProductId();
+
+        int repaired = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            long upTo = Math.min(after + batchSize, maxId);
+            List<Long> drifted = productRatingReconcileRepository.findDriftedProductIds(after, upTo);
+            if (!drifted.isEmpty()) {
+                repaired += productRatingReconcileRepository.resetFromReviews(drifted);
+                eventPublisher.publishEvent(ProductCatalogChangedEvent.of(drifted));
+                log.warn("Repaired rating aggregates of {} products: {}", drifted.size(), drifted);
+            }
+
+            List<Long> driftedHistograms = productRatingHistogramRepository.findDriftedProductIds(after, upTo);
+            if (!driftedHistograms.isEmpty()) {
+                productRatingHistogramRepository.resetFromReviews(driftedHistograms);
+                repaired += driftedHistograms.size();
+                eventPublisher.publishEvent(ProductCatalogChangedEvent.of(driftedHistograms));
+                log.warn("Repaired rating histograms of {} products: {}", driftedHistograms.size(), driftedHistograms);
+            }
+        }
+
+        log.info("Product rating reconciliation checked ids up to {} in {} ms, repaired {}",
+                maxId, System.currentTimeMillis() - started, repaired);
+        return repaired;
+    }
+
+    /**
+     * @return number of product histograms written
+     */
+    public int rebuildHistograms() {
+        long started = System.currentTimeMillis();
+        long maxId = productRatingReconcileRepository.findMaxProductId();
+
+        int written = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            written += productRatingHistogramRepository.rebuildRange(after, Math.min(after + batchSize, maxId));
+        }
+
+        log.info("Rating histograms rebuilt for {} products in {} ms", written, System.currentTimeMillis() - started);
+        return written;
+    }
+}
@@ -1,23 +1,29 @@
 package com.quickcart.backend.service;
 
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.dto.CursorPageResponse;
 import com.quickcart.backend.dto.ProductReviewResponse;
 import com.quickcart.backend.dto.UpsertProductReviewRequest;
 import com.quickcart.backend.entity.Product;
 import com.quickcart.backend.entity.ProductReview;
 import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.InvalidCursorException;
 import com.quickcart.backend.exception.ResourceNotFoundException;
+import com.quickcart.backend.repository.ProductRatingHistogramRepository;
+import com.quickcart.backend.repository.ProductRatingReconcileRepository;
 import com.quickcart.backend.repository.ProductRepository;
 import com.quickcart.backend.repository.ProductReviewRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import com.quickcart.backend.repository.ProductReviewSeekRepository;
+import com.quickcart.backend.repository.ReviewKeyset;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,9 +31,10 @@ public class ProductReviewService {
 
     private final ProductReviewRepository productReviewRepository;
     private final ProductRepository productRepository;
-
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final ProductRatingReconcileRepository productRatingReconcileRepository;
+    private final ProductRatingHistogramRepository productRatingHistogramRepository;
+    private final ProductReviewSeekRepository productReviewSeekRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Upserts (insert/update) the authenticated user's review for a product.
@@ -36,7 +43,7 @@ public class ProductReviewService {
      * - userId comes from JWT
      * - one review per user per product
      * - rating 1..5 (validated via DTO)
-     * - product.rating and product.review_count are recalculated automatically
+     * - product.rating, product.review_count and the star histogram are adjusted by the rating delta (no re-aggregation)
      */
     @Transactional
     public ProductReviewResponse upsertReview(Long productId, User currentUser, UpsertProductReviewRequest request) {
@@ -44,56 +51,48 @@ public class ProductReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
 
         ProductReview review = productReviewRepository
-                .findByUserIdAndProductId(currentUser.getId(), productId)
+                .findLockedByUserIdAndProductId(currentUser.getId(), productId)
                 .orElseGet(() -> ProductReview.builder()
                         .product(product)
                         .user(currentUser)
                         .build());
 
+        int previousRating = review.getId() == null ? 0 : review.getRating();
+
         review.setRating(request.getRating());
         review.setComment(request.getComment());
 
         ProductReview saved = productReviewRepository.save(review);
 
-        // Ensure DB constraints/triggers (if present) see the row before recalculating.
-        productReviewRepository.flush();
-
-        // Application-level recalculation (works even without trigger).
-        recalculateProductRating(productId);
+        if (previousRating != saved.getRating()) {
+            applyReviewChange(productId, previousRating, saved.getRating());
+        }
 
         return mapToResponse(saved);
     }
 
     /**
-     * Recalculate product.review_count and product.rating based on product_reviews.
-     *
-     * Rating = AVG(rating)
-     * review_count = COUNT(*)
+     * Recomputes product.rating_sum, review_count and rating from product_reviews.
+     * Review writes never need this; it repairs drift (see ProductRatingReconciler).
      */
     @Transactional
     public void recalculateProductRating(Long productId) {
-        Object[] row = (Object[]) entityManager.createQuery(
-                        "select count(r), coalesce(sum(r.rating), 0) from ProductReview r where r.product.id = :productId")
-                .setParameter("productId", productId)
-                .getSingleResult();
-
-        long count = (Long) row[0];
-        long sum = (Long) row[1];
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-
-        product.setReviewCount(Math.toIntExact(count));
+        productReviewRepository.flush();
+        productRatingReconcileRepository.resetFromReviews(List.of(productId));
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
+    }
 
-        if (count == 0) {
-            product.setRating(null);
-        } else {
-            BigDecimal avg = BigDecimal.valueOf(sum)
-                    .divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
-            product.setRating(avg);
-        }
+    /**
+     * Moves one review from {@code removedRating} to {@code addedRating} (0 = none) in the star histogram and
+     * the product's aggregates. The product UPDATE flushes the review write first and clears the persistence
+     * context, so a managed Product is re-read with the new values.
+     */
+    private void applyReviewChange(Long productId, int removedRating, int addedRating) {
+        int countDelta = (addedRating > 0 ? 1 : 0) - (removedRating > 0 ? 1 : 0);
 
-        productRepository.save(product);
+        productRatingHistogramRepository.applyDelta(productId, removedRating, addedRating);
+        productRepository.applyRatingDelta(productId, addedRating - removedRating, countDelta, LocalDateTime.now());
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
     }
 
     @Transactional(readOnly = true)
@@ -106,6 +105,37 @@ public class ProductReviewService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Cursor (keyset) page of a product's reviews. One statement checks the product and seeks into the
+     * (product_id, ...) index after the cursor, so deep pages cost the same as the first and no count is run.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductReviewResponse> getReviewCursorPage(Long productId, String cursor, Pageable pageable) {
+        ReviewKeyset.SortKey requested = ReviewKeyset.sortKeyOf(pageable.getSort());
+        ReviewKeyset keyset;
+        if (cursor == null || cursor.isBlank()) {
+            keyset = ReviewKeyset.first(requested);
+        } else {
+            keyset = ReviewKeyset.decode(cursor);
+            if (pageable.getSort().isSorted() && requested != keyset.sortKey()) {
+                throw new InvalidCursorException("Cursor was issued for a different sort; restart from the first page");
+            }
+        }
+        int size = pageable.getPageSize();
+
+        List<ProductReviewResponse> rows = productReviewSeekRepository.findSeekPage(productId, keyset, size + 1)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        boolean hasNext = rows.size() > size;
+        List<ProductReviewResponse> page = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<ProductReviewResponse>builder()
+                .content(page)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? keyset.after(page.getLast()).encode() : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public ProductReviewResponse getMyReview(Long productId, User currentUser) {
         // Validate product exists (gives better 404 semantics)
@@ -126,13 +156,11 @@ public class ProductReviewService {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
-        long deleted = productReviewRepository.deleteByUserIdAndProductId(currentUser.getId(), productId);
-        if (deleted == 0) {
-            throw new ResourceNotFoundException("ProductReview", "productId", productId);
-        }
+        ProductReview review = productReviewRepository.findLockedByUserIdAndProductId(currentUser.getId(), productId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductReview", "productId", productId));
 
-        productReviewRepository.flush();
-        recalculateProductRating(productId);
+        productReviewRepository.delete(review);
+        applyReviewChange(productId, review.getRating(), 0);
     }
 
     private ProductReviewResponse mapToResponse(ProductReview review) {
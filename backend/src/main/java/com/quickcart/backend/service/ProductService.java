@@ -1,42 +1,110 @@
 package com.quickcart.backend.service;
 
+import com.quickcart.backend.catalog.CatalogIndex;
+import com.quickcart.backend.catalog.CatalogPage;
+import com.quickcart.backend.catalog.CatalogQuery;
+import com.quickcart.backend.catalog.ProductDetailCache;
+import com.quickcart.backend.catalog.ProductFacetCache;
+import com.quickcart.backend.catalog.ProductFacetCacheKey;
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.catalog.RelatedProductsIndex;
+import com.quickcart.backend.catalog.SuggestionIndex;
 import com.quickcart.backend.dto.BulkCreateProductsRequest;
 import com.quickcart.backend.dto.BulkCreateProductsResponse;
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuRequest;
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuResponse;
 import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.CursorPageResponse;
+import com.quickcart.backend.dto.ProductChangesResponse;
 import com.quickcart.backend.dto.ProductDetailsResponse;
 import com.quickcart.backend.dto.ProductFacetsResponse;
 import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.dto.ProductSuggestionsResponse;
+import com.quickcart.backend.dto.SliceResponse;
 import com.quickcart.backend.dto.UpdateProductRequest;
 import com.quickcart.backend.entity.Category;
 import com.quickcart.backend.entity.Product;
 import com.quickcart.backend.entity.ProductStatus;
 import com.quickcart.backend.entity.User;
 import com.quickcart.backend.exception.AccessDeniedException;
+import com.quickcart.backend.exception.InvalidCursorException;
 import com.quickcart.backend.exception.ResourceNotFoundException;
 import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductCardRepository;
+import com.quickcart.backend.repository.ProductCardRow;
+import com.quickcart.backend.repository.ProductChangeCursor;
 import com.quickcart.backend.repository.ProductFacetRepository;
+import com.quickcart.backend.repository.ProductKeyset;
+import com.quickcart.backend.repository.ProductKeysetRepository;
+import com.quickcart.backend.repository.ProductRatingHistogramRepository;
 import com.quickcart.backend.repository.ProductRepository;
-import com.quickcart.backend.repository.ProductReviewRepository;
+import com.quickcart.backend.repository.ProductSkuUpdateRepository;
+import com.quickcart.backend.repository.RatingHistogram;
 import com.quickcart.backend.repository.spec.ProductSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final String POPULARITY_SORT = "popularity";
+    private static final String CARD_VIEW = "card";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductFacetRepository productFacetRepository;
-    private final ProductReviewRepository productReviewRepository;
+    private final ProductRatingHistogramRepository productRatingHistogramRepository;
+    private final ProductKeysetRepository productKeysetRepository;
+    private final ProductCardRepository productCardRepository;
+    private final ProductSkuUpdateRepository productSkuUpdateRepository;
+    private final CatalogIndex catalogIndex;
+    private final ProductFacetCache productFacetCache;
+    private final ProductDetailCache productDetailCache;
+    private final SuggestionIndex suggestionIndex;
+    private final RelatedProductsIndex relatedProductsIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.products.bulkUpdate.chunkSize:1000}")
+    private int skuUpdateChunkSize;
+
+    @Value("${app.catalog.related.maxLimit:20}")
+    private int relatedMaxLimit;
+
+    @Value("${app.products.changes.maxLimit:1000}")
+    private int changeFeedMaxLimit;
+
+    @Value("${app.products.changes.safetyLagMs:5000}")
+    private long changeFeedSafetyLagMs;
 
     public void createProduct(CreateProductRequest request, User manufacturer) {
         Category category = resolveCategory(request.getCategoryId());
@@ -63,7 +131,8 @@ public class ProductService {
                 .reviewCount(0)
                 .build();
 
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(saved.getId()));
     }
 
     public Page<ProductListResponse> getProductListForUser(User user, Pageable pageable) {
@@ -97,8 +166,324 @@ public class ProductService {
             Boolean hasDiscountPrice,
             BigDecimal minDiscount
     ) {
-        Specification<Product> spec = Specification
+        return getProductListForUser(user, pageable, category, brand, minPrice, maxPrice, rating, inStock,
+                featured, returnable, hasDiscountPrice, minDiscount, null);
+    }
+
+    public Page<ProductListResponse> getProductListForUser(
+            User user,
+            Pageable pageable,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        return getProductListForUser(user, pageable, category, brand, minPrice, maxPrice, rating, inStock,
+                featured, returnable, hasDiscountPrice, minDiscount, q, null);
+    }
+
+    /**
+     * Product list page. Rows are projected straight to {@link ProductCardRow} (no entities are loaded);
+     * {@code view=card} also leaves out the description, which is the widest column on the page.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductListResponse> getProductListForUser(
+            User user,
+            Pageable pageable,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q,
+            String view
+    ) {
+        boolean search = q != null && !q.isBlank();
+        boolean includeDescription = includeDescription(view);
+        pageable = popularityOrder(pageable);
+
+        // The in-memory index has no text; searches always run against the tsvector index.
+        if (!search && catalogIndex.canServe(user)) {
+            CatalogQuery query = CatalogQuery.of(category, brand, minPrice, maxPrice, rating,
+                    inStock, featured, returnable, hasDiscountPrice, minDiscount);
+            Optional<CatalogPage> indexed = catalogIndex.page(query, pageable);
+            if (indexed.isPresent()) {
+                return hydrate(indexed.get(), pageable, includeDescription);
+            }
+        }
+
+        Specification<Product> spec = buildListSpecification(user, category, brand, minPrice, maxPrice, rating,
+                inStock, featured, returnable, hasDiscountPrice, minDiscount, q);
+
+        Page<ProductCardRow> cards = productCardRepository.findCardPage(spec,
+                search ? relevanceOrder(pageable) : pageable, includeDescription);
+        return cards.map(this::mapToListResponse);
+    }
+
+    /**
+     * Slice mode of the product list for infinite scroll: same filters, sort and paging, but no total.
+     * The SQL path reads one extra row instead of counting; the catalog index knows its total for free.
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<ProductListResponse> getProductSliceForUser(
+            User user,
+            Pageable pageable,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q,
+            String view
+    ) {
+        boolean search = q != null && !q.isBlank();
+        boolean includeDescription = includeDescription(view);
+        pageable = popularityOrder(pageable);
+
+        if (!search && catalogIndex.canServe(user)) {
+            CatalogQuery query = CatalogQuery.of(category, brand, minPrice, maxPrice, rating,
+                    inStock, featured, returnable, hasDiscountPrice, minDiscount);
+            Optional<CatalogPage> indexed = catalogIndex.page(query, pageable);
+            if (indexed.isPresent()) {
+                return SliceResponse.of(hydrate(indexed.get(), pageable, includeDescription));
+            }
+        }
+
+        Specification<Product> spec = buildListSpecification(user, category, brand, minPrice, maxPrice, rating,
+                inStock, featured, returnable, hasDiscountPrice, minDiscount, q);
+
+        Slice<ProductCardRow> cards = productCardRepository.findCardSlice(spec,
+                search ? relevanceOrder(pageable) : pageable, includeDescription);
+        return SliceResponse.of(cards.map(this::mapToListResponse));
+    }
+
+    private static boolean includeDescription(String view) {
+        return !CARD_VIEW.equalsIgnoreCase(view);
+    }
+
+    /**
+     * "sort=popularity" means best sellers first: popularity_score DESC, then id DESC, which reads the
+     * (status, popularity_score, id) index backwards. The score is maintained by ProductSalesCounter.
+     */
+    private static Pageable popularityOrder(Pageable pageable) {
+        boolean popularity = pageable.getSort().stream().anyMatch(o -> POPULARITY_SORT.equalsIgnoreCase(o.getProperty()));
+        if (!popularity) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Order.desc("popularityScore"), Sort.Order.desc("id")));
+    }
+
+    /**
+     * "sort=relevance" is not an entity attribute: drop the sort so ProductSpecifications#matchesSearch
+     * applies its rank ordering (it also does so when no sort was requested).
+     */
+    private static Pageable relevanceOrder(Pageable pageable) {
+        boolean relevance = pageable.getSort().stream().anyMatch(o -> RELEVANCE_SORT.equalsIgnoreCase(o.getProperty()));
+        return relevance ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
+
+    /**
+     * Loads the cards for a page of ids answered by the catalog index (primary-key lookups only),
+     * keeping the index's order. Rows deactivated since the index last refreshed are dropped.
+     */
+    private Page<ProductListResponse> hydrate(CatalogPage indexed, Pageable pageable, boolean includeDescription) {
+        Map<Long, ProductCardRow> byId = productCardRepository.findCardsByIdIn(indexed.productIds(), includeDescription)
+                .stream()
+                .collect(Collectors.toMap(ProductCardRow::id, Function.identity()));
+
+        List<ProductListResponse> content = indexed.productIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToListResponse)
+                .toList();
+
+        return new PageImpl<>(content, pageable, indexed.total());
+    }
+
+    /**
+     * Cursor (keyset) variant of the product list: seeks past the last (sort key, id) instead of using OFFSET,
+     * and skips the count query, so every page costs the same regardless of depth.
+     *
+     * The first request picks the sort via {@code pageable}'s sort (id, price, createdAt or rating; default id ASC);
+     * later requests pass back {@code nextCursor}, which carries the sort with it.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductListResponse> getProductCursorPageForUser(
+            User user,
+            String cursor,
+            Pageable pageable,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        return getProductCursorPageForUser(user, cursor, pageable, category, brand, minPrice, maxPrice, rating,
+                inStock, featured, returnable, hasDiscountPrice, minDiscount, q, null);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductListResponse> getProductCursorPageForUser(
+            User user,
+            String cursor,
+            Pageable pageable,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q,
+            String view
+    ) {
+        ProductKeyset keyset = resolveKeyset(cursor, pageable.getSort());
+        int size = pageable.getPageSize();
+
+        Specification<Product> spec = buildListSpecification(user, category, brand, minPrice, maxPrice, rating,
+                inStock, featured, returnable, hasDiscountPrice, minDiscount, q);
+
+        // Fetch one extra row to learn whether another page exists without counting.
+        List<ProductCardRow> rows = productKeysetRepository.findSeekPage(spec, keyset, size + 1, includeDescription(view));
+        boolean hasNext = rows.size() > size;
+        List<ProductCardRow> page = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPageResponse.<ProductListResponse>builder()
+                .content(page.stream().map(this::mapToListResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? keyset.after(page.getLast()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Change feed for incremental sync: products updated after the cursor, in (updatedAt, id) order.
+     * Buyers see every product, with deactivated ones as tombstones; manufacturers see their own products.
+     *
+     * {@code updatedAt} is stamped before commit, so a slow transaction can commit a timestamp older than rows
+     * already served. Rows younger than {@code app.products.changes.safetyLagMs} are therefore held back until
+     * such transactions have settled, which keeps the feed from skipping them.
+     */
+    @Transactional(readOnly = true)
+    public ProductChangesResponse getProductChangesForUser(User user, String cursor, int limit) {
+        ProductChangeCursor position = ProductChangeCursor.decode(cursor);
+        int size = Math.clamp(limit, 1, changeFeedMaxLimit);
+        boolean isManufacturer = user != null && user.hasRole("MANUFACTURER");
+
+        Specification<Product> scope = isManufacturer
+                ? ProductSpecifications.visibleToUser(user)
+                : (root, query, cb) -> cb.conjunction();
+        LocalDateTime upTo = LocalDateTime.now().minus(Duration.ofMillis(changeFeedSafetyLagMs));
+
+        List<ProductCardRow> rows = productCardRepository.findChangesAfter(scope, position, upTo, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<ProductCardRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        List<ProductChangesResponse.ProductChange> changes = page.stream()
+                .map(row -> {
+                    boolean deleted = row.status() != ProductStatus.ACTIVE;
+                    return ProductChangesResponse.ProductChange.builder()
+                            .id(row.id())
+                            .status(row.status().name())
+                            .updatedAt(row.updatedAt())
+                            .deleted(deleted)
+                            .product(deleted && !isManufacturer ? null : mapToListResponse(row))
+                            .build();
+                })
+                .toList();
+
+        ProductChangeCursor next = page.isEmpty()
+                ? position
+                : new ProductChangeCursor(page.getLast().updatedAt(), page.getLast().id());
+
+        return ProductChangesResponse.builder()
+                .changes(changes)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Walks every ACTIVE product in id order and hands them over as list rows, one seek batch at a time.
+     * Memory stays bounded by {@code batchSize}; used to write catalog snapshot files.
+     */
+    public void forEachActiveProductBatch(int batchSize, Consumer<List<ProductListResponse>> consumer) {
+        Specification<Product> active = ProductSpecifications.visibleToUser(null);
+        ProductKeyset keyset = ProductKeyset.first(ProductKeyset.SortKey.ID, Sort.Direction.ASC);
+
+        List<ProductCardRow> rows;
+        do {
+            rows = productKeysetRepository.findSeekPage(active, keyset, batchSize, true);
+            if (!rows.isEmpty()) {
+                consumer.accept(rows.stream().map(this::mapToListResponse).toList());
+                keyset = keyset.after(rows.getLast());
+            }
+        } while (rows.size() == batchSize);
+    }
+
+    private ProductKeyset resolveKeyset(String cursor, Sort sort) {
+        Sort.Order requested = sort.stream().findFirst().orElse(null);
+
+        if (cursor == null || cursor.isBlank()) {
+            if (requested == null) {
+                return ProductKeyset.first(ProductKeyset.SortKey.ID, Sort.Direction.ASC);
+            }
+            return ProductKeyset.first(ProductKeyset.SortKey.fromProperty(requested.getProperty()), requested.getDirection());
+        }
+
+        ProductKeyset keyset = ProductKeyset.decode(cursor);
+        if (requested != null
+                && (ProductKeyset.SortKey.fromProperty(requested.getProperty()) != keyset.sortKey()
+                || requested.getDirection() != keyset.direction())) {
+            throw new InvalidCursorException("Cursor was issued for a different sort; restart from the first page");
+        }
+        return keyset;
+    }
+
+    private Specification<Product> buildListSpecification(
+            User user,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        return Specification
                 .where(ProductSpecifications.visibleToUser(user))
+                .and(ProductSpecifications.matchesSearch(q))
                 .and(ProductSpecifications.hasCategorySlugs(category))
                 .and(ProductSpecifications.hasBrand(brand))
                 .and(ProductSpecifications.priceGte(minPrice))
@@ -109,31 +494,37 @@ public class ProductService {
                 .and(ProductSpecifications.isReturnable(returnable))
                 .and(ProductSpecifications.hasDiscountPrice(hasDiscountPrice))
                 .and(ProductSpecifications.discountGte(minDiscount));
-
-        Page<Product> products = productRepository.findAll(spec, pageable);
-        return products.map(this::mapToListResponse);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Not transactional itself: a cache hit must not open a transaction or borrow a connection,
+     * so only the loads below run in a read-only transaction.
+     */
     public ProductDetailsResponse getProductDetailsByIdForUser(Long productId, User user) {
         boolean isManufacturer = user.hasRole("MANUFACTURER");
 
-        Product product;
         if (isManufacturer) {
-            // Manufacturers can only see their own products
-            product = productRepository.findByIdAndManufacturer(productId, user)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-        } else {
-            // Buyers can only see ACTIVE products
-            product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
-
-            if (!product.isActive()) {
-                throw new ResourceNotFoundException("Product", "id", productId);
-            }
+            // Manufacturers can only see their own products (not cached: they see any status)
+            return readOnly(() -> {
+                Product product = productRepository.findByIdAndManufacturer(productId, user)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+                return mapToDetailsResponse(product);
+            });
         }
 
-        return mapToDetailsResponse(product);
+        // Buyers can only see ACTIVE products; only those are cached (a miss for anything else throws, caching nothing)
+        return productDetailCache.get(productId, () -> readOnly(() -> {
+            Product active = productRepository.findById(productId)
+                    .filter(Product::isActive)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+            return mapToDetailsResponse(active);
+        }));
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
     }
 
     private Category resolveCategory(Long categoryId) {
@@ -144,9 +535,9 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
     }
 
-    private ProductListResponse mapToListResponse(Product product) {
-        BigDecimal mrp = product.getMrp();
-        BigDecimal price = product.getPrice();
+    private ProductListResponse mapToListResponse(ProductCardRow row) {
+        BigDecimal mrp = row.mrp();
+        BigDecimal price = row.price();
 
         BigDecimal discount = BigDecimal.ZERO;
         BigDecimal discountPercent = BigDecimal.ZERO;
@@ -163,43 +554,42 @@ public class ProductService {
             }
         }
 
-        Integer stock = product.getStock();
+        Integer stock = row.stock();
         boolean inStock = stock != null && stock > 0;
 
-        Double avg = productReviewRepository.averageRatingByProductId(product.getId());
-        long reviewCount = productReviewRepository.countByProductId(product.getId());
-
-        BigDecimal avgRating = avg == null ? null : BigDecimal.valueOf(avg).setScale(2, java.math.RoundingMode.HALF_UP);
+        // List pages read the denormalized aggregates maintained by ProductReviewService
+        // instead of running avg/count queries per row (N+1 on every page).
+        Integer reviewCount = row.reviewCount();
 
         return ProductListResponse.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .brand(product.getBrand())
-                .imageUrl(product.getThumbnailUrl())
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .brand(row.brand())
+                .imageUrl(row.thumbnailUrl())
                 .price(price)
                 .mrp(mrp)
                 .discount(discount)
                 .discountPercent(discountPercent)
-                .rating(avgRating)
-                .reviewsCount((int) reviewCount)
+                .rating(row.rating())
+                .reviewsCount(reviewCount == null ? 0 : reviewCount)
                 .stock(stock)
                 .isInStock(inStock)
-                .manufacturerId(product.getManufacturer() != null ? product.getManufacturer().getId() : null)
-                .manufacturerName(product.getManufacturer() != null ? product.getManufacturer().getName() : null)
-                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
-                .category(product.getCategory() == null ? null : com.quickcart.backend.dto.CategoryResponse.builder()
-                        .id(product.getCategory().getId())
-                        .name(product.getCategory().getName())
-                        .slug(product.getCategory().getSlug())
+                .manufacturerId(row.manufacturerId())
+                .manufacturerName(row.manufacturerName())
+                .categoryId(row.categoryId())
+                .category(row.categoryId() == null ? null : com.quickcart.backend.dto.CategoryResponse.builder()
+                        .id(row.categoryId())
+                        .name(row.categoryName())
+                        .slug(row.categorySlug())
                         .build())
                 .build();
     }
 
     private ProductDetailsResponse mapToDetailsResponse(Product product) {
-        Double avg = productReviewRepository.averageRatingByProductId(product.getId());
-        long reviewCount = productReviewRepository.countByProductId(product.getId());
-        BigDecimal avgRating = avg == null ? null : BigDecimal.valueOf(avg).setScale(2, java.math.RoundingMode.HALF_UP);
+        // rating/reviewCount come from the product row, as in listings; the histogram only gives the distribution.
+        RatingHistogram histogram = productRatingHistogramRepository.findByProductId(product.getId())
+                .orElse(RatingHistogram.EMPTY);
 
         BigDecimal mrp = product.getMrp();
         BigDecimal price = product.getPrice();
@@ -231,8 +621,15 @@ public class ProductService {
                 .discount(discount)
                 .discountPercent(discountPercent)
                 .thumbnailUrl(product.getThumbnailUrl())
-                .rating(avgRating)
-                .reviewCount((int) reviewCount)
+                .rating(product.getRating())
+                .reviewCount(product.getReviewCount())
+                .ratingDistribution(ProductDetailsResponse.RatingDistribution.builder()
+                        .oneStar(histogram.stars1())
+                        .twoStar(histogram.stars2())
+                        .threeStar(histogram.stars3())
+                        .fourStar(histogram.stars4())
+                        .fiveStar(histogram.stars5())
+                        .build())
                 .isFeatured(product.getIsFeatured())
                 .isReturnable(product.getIsReturnable())
                 .warrantyMonths(product.getWarrantyMonths())
@@ -282,6 +679,7 @@ public class ProductService {
         product.setStock(request.getStock());
 
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
     }
 
     public void deactivateProduct(Long productId, User manufacturer) {
@@ -294,6 +692,7 @@ public class ProductService {
 
         product.setStatus(ProductStatus.INACTIVE);
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(productId));
     }
 
     @Transactional
@@ -302,9 +701,21 @@ public class ProductService {
             throw new AccessDeniedException("Only manufacturers can create products");
         }
 
+        // One query for every referenced category instead of a findById per item
+        List<Long> categoryIds = request.getProducts().stream()
+                .map(CreateProductRequest::getCategoryId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
         List<Product> products = request.getProducts().stream()
                 .map(p -> {
-                    Category category = resolveCategory(p.getCategoryId());
+                    Category category = p.getCategoryId() == null ? null : categories.get(p.getCategoryId());
+                    if (p.getCategoryId() != null && category == null) {
+                        throw new ResourceNotFoundException("Category", "id", p.getCategoryId());
+                    }
                     return Product.builder()
                             .name(p.getName())
                             .description(p.getDescription())
@@ -334,6 +745,7 @@ public class ProductService {
         List<Long> ids = saved.stream()
                 .map(Product::getId)
                 .toList();
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(ids));
 
         return BulkCreateProductsResponse.builder()
                 .createdCount(saved.size())
@@ -341,7 +753,61 @@ public class ProductService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * ERP-style partial price/stock sync addressed by the manufacturer's own SKUs.
+     * Duplicate SKUs in one request collapse to the last occurrence. Rows are updated with set-based statements of
+     * {@code app.products.bulkUpdate.chunkSize} SKUs each; no entity is loaded.
+     *
+     * Each chunk commits in its own transaction with its own updated_at, so a large push never commits rows
+     * stamped further back than one chunk (the change feed's safetyLagMs relies on that). If a chunk fails,
+     * the chunks before it stay applied; re-sending the request is safe since the values are absolute.
+     */
+    public BulkUpdateProductsBySkuResponse updateProductsBySku(BulkUpdateProductsBySkuRequest request, User manufacturer) {
+        if (!manufacturer.hasRole("MANUFACTURER")) {
+            throw new AccessDeniedException("Only manufacturers can update products");
+        }
+
+        Map<String, BulkUpdateProductsBySkuRequest.Item> bySku = new LinkedHashMap<>();
+        for (BulkUpdateProductsBySkuRequest.Item item : request.getItems()) {
+            String sku = item.getSku().trim();
+            item.setSku(sku);
+            bySku.remove(sku);
+            bySku.put(sku, item);
+        }
+
+        List<BulkUpdateProductsBySkuRequest.Item> items = new ArrayList<>(bySku.values());
+        Map<String, Long> updated = new HashMap<>();
+        for (int from = 0; from < items.size(); from += skuUpdateChunkSize) {
+            List<BulkUpdateProductsBySkuRequest.Item> chunk = items.subList(from, Math.min(from + skuUpdateChunkSize, items.size()));
+            Map<String, Long> chunkUpdated = transactionTemplate.execute(status -> {
+                Map<String, Long> ids = productSkuUpdateRepository.updateBySku(manufacturer.getId(), chunk, LocalDateTime.now());
+                if (!ids.isEmpty()) {
+                    eventPublisher.publishEvent(ProductCatalogChangedEvent.of(ids.values()));
+                }
+                return ids;
+            });
+            if (chunkUpdated != null) {
+                updated.putAll(chunkUpdated);
+            }
+        }
+
+        List<BulkUpdateProductsBySkuResponse.SkuResult> results = bySku.keySet().stream()
+                .map(sku -> BulkUpdateProductsBySkuResponse.SkuResult.builder()
+                        .sku(sku)
+                        .status(updated.containsKey(sku)
+                                ? BulkUpdateProductsBySkuResponse.Status.UPDATED
+                                : BulkUpdateProductsBySkuResponse.Status.NOT_FOUND)
+                        .productId(updated.get(sku))
+                        .build())
+                .toList();
+
+        return BulkUpdateProductsBySkuResponse.builder()
+                .updatedCount(updated.size())
+                .notFoundCount(results.size() - updated.size())
+                .results(results)
+                .build();
+    }
+
     public ProductFacetsResponse getProductFacetsForUser(
             User user,
             String category,
@@ -355,33 +821,118 @@ public class ProductService {
             Boolean hasDiscountPrice,
             BigDecimal minDiscount
     ) {
-        return ProductFacetsResponse.builder()
-                .categories(productFacetRepository.getCategoryFacets(
-                        user,
-                        category,
-                        brand,
-                        minPrice,
-                        maxPrice,
-                        rating,
-                        inStock,
-                        featured,
-                        returnable,
-                        hasDiscountPrice,
-                        minDiscount
-                ))
-                .brands(productFacetRepository.getBrandFacets(
-                        user,
-                        category,
-                        brand,
-                        minPrice,
-                        maxPrice,
-                        rating,
-                        inStock,
-                        featured,
-                        returnable,
-                        hasDiscountPrice,
-                        minDiscount
-                ))
-                .build();
+        return getProductFacetsForUser(user, category, brand, minPrice, maxPrice, rating, inStock, featured,
+                returnable, hasDiscountPrice, minDiscount, null);
+    }
+
+    public ProductFacetsResponse getProductFacetsForUser(
+            User user,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        ProductFacetCacheKey key = ProductFacetCacheKey.of(user, category, brand, minPrice, maxPrice, rating,
+                inStock, featured, returnable, hasDiscountPrice, minDiscount, q);
+
+        // A hit is served without a transaction (or a pooled connection); only a miss reads, read-only
+        return productFacetCache.get(key, () -> readOnly(() -> computeFacets(user, category, brand, minPrice, maxPrice,
+                rating, inStock, featured, returnable, hasDiscountPrice, minDiscount, q)));
+    }
+
+    /**
+     * Typeahead over the buyer catalog (ACTIVE products, their brands and categories), served from memory.
+     * Manufacturers browse only their own products, which the shared index does not model, so they get no suggestions.
+     */
+    public ProductSuggestionsResponse getProductSuggestionsForUser(User user, String prefix, int limit) {
+        if (user != null && user.hasRole("MANUFACTURER")) {
+            return ProductSuggestionsResponse.builder()
+                    .products(List.of())
+                    .brands(List.of())
+                    .categories(List.of())
+                    .build();
+        }
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * "Frequently bought together" for a product: ACTIVE products most often ordered with it, best first.
+     * Neighbours come from {@link RelatedProductsIndex} (memory); the only query loads their cards by primary key.
+     *
+     * Same visibility as the detail endpoint: manufacturers only see their own products (as source and as
+     * neighbours), buyers only ACTIVE ones; a source product the user cannot see is a 404.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductListResponse> getRelatedProductsForUser(Long productId, User user, int limit) {
+        boolean isManufacturer = user.hasRole("MANUFACTURER");
+        boolean visible = isManufacturer
+                ? productRepository.existsByIdAndManufacturer(productId, user)
+                : productRepository.existsByIdAndStatus(productId, ProductStatus.ACTIVE);
+        if (!visible) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+
+        int size = Math.clamp(limit, 1, relatedMaxLimit);
+        // Over-fetch ids so neighbours that were deactivated since do not leave the list short.
+        List<Long> ids = relatedProductsIndex.related(productId, size * 2);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ProductCardRow> byId = productCardRepository.findCardsByIdIn(ids, false).stream()
+                .collect(Collectors.toMap(ProductCardRow::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(row -> !isManufacturer || user.getId().equals(row.manufacturerId()))
+                .limit(size)
+                .map(this::mapToListResponse)
+                .toList();
+    }
+
+    private ProductFacetsResponse computeFacets(
+            User user,
+            String category,
+            String brand,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal rating,
+            Boolean inStock,
+            Boolean featured,
+            Boolean returnable,
+            Boolean hasDiscountPrice,
+            BigDecimal minDiscount,
+            String q
+    ) {
+        if ((q == null || q.isBlank()) && catalogIndex.canServe(user)) {
+            Optional<ProductFacetsResponse> indexed = catalogIndex.facets(CatalogQuery.of(category, brand, minPrice,
+                    maxPrice, rating, inStock, featured, returnable, hasDiscountPrice, minDiscount));
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+
+        // Both facet dimensions come from a single grouped scan (see ProductFacetRepositoryImpl#getFacets).
+        return productFacetRepository.getFacets(
+                user,
+                category,
+                brand,
+                minPrice,
+                maxPrice,
+                rating,
+                inStock,
+                featured,
+                returnable,
+                hasDiscountPrice,
+                minDiscount,
+                q
+        );
     }
 }
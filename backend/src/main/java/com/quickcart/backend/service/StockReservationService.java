@@ -0,0 +1,140 @@
+package com.quickcart.backend.service;
+
+import com.quickcart.backend.exception.InsufficientStockException;
+import com.quickcart.backend.exception.ResourceNotFoundException;
+import com.quickcart.backend.repository.ProductStockRepository;
+import com.quickcart.backend.repository.ProductStockShardRepository;
+import com.quickcart.backend.repository.ProductStockShardRepository.Shard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Moves product stock with conditional UPDATEs instead of read-check-write on entities.
+ *
+ * Rows are locked in ascending product id order, so two orders sharing products always lock them in the same
+ * order and cannot deadlock. A reservation that cannot be met fails with the first short product; the caller's
+ * transaction rolls back the units already taken.
+ *
+ * Products in hot mode (see HotStockService) are served from their stock shards: a random shard first, then
+ * its neighbours, so concurrent checkouts of one product mostly lock different rows. Their products row is
+ * not touched, and they are left out of the returned stock levels.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final ProductStockRepository productStockRepository;
+    private final ProductStockShardRepository productStockShardRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Takes the requested units (quantities per product id) or throws without changing anything visible.
+     *
+     * @return remaining stock per product id (products not in hot mode)
+     * @throws ResourceNotFoundException when a product is missing or inactive
+     * @throws InsufficientStockException when a product has fewer units than requested
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+        // Pending entity changes must reach the rows before they are updated underneath the persistence context
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, List<Integer>> hot = productStockShardRepository.findShardNumbers(quantities.keySet());
+
+        Map<Long, Integer> single = new TreeMap<>(quantities);
+        single.keySet().removeAll(hot.keySet());
+
+        // Products on a single counter: all rows locked in id order and decremented in one statement
+        Map<Long, Integer> remaining = new TreeMap<>(productStockRepository.tryReserveAll(single, now));
+        for (Map.Entry<Long, Integer> entry : single.entrySet()) {
+            if (!remaining.containsKey(entry.getKey())) {
+                throw reservationFailure(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (Map.Entry<Long, List<Integer>> entry : new TreeMap<>(hot).entrySet()) {
+            reserveFromShards(entry.getKey(), quantities.get(entry.getKey()), entry.getValue());
+        }
+        return remaining;
+    }
+
+    /**
+     * Puts units back (quantities per product id); products that no longer exist are skipped.
+     *
+     * @return new stock per product id (products not in hot mode)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Integer> release(Map<Long, Integer> quantities) {
+        entityManager.flush();
+        Map<Long, List<Integer>> hot = productStockShardRepository.findShardNumbers(quantities.keySet());
+
+        Map<Long, Integer> single = new TreeMap<>(quantities);
+        single.keySet().removeAll(hot.keySet());
+        Map<Long, Integer> levels = new TreeMap<>(productStockRepository.releaseAll(single, LocalDateTime.now()));
+
+        for (Map.Entry<Long, List<Integer>> entry : new TreeMap<>(hot).entrySet()) {
+            List<Integer> shards = entry.getValue();
+            productStockShardRepository.addToShard(entry.getKey(),
+                    shards.get(ThreadLocalRandom.current().nextInt(shards.size())), quantities.get(entry.getKey()));
+        }
+        return levels;
+    }
+
+    /**
+     * Tries each shard alone, starting at a random one (one row lock at a time). Only when no single shard
+     * can cover the quantity are all shards locked in shard order and the units taken across them.
+     */
+    private void reserveFromShards(Long productId, int quantity, List<Integer> shardNos) {
+        int start = ThreadLocalRandom.current().nextInt(shardNos.size());
+        for (int i = 0; i < shardNos.size(); i++) {
+            int shardNo = shardNos.get((start + i) % shardNos.size());
+            if (productStockShardRepository.tryTake(productId, shardNo, quantity).isPresent()) {
+                return;
+            }
+        }
+
+        List<Shard> shards = productStockShardRepository.lockShards(productId);
+        int available = shards.stream().mapToInt(Shard::stock).sum();
+        ProductStockRepository.StockLevel level = productStockRepository.findStockLevel(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        if (!level.active()) {
+            throw new ResourceNotFoundException("Product is inactive or unavailable");
+        }
+        if (available < quantity) {
+            throw new InsufficientStockException(level.name(), quantity, available);
+        }
+
+        int toTake = quantity;
+        for (Shard shard : shards) {
+            int taken = Math.min(toTake, shard.stock());
+            if (taken > 0) {
+                productStockShardRepository.setShardStock(productId, shard.shardNo(), shard.stock() - taken);
+                toTake -= taken;
+            }
+            if (toTake == 0) {
+                break;
+            }
+        }
+    }
+
+    private RuntimeException reservationFailure(Long productId, int quantity) {
+        return productStockRepository.findStockLevel(productId)
+                .<RuntimeException>map(level -> level.active()
+                        ? new InsufficientStockException(level.name(), quantity, level.stock())
+                        : new ResourceNotFoundException("Product is inactive or unavailable"))
+                .orElseGet(() -> new ResourceNotFoundException("Product", "id", productId));
+    }
+}
@@ -0,0 +1,7 @@
+-- Flyway migration V10: SKUs are unique per manufacturer
+-- PATCH /products/bulk addresses products by (manufacturer, sku); the index both enforces that the key is unambiguous
+-- and serves the set-based UPDATE ... FROM (VALUES ...) join. Products without a SKU are left out.
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_products_manufacturer_sku
+    ON products(manufacturer_id, sku)
+    WHERE sku IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Flyway migration V11: Change feed (GET /products/changes)
+-- The feed seeks on (updated_at, id); rows written before updated_at was maintained get their creation time,
+-- so every product has a position in the feed.
+
+UPDATE products SET updated_at = COALESCE(created_at, now()) WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON products(updated_at, id);
+
+-- Manufacturer feeds only cover their own products
+CREATE INDEX IF NOT EXISTS idx_products_manufacturer_updated_at_id ON products(manufacturer_id, updated_at, id);
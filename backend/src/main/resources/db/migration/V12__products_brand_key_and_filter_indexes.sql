@@ -0,0 +1,19 @@
+-- Flyway migration V12: Indexable case-insensitive filters on GET /products and GET /products/facets
+-- brand filters/facets used lower(brand), which no plain index can serve. brand_key holds the normalized
+-- value (trimmed, lower-cased, NULL when blank) and is maintained by the Product entity on every write.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS brand_key VARCHAR(100);
+
+UPDATE products
+SET brand_key = NULLIF(lower(btrim(brand)), '')
+WHERE brand_key IS DISTINCT FROM NULLIF(lower(btrim(brand)), '');
+
+-- Buyer listings always filter on status first; category + price range and brand equality are the common filters.
+CREATE INDEX IF NOT EXISTS idx_products_status_category_price ON products(status, category_id, price);
+CREATE INDEX IF NOT EXISTS idx_products_status_brand_key ON products(status, brand_key);
+
+-- Manufacturer views filter by owner instead of status
+CREATE INDEX IF NOT EXISTS idx_products_manufacturer_brand_key ON products(manufacturer_id, brand_key);
+
+-- Category filters match slugs case-insensitively
+CREATE INDEX IF NOT EXISTS idx_categories_lower_slug ON categories(lower(slug));
@@ -0,0 +1,26 @@
+-- Flyway migration V13: Sales velocity counters behind sort=popularity on GET /products
+-- Units sold are accumulated in memory and flushed periodically into per-day buckets; the rolling 7/30-day
+-- totals are rolled up into product_stats and folded into products.popularity_score, which the list sorts on.
+
+CREATE TABLE IF NOT EXISTS product_sales_daily (
+    product_id BIGINT NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    sales_day  DATE   NOT NULL,
+    units      BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, sales_day)
+);
+
+-- The rollup only reads the last 30 days
+CREATE INDEX IF NOT EXISTS idx_product_sales_daily_day ON product_sales_daily(sales_day);
+
+CREATE TABLE IF NOT EXISTS product_stats (
+    product_id BIGINT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    units_7d   BIGINT    NOT NULL DEFAULT 0,
+    units_30d  BIGINT    NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS popularity_score BIGINT NOT NULL DEFAULT 0;
+
+-- sort=popularity reads this index backwards (score DESC, id DESC) within the buyer-visible status
+CREATE INDEX IF NOT EXISTS idx_products_status_popularity_id ON products(status, popularity_score, id);
+CREATE INDEX IF NOT EXISTS idx_products_manufacturer_popularity_id ON products(manufacturer_id, popularity_score, id);
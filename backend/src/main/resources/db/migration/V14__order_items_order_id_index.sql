@@ -0,0 +1,4 @@
+-- Flyway migration V14: Index order_items by order
+-- The related-products index is built by walking order_items in order-id windows; findByOrder benefits too.
+
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items(order_id, product_id);
@@ -0,0 +1,20 @@
+-- Flyway migration V15: Delta-maintained review aggregates
+-- products.rating_sum / review_count are adjusted by each review write (old vs new rating) instead of
+-- re-aggregating product_reviews; rating is derived from them in the same statement.
+-- Do not install POSTGRES_PRODUCT_REVIEWS_TRIGGER.sql alongside this: it would apply every change twice.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+
+UPDATE products SET review_count = 0 WHERE review_count IS NULL;
+
+UPDATE products p
+SET rating_sum = s.total,
+    review_count = s.cnt,
+    rating = ROUND(CAST(s.total AS numeric) / s.cnt, 2)
+FROM (SELECT product_id, SUM(rating) AS total, COUNT(*) AS cnt FROM product_reviews GROUP BY product_id) s
+WHERE s.product_id = p.id;
+
+UPDATE products p
+SET rating_sum = 0, review_count = 0, rating = NULL
+WHERE NOT EXISTS (SELECT 1 FROM product_reviews r WHERE r.product_id = p.id)
+  AND (p.rating_sum <> 0 OR p.review_count <> 0 OR p.rating IS NOT NULL);
@@ -0,0 +1,23 @@
+-- Flyway migration V16: Per-product star histogram (review counts per 1..5 star rating)
+-- One row per reviewed product, adjusted in the same transaction as each review write and read by primary key.
+-- Existing reviews are backfilled below; ProductRatingReconciler repairs rows that drift afterwards.
+
+CREATE TABLE IF NOT EXISTS product_rating_histograms (
+    product_id BIGINT PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    stars_1    BIGINT NOT NULL DEFAULT 0,
+    stars_2    BIGINT NOT NULL DEFAULT 0,
+    stars_3    BIGINT NOT NULL DEFAULT 0,
+    stars_4    BIGINT NOT NULL DEFAULT 0,
+    stars_5    BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO product_rating_histograms (product_id, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT product_id,
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM product_reviews
+GROUP BY product_id
+ON CONFLICT (product_id) DO NOTHING;
@@ -0,0 +1,11 @@
+-- Flyway migration V17: Covering indexes for cursor (keyset) review listing on GET /products/{id}/reviews
+-- Newest first seeks on (created_at, id) within a product, scanned backwards; rating sorts seek on
+-- (rating, created_at, id) in either direction. Every listed column except the comment is in the index;
+-- comments (up to 1000 chars) are too wide for B-tree entries and are read from the heap for returned rows only.
+
+UPDATE product_reviews SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_product_reviews_product_created_id
+    ON product_reviews(product_id, created_at, id) INCLUDE (user_id, rating, updated_at);
+CREATE INDEX IF NOT EXISTS idx_product_reviews_product_rating_created_id
+    ON product_reviews(product_id, rating, created_at, id) INCLUDE (user_id, updated_at);
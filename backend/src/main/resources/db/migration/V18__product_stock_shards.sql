@@ -0,0 +1,15 @@
+-- Flyway migration V18: Sharded stock for hot SKUs (flash sales)
+-- A product with rows here is in hot mode: checkouts take units from one of its shards instead of updating
+-- products.stock, so concurrent orders for the same product lock different rows. products.stock becomes the
+-- reported total, written back from the shards by HotStockService; stock_reconciled is the value it last wrote,
+-- so an edit of products.stock in between (manufacturer update, bulk update) is recognised and folded into the shards.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS stock_reconciled INTEGER;
+
+CREATE TABLE IF NOT EXISTS product_stock_shards (
+    product_id BIGINT   NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    shard_no   SMALLINT NOT NULL,
+    stock      INTEGER  NOT NULL,
+    CONSTRAINT pk_product_stock_shards PRIMARY KEY (product_id, shard_no),
+    CONSTRAINT chk_product_stock_shards_stock CHECK (stock >= 0)
+);
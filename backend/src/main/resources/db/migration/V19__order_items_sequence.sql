@@ -0,0 +1,11 @@
+-- Flyway migration V19: Pooled sequence for order item ids
+-- Same scheme as products_seq (V9): with IDENTITY every order line was its own INSERT round trip;
+-- with ids handed out from memory in blocks of 50 the lines of an order are inserted in JDBC batches.
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+
+SELECT setval('order_items_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 51, false);
+
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_seq');
+ALTER SEQUENCE order_items_seq OWNED BY order_items.id;
@@ -0,0 +1,18 @@
+-- Flyway migration V20: Idempotency-Key records for POST /orders and POST /payments/razorpay/order
+-- A key is claimed by inserting its row (response_status NULL) before the order/payment it guards runs and is
+-- completed with the response afterwards; a retry replays a completed row and is rejected while it is in flight.
+-- Rows expire after app.idempotency.ttlHours and are purged by expires_at.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id         BIGINT       NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    scope           VARCHAR(50)  NOT NULL,
+    idem_key        VARCHAR(255) NOT NULL,
+    request_hash    CHAR(64)     NOT NULL,
+    response_status INTEGER,
+    response_body   TEXT,
+    created_at      TIMESTAMP    NOT NULL,
+    expires_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, scope, idem_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
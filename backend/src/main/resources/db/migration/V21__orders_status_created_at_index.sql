@@ -0,0 +1,6 @@
+-- Flyway migration V21: Index for the unpaid-order expiry sweep
+-- OrderExpirySweeper claims the oldest CREATED orders past the TTL:
+--   WHERE status = 'CREATED' AND created_at < ? ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED
+-- which is a range scan of (status, created_at) in index order instead of a scan of every order.
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at ON orders(status, created_at);
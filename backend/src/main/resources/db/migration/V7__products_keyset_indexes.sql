@@ -0,0 +1,13 @@
+-- Flyway migration V7: Indexes backing cursor (keyset) pagination on GET /products
+-- Each supported sort seeks on (key, id) within the buyer-visible status, so one range scan serves any page depth.
+-- Nullable keys sort NULLS LAST in both directions, which needs an explicit DESC NULLS LAST index.
+
+CREATE INDEX IF NOT EXISTS idx_products_status_id ON products(status, id);
+CREATE INDEX IF NOT EXISTS idx_products_status_price_id ON products(status, price, id);
+CREATE INDEX IF NOT EXISTS idx_products_status_created_at_id ON products(status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_status_created_at_desc_id ON products(status, created_at DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_products_status_rating_id ON products(status, rating, id);
+CREATE INDEX IF NOT EXISTS idx_products_status_rating_desc_id ON products(status, rating DESC NULLS LAST, id DESC);
+
+-- Manufacturer views filter by owner instead of status
+CREATE INDEX IF NOT EXISTS idx_products_manufacturer_id_id ON products(manufacturer_id, id);
@@ -0,0 +1,13 @@
+-- Flyway migration V8: Full-text search over products
+-- Generated tsvector kept in sync by Postgres itself (no triggers, no app-side writes), weighted so that
+-- name/brand hits rank above short_description, which ranks above description.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(brand, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(short_description, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
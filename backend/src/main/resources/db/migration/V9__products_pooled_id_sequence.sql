@@ -0,0 +1,14 @@
+-- Flyway migration V9: Pooled sequence for product ids
+-- IDENTITY ids force Hibernate to insert each row on persist, which disables JDBC batching.
+-- With a sequence stepping by 50 (matching allocationSize) Hibernate hands out ids from memory and batches inserts.
+-- The column default moves to the same sequence so plain SQL inserts keep working; each one consumes a whole
+-- block's high value, which Hibernate never hands out, so the two cannot collide.
+
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+
+-- Start past existing ids with room for a full block (the pooled optimizer uses [value - 49, value]).
+SELECT setval('products_seq', COALESCE((SELECT MAX(id) FROM products), 0) + 51, false);
+
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN id SET DEFAULT nextval('products_seq');
+ALTER SEQUENCE products_seq OWNED BY products.id;
@@ -0,0 +1,159 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.CatalogIndex;
+import com.quickcart.backend.catalog.CatalogPage;
+import com.quickcart.backend.catalog.CatalogQuery;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductFacetsResponse;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductFacetRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Startup rebuild is pushed out so the test's own rebuild (which sees its uncommitted rows) is the live snapshot.
+@SpringBootTest(properties = "app.catalog.index.initialDelayMs=3600000")
+class CatalogIndexTests {
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductFacetRepository productFacetRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @Transactional
+    void index_matchesDatabaseFacetsAndListOrder() {
+        // Arrange: two categories, mixed brands/prices/stock, one deactivated product
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Index Mfg")
+                .email("index-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        User retailer = userRepository.save(User.builder()
+                .name("Index Retailer")
+                .email("index-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Category tools = createCategory("Index Tools");
+        Category paint = createCategory("Index Paint");
+
+        for (int i = 0; i < 12; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Index-" + i);
+            req.setBrand(i % 3 == 0 ? "Bosch" : "Makita");
+            req.setPrice(new BigDecimal(100 + i * 7));
+            req.setMrp(i % 2 == 0 ? new BigDecimal(150 + i * 7) : null);
+            req.setStock(i % 4 == 0 ? 0 : 5);
+            req.setCategoryId((i < 8 ? tools : paint).getId());
+            productService.createProduct(req, manufacturer);
+        }
+        Product retired = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .filter(p -> p.getName().equals("Index-0"))
+                .findFirst()
+                .orElseThrow();
+        productService.deactivateProduct(retired.getId(), manufacturer);
+
+        catalogIndex.rebuild();
+        assertThat(catalogIndex.canServe(retailer)).isTrue();
+        assertThat(catalogIndex.canServe(manufacturer)).isFalse();
+
+        String slugs = tools.getSlug() + "," + paint.getSlug();
+
+        // Facets: index must agree with the SQL engine for the same buyer filters
+        for (String brand : new String[]{null, "makita"}) {
+            CatalogQuery query = CatalogQuery.of(slugs, brand, new BigDecimal("105"), null, null, true,
+                    null, null, null, null);
+            ProductFacetsResponse fromIndex = catalogIndex.facets(query).orElseThrow();
+            ProductFacetsResponse fromDb = productFacetRepository.getFacets(retailer, slugs, brand,
+                    new BigDecimal("105"), null, null, true, null, null, null, null, null);
+
+            assertThat(fromIndex.getCategories()).isEqualTo(fromDb.getCategories());
+            assertThat(brandCounts(fromIndex)).isEqualTo(brandCounts(fromDb));
+        }
+
+        // List: same ids in the same order as the Criteria path, including the computed-discount filter
+        CatalogQuery discounted = CatalogQuery.of(slugs, null, null, null, null, null, null, null, null,
+                new BigDecimal("50"));
+        PageRequest byPriceDesc = PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "price"));
+        CatalogPage page = catalogIndex.page(discounted, byPriceDesc).orElseThrow();
+
+        List<Long> expected = productRepository.findAll(
+                        (root, q, cb) -> cb.and(
+                                cb.equal(root.get("manufacturer"), manufacturer),
+                                cb.equal(root.get("status"), com.quickcart.backend.entity.ProductStatus.ACTIVE),
+                                cb.isNotNull(root.get("mrp"))),
+                        byPriceDesc)
+                .map(Product::getId)
+                .getContent();
+
+        assertThat(page.productIds()).containsExactlyElementsOf(expected);
+        assertThat(page.productIds()).doesNotContain(retired.getId());
+        assertThat(page.total()).isEqualTo(5);
+
+        // Unsupported sort falls back to the database
+        assertThat(catalogIndex.page(discounted, PageRequest.of(0, 4, Sort.by("name")))).isEmpty();
+    }
+
+    private static Map<String, Long> brandCounts(ProductFacetsResponse facets) {
+        return facets.getBrands().stream()
+                .collect(Collectors.toMap(b -> b.getValue().toLowerCase(), ProductFacetsResponse.BrandFacet::getCount));
+    }
+
+    private Category createCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name)
+                .slug("index-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+}
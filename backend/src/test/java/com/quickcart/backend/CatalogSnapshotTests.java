@@ -0,0 +1,164 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.controller.ProductController;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.CatalogSnapshotService;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.catalog.snapshot.enabled=false",
+        "app.catalog.snapshot.batchSize=2"
+})
+class CatalogSnapshotTests {
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    @Transactional
+    void refresh_writesGzipNdjsonAndKeepsEtagWhenUnchanged() throws Exception {
+        // Arrange
+        User manufacturer = newManufacturer();
+        String marker = "Snapshot-" + UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            createProduct(marker + "-" + i, manufacturer);
+        }
+
+        // Act
+        CatalogSnapshotService.Snapshot first = catalogSnapshotService.refresh();
+        CatalogSnapshotService.Snapshot second = catalogSnapshotService.refresh();
+
+        // Assert: every product is one line, and an identical catalog keeps the same file and ETag
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(first.file())), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertThat(lines).hasSize((int) first.productCount());
+        assertThat(lines.stream().filter(l -> l.contains(marker))).hasSize(5);
+        assertThat(first.sizeBytes()).isEqualTo(Files.size(first.file()));
+
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(second.file()).isEqualTo(first.file());
+        assertThat(catalogSnapshotService.current()).contains(second);
+
+        // A catalog change produces a new file; the old one survives until the next refresh
+        createProduct(marker + "-new", manufacturer);
+        CatalogSnapshotService.Snapshot third = catalogSnapshotService.refresh();
+        assertThat(third.etag()).isNotEqualTo(first.etag());
+        assertThat(third.productCount()).isEqualTo(first.productCount() + 1);
+        assertThat(Files.exists(first.file())).isTrue();
+
+        catalogSnapshotService.refresh();
+        assertThat(Files.exists(first.file())).isFalse();
+        assertThat(Files.exists(third.file())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void deleteStaleFiles_removesFilesOfEarlierRunsButNotTheServedOne() throws Exception {
+        // Arrange: a served snapshot plus leftovers of an earlier run in the same directory
+        createProduct("Snapshot-stale-" + UUID.randomUUID(), newManufacturer());
+        CatalogSnapshotService.Snapshot served = catalogSnapshotService.refresh();
+        Path dir = served.file().getParent();
+        Path staleSnapshot = Files.writeString(dir.resolve("catalog-" + UUID.randomUUID() + ".ndjson.gz"), "old");
+        Path staleTmp = Files.writeString(dir.resolve("catalog-" + UUID.randomUUID() + ".tmp"), "partial");
+        Path unrelated = Files.writeString(dir.resolve("notes-" + UUID.randomUUID() + ".txt"), "keep");
+
+        // Act
+        catalogSnapshotService.deleteStaleFiles();
+
+        // Assert
+        assertThat(Files.exists(staleSnapshot)).isFalse();
+        assertThat(Files.exists(staleTmp)).isFalse();
+        assertThat(Files.exists(served.file())).isTrue();
+        assertThat(Files.exists(unrelated)).isTrue();
+        Files.delete(unrelated);
+    }
+
+    @Test
+    @Transactional
+    void getCatalogSnapshot_returnsNotModifiedForMatchingEtag() {
+        // Arrange
+        createProduct("Snapshot-etag-" + UUID.randomUUID(), newManufacturer());
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.refresh();
+
+        // Act
+        ResponseEntity<Resource> full = productController.getCatalogSnapshot(
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader("If-None-Match", "\"" + snapshot.etag() + "\"");
+        MockHttpServletResponse conditionalResponse = new MockHttpServletResponse();
+        ResponseEntity<Resource> notModified = productController.getCatalogSnapshot(
+                new ServletWebRequest(conditional, conditionalResponse));
+
+        // Assert
+        assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(full.getHeaders().getETag()).isEqualTo("\"" + snapshot.etag() + "\"");
+        assertThat(full.getBody()).isNotNull();
+        assertThat(notModified).isNull();
+        assertThat(conditionalResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    private User newManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        return userRepository.save(User.builder()
+                .name("Snapshot Mfg")
+                .email("snapshot-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+
+    private void createProduct(String name, User manufacturer) {
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName(name);
+        req.setDescription("Snapshot desc");
+        req.setBrand("SnapBrand");
+        req.setPrice(new BigDecimal("15.00"));
+        req.setStock(3);
+        productService.createProduct(req, manufacturer);
+    }
+}
@@ -0,0 +1,262 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.OrderItemRequest;
+import com.quickcart.backend.dto.PlaceOrderRequest;
+import com.quickcart.backend.entity.*;
+import com.quickcart.backend.exception.InsufficientStockException;
+import com.quickcart.backend.repository.AddressRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.HotStockService;
+import com.quickcart.backend.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional on purpose: orders commit on their own, as in production. The scheduled write-back is
+ * disabled so each test decides when products.stock is reconciled (including concurrently with checkouts).
+ */
+@SpringBootTest(properties = "app.products.hotStock.enabled=false")
+class HotStockShardTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hotMode_servesOrdersFromShards_andWritesTotalsBack() {
+        // Arrange: 10 units split over 4 shards (3, 3, 2, 2)
+        Fixture fixture = fixture(10);
+        assertThat(hotStockService.setShardCount(fixture.productId(), 4)).isEqualTo(10);
+        assertThat(shardTotal(fixture.productId())).isEqualTo(10);
+
+        // Act: 7 units exceed every single shard, so they are taken across shards
+        orderService.placeOrder(orderRequest(fixture, 7), fixture.retailer());
+
+        // Assert: shards moved, products.stock only after the write-back
+        assertThat(shardTotal(fixture.productId())).isEqualTo(3);
+        assertThat(stock(fixture.productId())).isEqualTo(10);
+        assertThat(hotStockService.reconcile()).isGreaterThanOrEqualTo(1);
+        assertThat(stock(fixture.productId())).isEqualTo(3);
+
+        // A manufacturer restock (+10 on products.stock) is folded into the shards
+        Product product = productRepository.findById(fixture.productId()).orElseThrow();
+        product.setStockQuantity(13);
+        productRepository.save(product);
+        hotStockService.reconcile();
+        assertThat(shardTotal(fixture.productId())).isEqualTo(13);
+        assertThat(stock(fixture.productId())).isEqualTo(13);
+
+        orderService.placeOrder(orderRequest(fixture, 13), fixture.retailer());
+        assertThatThrownBy(() -> orderService.placeOrder(orderRequest(fixture, 1), fixture.retailer()))
+                .isInstanceOf(InsufficientStockException.class);
+
+        // Turning hot mode off folds the shards back into products.stock
+        assertThat(hotStockService.setShardCount(fixture.productId(), 0)).isZero();
+        assertThat(shardTotal(fixture.productId())).isZero();
+        assertThat(stock(fixture.productId())).isZero();
+    }
+
+    @Test
+    void hotMode_concurrentCheckoutsNeverOversell() throws Exception {
+        // Arrange
+        int stock = 100;
+        int checkouts = 300;
+        Fixture fixture = fixture(stock);
+        hotStockService.setShardCount(fixture.productId(), 8);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // Act
+        for (int i = 0; i < checkouts; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    orderService.placeOrder(orderRequest(fixture, 1), fixture.retailer());
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    rejected.incrementAndGet();
+                } catch (Throwable ex) {
+                    unexpected.add(ex);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        // Assert
+        assertThat(unexpected).isEmpty();
+        assertThat(placed.get()).isEqualTo(stock);
+        assertThat(rejected.get()).isEqualTo(checkouts - stock);
+        assertThat(shardTotal(fixture.productId())).isZero();
+
+        hotStockService.reconcile();
+        assertThat(stock(fixture.productId())).isZero();
+    }
+
+    @Test
+    void reconcile_duringConcurrentHotCheckouts_neitherSideDeadlocks() throws Exception {
+        // Arrange
+        int stock = 100;
+        int checkouts = 150;
+        Fixture fixture = fixture(stock);
+        hotStockService.setShardCount(fixture.productId(), 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean checkingOut = new AtomicBoolean(true);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger reconciles = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // Act: the write-back runs back to back while checkouts hold shard rows and insert order_items
+        Thread reconciler = new Thread(() -> {
+            try {
+                start.await();
+                while (checkingOut.get()) {
+                    hotStockService.reconcile();
+                    reconciles.incrementAndGet();
+                }
+            } catch (Throwable ex) {
+                unexpected.add(ex);
+            }
+        });
+        reconciler.start();
+
+        for (int i = 0; i < checkouts; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    orderService.placeOrder(orderRequest(fixture, 1), fixture.retailer());
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    // expected once the shards run dry
+                } catch (Throwable ex) {
+                    unexpected.add(ex);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        checkingOut.set(false);
+        reconciler.join(TimeUnit.MINUTES.toMillis(1));
+
+        // Assert: no deadlock aborts on either side, and the totals still add up
+        assertThat(unexpected).isEmpty();
+        assertThat(reconciles.get()).isPositive();
+        assertThat(placed.get()).isEqualTo(stock);
+        hotStockService.reconcile();
+        assertThat(stock(fixture.productId())).isZero();
+    }
+
+    private record Fixture(User retailer, Long addressId, Long productId) {
+    }
+
+    private Fixture fixture(int stock) {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Hot Mfg")
+                .email("hot-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+        User retailer = userRepository.save(User.builder()
+                .name("Hot Retailer")
+                .email("hot-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Address address = Address.builder()
+                .user(retailer)
+                .name("Hot Traders")
+                .phone("9876543210")
+                .addressType(AddressType.HOME)
+                .addressLine1("MG Road")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .isDefault(true)
+                .isActive(true)
+                .build();
+        address.setCreatedBy(retailer);
+        address.setUpdatedBy(retailer);
+
+        Product product = productRepository.save(Product.builder()
+                .name("Flash Sale Item")
+                .price(new BigDecimal("99.00"))
+                .stock(stock)
+                .status(ProductStatus.ACTIVE)
+                .manufacturer(manufacturer)
+                .build());
+
+        return new Fixture(retailer, addressRepository.save(address).getId(), product.getId());
+    }
+
+    private static PlaceOrderRequest orderRequest(Fixture fixture, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(fixture.productId());
+        item.setQuantity(quantity);
+        PlaceOrderRequest request = new PlaceOrderRequest();
+        request.setItems(List.of(item));
+        request.setDeliveryAddressId(fixture.addressId());
+        return request;
+    }
+
+    private int shardTotal(Long productId) {
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(stock), 0) FROM product_stock_shards WHERE product_id = ?", Integer.class, productId);
+        return total == null ? 0 : total;
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+}
@@ -0,0 +1,140 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.OrderResponse;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.dto.SliceResponse;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.OrderQueryService;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListSliceModeTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void productSlice_walksAllRowsWithoutCountQueries() {
+        // Arrange
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Slice Mfg")
+                .email("slice-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        for (int i = 0; i < 7; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Slice-" + i);
+            req.setBrand("SliceBrand");
+            req.setPrice(new BigDecimal(10 + i));
+            req.setStock(1);
+            productService.createProduct(req, manufacturer);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act: page through in slices of 3
+        List<String> names = new ArrayList<>();
+        List<Boolean> hasNext = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            SliceResponse<ProductListResponse> slice = productService.getProductSliceForUser(manufacturer,
+                    PageRequest.of(page, 3, Sort.by("price")),
+                    null, null, null, null, null, null, null, null, null, null, null, "card");
+            slice.getContent().forEach(p -> names.add(p.getName()));
+            hasNext.add(slice.isHasNext());
+        }
+
+        // Assert: one statement per slice (no count), and hasNext flips exactly on the last one
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(names).containsExactly("Slice-0", "Slice-1", "Slice-2", "Slice-3", "Slice-4", "Slice-5", "Slice-6");
+        assertThat(hasNext).containsExactly(true, true, false);
+    }
+
+    @Test
+    @Transactional
+    void orderSlice_emptyForUserWithoutOrders() {
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User retailer = userRepository.save(User.builder()
+                .name("Slice Retailer")
+                .email("slice-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        SliceResponse<OrderResponse> slice = orderQueryService.getOrderSlice(retailer, PageRequest.of(0, 10));
+
+        assertThat(slice.getContent()).isEmpty();
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getSize()).isEqualTo(10);
+    }
+
+    @Test
+    void productSliceAndCursorParams_resolveToOneHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.addParameter("mode", "slice");
+        request.addParameter("cursor", "");
+
+        HandlerExecutionChain chain = requestMappingHandlerMapping.getHandler(request);
+
+        assertThat(chain).isNotNull();
+        assertThat(((HandlerMethod) chain.getHandler()).getMethod().getName()).isEqualTo("listProductsByCursor");
+    }
+}
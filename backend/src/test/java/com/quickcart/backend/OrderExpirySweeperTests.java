@@ -0,0 +1,221 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.controller.OrderController;
+import com.quickcart.backend.dto.OrderItemRequest;
+import com.quickcart.backend.dto.PlaceOrderRequest;
+import com.quickcart.backend.entity.*;
+import com.quickcart.backend.exception.AccessDeniedException;
+import com.quickcart.backend.repository.AddressRepository;
+import com.quickcart.backend.repository.OrderEventRepository;
+import com.quickcart.backend.repository.OrderRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.security.CustomUserDetails;
+import com.quickcart.backend.service.OrderExpirySweeper;
+import com.quickcart.backend.service.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.orders.expiry.enabled=false",
+        "app.orders.expiry.ttlMinutes=30",
+        "app.orders.expiry.batchSize=1"
+})
+class OrderExpirySweeperTests {
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private OrderExpirySweeper orderExpirySweeper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void sweep_cancelsUnpaidOrdersPastTtl_andReleasesTheirStock() {
+        // Arrange: two orders placed an hour ago (past the 30 minute TTL) and one placed just now
+        Fixture fixture = fixture();
+        CustomUserDetails principal = new CustomUserDetails(fixture.retailer());
+        Long expiredA = place(principal, fixture.request(2));
+        Long expiredB = place(principal, fixture.request(3));
+        Long fresh = place(principal, fixture.request(1));
+
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id IN (?, ?)",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), expiredA, expiredB);
+
+        // Act: batchSize 1, so the sweep has to walk several chunks
+        orderExpirySweeper.sweep();
+
+        // Assert: only the expired orders are cancelled and audited, and their units are back on the shelf
+        entityManager.clear();
+        assertThat(orderRepository.findById(expiredA).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(expiredB).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(fresh).orElseThrow().getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(productRepository.findById(fixture.productId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+
+        assertThat(orderEventRepository.findByOrderIdOrderByCreatedAtAsc(expiredA))
+                .anySatisfy(event -> {
+                    assertThat(event.getEventType()).isEqualTo(OrderEventType.ORDER_CANCELLED);
+                    assertThat(event.getToStatus()).isEqualTo(OrderStatus.CANCELLED);
+                });
+        assertThat(orderEventRepository.findByOrderIdOrderByCreatedAtAsc(fresh))
+                .noneMatch(event -> event.getEventType() == OrderEventType.ORDER_CANCELLED);
+    }
+
+    @Test
+    @Transactional
+    void sweep_leavesOrdersWithSuccessfulPaymentAlone() {
+        Fixture fixture = fixture();
+        Long paid = place(new CustomUserDetails(fixture.retailer()), fixture.request(4));
+
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), paid);
+        jdbcTemplate.update("""
+                INSERT INTO payments (order_id, retailer_id, amount, status, gateway, payment_reference, created_at, updated_at)
+                VALUES (?, ?, 16.00, 'SUCCESS', 'RAZORPAY', ?, ?, ?)
+                """, paid, fixture.retailer().getId(), UUID.randomUUID().toString(),
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+
+        orderExpirySweeper.sweep();
+
+        entityManager.clear();
+        assertThat(orderRepository.findById(paid).orElseThrow().getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(productRepository.findById(fixture.productId()).orElseThrow().getStockQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    @Transactional
+    void manufacturerStatusChange_afterSweep_isRefused_andStockStaysReleased() {
+        // Arrange: an expired order the sweeper has already cancelled
+        Fixture fixture = fixture();
+        Long expired = place(new CustomUserDetails(fixture.retailer()), fixture.request(3));
+
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), expired);
+        orderExpirySweeper.sweep();
+
+        // Act + Assert: each transition re-reads the status under the row lock and sees CANCELLED
+        assertThatThrownBy(() -> orderService.updateOrderStatus(expired, OrderStatus.ACCEPTED, fixture.manufacturer()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> orderService.acceptOrder(expired, fixture.manufacturer()))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> orderService.rejectOrder(expired, "late", fixture.manufacturer()))
+                .isInstanceOf(AccessDeniedException.class);
+
+        entityManager.clear();
+        assertThat(orderRepository.findById(expired).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(productRepository.findById(fixture.productId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+
+    private Long place(CustomUserDetails principal, PlaceOrderRequest request) {
+        return orderController.placeOrder(request, null, principal).getBody().getOrderId();
+    }
+
+    private record Fixture(User retailer, User manufacturer, Long addressId, Long productId) {
+
+        PlaceOrderRequest request(int quantity) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            PlaceOrderRequest request = new PlaceOrderRequest();
+            request.setItems(List.of(item));
+            request.setDeliveryAddressId(addressId);
+            return request;
+        }
+    }
+
+    private Fixture fixture() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Expiry Mfg")
+                .email("expiry-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+        User retailer = userRepository.save(User.builder()
+                .name("Expiry Retailer")
+                .email("expiry-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Address address = Address.builder()
+                .user(retailer)
+                .name("Expiry Traders")
+                .phone("9876543210")
+                .addressType(AddressType.HOME)
+                .addressLine1("MG Road")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .isDefault(true)
+                .isActive(true)
+                .build();
+        address.setCreatedBy(retailer);
+        address.setUpdatedBy(retailer);
+
+        Product product = productRepository.save(Product.builder()
+                .name("Expiry Product")
+                .price(new BigDecimal("4.00"))
+                .stock(10)
+                .status(ProductStatus.ACTIVE)
+                .manufacturer(manufacturer)
+                .build());
+
+        return new Fixture(retailer, manufacturer, addressRepository.save(address).getId(), product.getId());
+    }
+}
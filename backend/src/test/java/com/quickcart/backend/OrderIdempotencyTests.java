@@ -0,0 +1,189 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.controller.OrderController;
+import com.quickcart.backend.dto.OrderCreatedResponse;
+import com.quickcart.backend.dto.OrderItemRequest;
+import com.quickcart.backend.dto.PlaceOrderRequest;
+import com.quickcart.backend.entity.*;
+import com.quickcart.backend.exception.GlobalExceptionHandler;
+import com.quickcart.backend.exception.IdempotentReplayException;
+import com.quickcart.backend.exception.InsufficientStockException;
+import com.quickcart.backend.exception.InvalidIdempotencyKeyException;
+import com.quickcart.backend.repository.AddressRepository;
+import com.quickcart.backend.repository.OrderRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.security.CustomUserDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest
+class OrderIdempotencyTests {
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void placeOrder_withSameKey_replaysFirstResponseWithoutPlacingAgain() {
+        // Arrange
+        Fixture fixture = fixture();
+        String key = UUID.randomUUID().toString();
+        CustomUserDetails principal = new CustomUserDetails(fixture.retailer());
+
+        // Act
+        ResponseEntity<OrderCreatedResponse> first = orderController.placeOrder(fixture.request(2), key, principal);
+        IdempotentReplayException replay = catchThrowableOfType(IdempotentReplayException.class,
+                () -> orderController.placeOrder(fixture.request(2), key, principal));
+        ResponseEntity<String> retry = globalExceptionHandler.handleIdempotentReplay(replay);
+
+        // Assert: one order, stock taken once, the retry carries the first order's body
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Long orderId = first.getBody().getOrderId();
+
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotentReplayException.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).contains("\"orderId\":" + orderId);
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(productRepository.findById(fixture.productId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+        assertThat(orderRepository.findAll().stream()
+                .filter(o -> o.getRetailer().getId().equals(fixture.retailer().getId()))
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void placeOrder_failedAttempt_releasesItsKey() {
+        // Arrange: more than the stock, so the first attempt fails
+        Fixture fixture = fixture();
+        String key = UUID.randomUUID().toString();
+        CustomUserDetails principal = new CustomUserDetails(fixture.retailer());
+        assertThatThrownBy(() -> orderController.placeOrder(fixture.request(11), key, principal))
+                .isInstanceOf(InsufficientStockException.class);
+
+        // Act: the same key is free again, not stuck "in use"
+        assertThatThrownBy(() -> orderController.placeOrder(fixture.request(11), key, principal))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @Transactional
+    void placeOrder_keyReusedForDifferentBody_isRejected_andNoKeyMeansNoDeduplication() {
+        Fixture fixture = fixture();
+        String key = UUID.randomUUID().toString();
+        CustomUserDetails principal = new CustomUserDetails(fixture.retailer());
+
+        orderController.placeOrder(fixture.request(1), key, principal);
+
+        assertThatThrownBy(() -> orderController.placeOrder(fixture.request(3), key, principal))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThatThrownBy(() -> orderController.placeOrder(fixture.request(1), "k".repeat(256), principal))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+
+        orderController.placeOrder(fixture.request(1), null, principal);
+        orderController.placeOrder(fixture.request(1), null, principal);
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(productRepository.findById(fixture.productId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+
+    private record Fixture(User retailer, Long addressId, Long productId) {
+
+        PlaceOrderRequest request(int quantity) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            PlaceOrderRequest request = new PlaceOrderRequest();
+            request.setItems(List.of(item));
+            request.setDeliveryAddressId(addressId);
+            return request;
+        }
+    }
+
+    private Fixture fixture() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Idem Mfg")
+                .email("idem-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+        User retailer = userRepository.save(User.builder()
+                .name("Idem Retailer")
+                .email("idem-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Address address = Address.builder()
+                .user(retailer)
+                .name("Idem Traders")
+                .phone("9876543210")
+                .addressType(AddressType.HOME)
+                .addressLine1("MG Road")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .isDefault(true)
+                .isActive(true)
+                .build();
+        address.setCreatedBy(retailer);
+        address.setUpdatedBy(retailer);
+
+        Product product = productRepository.save(Product.builder()
+                .name("Idem Product")
+                .price(new BigDecimal("4.00"))
+                .stock(10)
+                .status(ProductStatus.ACTIVE)
+                .manufacturer(manufacturer)
+                .build());
+
+        return new Fixture(retailer, addressRepository.save(address).getId(), product.getId());
+    }
+}
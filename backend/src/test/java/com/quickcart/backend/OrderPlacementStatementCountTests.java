@@ -0,0 +1,141 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.OrderItemRequest;
+import com.quickcart.backend.dto.PlaceOrderRequest;
+import com.quickcart.backend.entity.*;
+import com.quickcart.backend.repository.AddressRepository;
+import com.quickcart.backend.repository.OrderRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderPlacementStatementCountTests {
+
+    private static final int LINES = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void placeOrder_statementCountDoesNotGrowWithLineCount() {
+        // Arrange: 300 products of one manufacturer
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Basket Mfg")
+                .email("basket-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+        User retailer = userRepository.save(User.builder()
+                .name("Basket Retailer")
+                .email("basket-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Address address = Address.builder()
+                .user(retailer)
+                .name("Basket Traders")
+                .phone("9876543210")
+                .addressType(AddressType.HOME)
+                .addressLine1("MG Road")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .isDefault(true)
+                .isActive(true)
+                .build();
+        address.setCreatedBy(retailer);
+        address.setUpdatedBy(retailer);
+        Long addressId = addressRepository.save(address).getId();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            products.add(Product.builder()
+                    .name("Basket-" + i)
+                    .price(new BigDecimal("2.50"))
+                    .stock(10)
+                    .status(ProductStatus.ACTIVE)
+                    .manufacturer(manufacturer)
+                    .build());
+        }
+        productRepository.saveAll(products);
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (Product product : products) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId());
+            item.setQuantity(2);
+            items.add(item);
+        }
+        PlaceOrderRequest request = new PlaceOrderRequest();
+        request.setItems(items);
+        request.setDeliveryAddressId(addressId);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Order order = orderService.placeOrder(request, retailer);
+        entityManager.flush();
+
+        // Assert: one product query, order lines inserted in batches (not one SELECT + INSERT per line)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(30);
+
+        entityManager.clear();
+        Order reloaded = orderRepository.findByIdWithRelations(order.getId()).orElseThrow();
+        assertThat(reloaded.getItems()).hasSize(LINES);
+        assertThat(reloaded.getTotalAmount()).isEqualByComparingTo("1500.00");
+        assertThat(productRepository.findById(products.getFirst().getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuRequest;
+import com.quickcart.backend.dto.BulkUpdateProductsBySkuResponse;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chunks of two so the request below spans several statements.
+@SpringBootTest(properties = "app.products.bulkUpdate.chunkSize=2")
+class ProductBulkSkuUpdateTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void updatesOnlyGivenFieldsOfTheCallersSkus() {
+        // Arrange: two manufacturers sharing a SKU
+        User manufacturer = createManufacturer("sku-mfg");
+        User other = createManufacturer("sku-other");
+
+        createProduct(manufacturer, "SKU-A", "10.00", 5);
+        createProduct(manufacturer, "SKU-B", "20.00", 5);
+        createProduct(manufacturer, "SKU-C", "30.00", 5);
+        createProduct(other, "SKU-A", "99.00", 9);
+        entityManager.flush();
+
+        BulkUpdateProductsBySkuRequest request = new BulkUpdateProductsBySkuRequest();
+        request.setItems(List.of(
+                item("SKU-A", "11.00", null),
+                item("SKU-B", null, 0),
+                item("SKU-MISSING", "1.00", 1),
+                item(" SKU-A ", "12.00", 7)   // duplicate: last one wins
+        ));
+
+        // Act
+        BulkUpdateProductsBySkuResponse res = productService.updateProductsBySku(request, manufacturer);
+
+        // Assert: per-SKU results in request order (first occurrence of each SKU dropped in favour of the last)
+        assertThat(res.getUpdatedCount()).isEqualTo(2);
+        assertThat(res.getNotFoundCount()).isEqualTo(1);
+        assertThat(res.getResults()).extracting(BulkUpdateProductsBySkuResponse.SkuResult::getSku)
+                .containsExactly("SKU-B", "SKU-MISSING", "SKU-A");
+        assertThat(res.getResults()).extracting(BulkUpdateProductsBySkuResponse.SkuResult::getStatus)
+                .containsExactly(BulkUpdateProductsBySkuResponse.Status.UPDATED,
+                        BulkUpdateProductsBySkuResponse.Status.NOT_FOUND,
+                        BulkUpdateProductsBySkuResponse.Status.UPDATED);
+
+        entityManager.clear();
+        Map<String, Product> mine = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .collect(Collectors.toMap(Product::getSku, p -> p));
+
+        assertThat(mine.get("SKU-A").getPrice()).isEqualByComparingTo("12.00");
+        assertThat(mine.get("SKU-A").getStock()).isEqualTo(7);
+        assertThat(mine.get("SKU-B").getPrice()).isEqualByComparingTo("20.00");
+        assertThat(mine.get("SKU-B").getStock()).isZero();
+        assertThat(mine.get("SKU-C").getPrice()).isEqualByComparingTo("30.00");
+
+        Product othersA = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(other.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(othersA.getPrice()).isEqualByComparingTo("99.00");
+        assertThat(othersA.getStock()).isEqualTo(9);
+    }
+
+    private User createManufacturer(String prefix) {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        return userRepository.save(User.builder()
+                .name("Bulk SKU Mfg")
+                .email(prefix + "-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+
+    private void createProduct(User manufacturer, String sku, String price, int stock) {
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName("Product " + sku);
+        req.setSku(sku);
+        req.setPrice(new BigDecimal(price));
+        req.setStock(stock);
+        productService.createProduct(req, manufacturer);
+    }
+
+    private static BulkUpdateProductsBySkuRequest.Item item(String sku, String price, Integer stock) {
+        BulkUpdateProductsBySkuRequest.Item item = new BulkUpdateProductsBySkuRequest.Item();
+        item.setSku(sku);
+        item.setPrice(price == null ? null : new BigDecimal(price));
+        item.setStock(stock);
+        return item;
+    }
+}
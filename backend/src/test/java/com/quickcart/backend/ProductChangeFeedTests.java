@@ -0,0 +1,123 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductChangesResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.InvalidCursorException;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// No safety lag: rows written by the test are read back immediately.
+@SpringBootTest(properties = "app.products.changes.safetyLagMs=0")
+class ProductChangeFeedTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void feedWalksChangesInOrder_andReportsDeactivationsAsTombstones() {
+        // Arrange
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Feed Mfg")
+                .email("feed-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        User retailer = userRepository.save(User.builder()
+                .name("Feed Retailer")
+                .email("feed-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        for (int i = 0; i < 3; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Feed-" + i);
+            req.setPrice(new BigDecimal("5.00"));
+            req.setStock(1);
+            productService.createProduct(req, manufacturer);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act: initial sync in pages of two
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        ProductChangesResponse page;
+        do {
+            page = productService.getProductChangesForUser(manufacturer, cursor, 2);
+            page.getChanges().forEach(c -> names.add(c.getProduct().getName()));
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertThat(names).containsExactly("Feed-0", "Feed-1", "Feed-2");
+
+        // Nothing new: same position comes back
+        ProductChangesResponse idle = productService.getProductChangesForUser(manufacturer, cursor, 2);
+        assertThat(idle.getChanges()).isEmpty();
+        assertThat(idle.getNextCursor()).isEqualTo(cursor);
+
+        // A deactivation moves the product to the head of the feed
+        Product retired = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .filter(p -> p.getName().equals("Feed-1"))
+                .findFirst()
+                .orElseThrow();
+        productService.deactivateProduct(retired.getId(), manufacturer);
+        entityManager.flush();
+        entityManager.clear();
+
+        ProductChangesResponse forBuyer = productService.getProductChangesForUser(retailer, cursor, 100);
+        assertThat(forBuyer.getChanges())
+                .filteredOn(c -> c.getId().equals(retired.getId()))
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.isDeleted()).isTrue();
+                    assertThat(c.getStatus()).isEqualTo("INACTIVE");
+                    assertThat(c.getProduct()).isNull();
+                });
+
+        assertThatThrownBy(() -> productService.getProductChangesForUser(retailer, "garbage", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
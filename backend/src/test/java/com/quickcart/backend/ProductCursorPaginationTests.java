@@ -0,0 +1,137 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.CursorPageResponse;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.InvalidCursorException;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProductCursorPaginationTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @Transactional
+    void cursorPages_walkAllRowsInSortOrderWithoutOverlap() {
+        // Arrange: 25 products over 5 distinct prices, so most rows tie on the sort key
+        User manufacturer = createManufacturer();
+        Category category = categoryRepository.save(Category.builder()
+                .name("Cursor")
+                .slug("cursor-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < 25; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Cursor-" + i);
+            req.setDescription("Cursor desc");
+            req.setBrand("CursorBrand");
+            req.setPrice(new BigDecimal(10 + (i % 5)));
+            req.setStock(1);
+            req.setCategoryId(category.getId());
+            productService.createProduct(req, manufacturer);
+        }
+
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price"));
+
+        // Act: follow nextCursor until exhausted
+        List<ProductListResponse> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPageResponse<ProductListResponse> page = productService.getProductCursorPageForUser(
+                    manufacturer, cursor, pageable,
+                    null, null, null, null, null, null, null, null, null, null, null);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+            assertThat(page.isHasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        // Assert: every row exactly once, ordered by (price desc, id desc)
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(25);
+        assertThat(seen.stream().map(ProductListResponse::getId).distinct().count()).isEqualTo(25);
+        for (int i = 1; i < seen.size(); i++) {
+            ProductListResponse prev = seen.get(i - 1);
+            ProductListResponse curr = seen.get(i);
+            int byPrice = prev.getPrice().compareTo(curr.getPrice());
+            assertThat(byPrice > 0 || (byPrice == 0 && prev.getId() > curr.getId())).isTrue();
+        }
+    }
+
+    @Test
+    @Transactional
+    void cursor_rejectsTamperedTokenAndSortMismatch() {
+        User manufacturer = createManufacturer();
+
+        assertThatThrownBy(() -> productService.getProductCursorPageForUser(
+                manufacturer, "not-a-cursor", PageRequest.of(0, 10),
+                null, null, null, null, null, null, null, null, null, null, null))
+                .isInstanceOf(InvalidCursorException.class);
+
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName("Cursor-mismatch");
+        req.setPrice(new BigDecimal("5.00"));
+        req.setStock(1);
+        productService.createProduct(req, manufacturer);
+        productService.createProduct(req, manufacturer);
+
+        String byPrice = productService.getProductCursorPageForUser(
+                manufacturer, "", PageRequest.of(0, 1, Sort.by("price")),
+                null, null, null, null, null, null, null, null, null, null, null).getNextCursor();
+        assertThat(byPrice).isNotNull();
+
+        assertThatThrownBy(() -> productService.getProductCursorPageForUser(
+                manufacturer, byPrice, PageRequest.of(0, 1, Sort.by("rating")),
+                null, null, null, null, null, null, null, null, null, null, null))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private User createManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        return userRepository.save(User.builder()
+                .name("Cursor Mfg")
+                .email("cursor-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+}
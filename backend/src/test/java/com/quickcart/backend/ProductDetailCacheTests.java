@@ -0,0 +1,102 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.BoundedTtlCache;
+import com.quickcart.backend.catalog.ProductCatalogChangedEvent;
+import com.quickcart.backend.catalog.ProductDetailCache;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductDetailsResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductDetailCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductDetailCache productDetailCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    @Transactional
+    void buyerViewsAreCachedAsCopies_andWritesEvictTheProduct() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Detail Cache Mfg")
+                .email("detail-cache-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        User retailer = userRepository.save(User.builder()
+                .name("Detail Cache Retailer")
+                .email("detail-cache-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName("Detail-Cached");
+        req.setPrice(new BigDecimal("30.00"));
+        req.setStock(4);
+        productService.createProduct(req, manufacturer);
+        Product product = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        BoundedTtlCache.Stats before = productDetailCache.stats();
+
+        // Two buyer views: one load, one hit; callers cannot corrupt the cached snapshot
+        ProductDetailsResponse first = productService.getProductDetailsByIdForUser(product.getId(), retailer);
+        first.setName("mutated by caller");
+        ProductDetailsResponse second = productService.getProductDetailsByIdForUser(product.getId(), retailer);
+        assertThat(second.getName()).isEqualTo("Detail-Cached");
+
+        BoundedTtlCache.Stats afterViews = productDetailCache.stats();
+        assertThat(afterViews.misses() - before.misses()).isEqualTo(1);
+        assertThat(afterViews.hits() - before.hits()).isEqualTo(1);
+
+        // Manufacturer views bypass the cache
+        productService.getProductDetailsByIdForUser(product.getId(), manufacturer);
+        BoundedTtlCache.Stats afterOwner = productDetailCache.stats();
+        assertThat(afterOwner.hits()).isEqualTo(afterViews.hits());
+        assertThat(afterOwner.misses()).isEqualTo(afterViews.misses());
+
+        // A committed write evicts the product, so the next buyer view reloads
+        productDetailCache.onCatalogChanged(ProductCatalogChangedEvent.of(product.getId()));
+        productService.getProductDetailsByIdForUser(product.getId(), retailer);
+        BoundedTtlCache.Stats afterWrite = productDetailCache.stats();
+        assertThat(afterWrite.misses() - afterOwner.misses()).isEqualTo(1);
+    }
+}
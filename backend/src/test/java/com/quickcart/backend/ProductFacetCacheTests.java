@@ -0,0 +1,104 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.BoundedTtlCache;
+import com.quickcart.backend.catalog.CatalogIndexUpdatedEvent;
+import com.quickcart.backend.catalog.ProductFacetCache;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductFacetCacheTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductFacetCache productFacetCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    @Transactional
+    void equivalentFiltersShareAnEntry_andOnlyFacetChangesInvalidate() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Facet Cache Mfg")
+                .email("facet-cache-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        BoundedTtlCache.Stats before = productFacetCache.stats();
+
+        // Same filters written differently: slug order/case, brand case/whitespace, decimal scale
+        productService.getProductFacetsForUser(manufacturer, "Tools,paint", " HP ", new BigDecimal("10.00"),
+                null, null, null, null, null, null, null);
+        productService.getProductFacetsForUser(manufacturer, "paint, tools", "hp", new BigDecimal("10"),
+                null, null, null, null, null, null, null);
+
+        BoundedTtlCache.Stats afterRepeat = productFacetCache.stats();
+        assertThat(afterRepeat.misses() - before.misses()).isEqualTo(1);
+        assertThat(afterRepeat.hits() - before.hits()).isEqualTo(1);
+
+        // A stock-only index update (e.g. an order) keeps the entry
+        productFacetCache.onCatalogIndexUpdated(new CatalogIndexUpdatedEvent(0, false, false, List.of(), Set.of()));
+        productService.getProductFacetsForUser(manufacturer, "paint,tools", "hp", new BigDecimal("10"),
+                null, null, null, null, null, null, null);
+
+        BoundedTtlCache.Stats afterStockMove = productFacetCache.stats();
+        assertThat(afterStockMove.hits() - afterRepeat.hits()).isEqualTo(1);
+
+        // A change that can move a facet count clears the cache, so the next identical request recomputes
+        productFacetCache.onCatalogIndexUpdated(new CatalogIndexUpdatedEvent(0, false, true, List.of(), Set.of()));
+        productService.getProductFacetsForUser(manufacturer, "paint,tools", "hp", new BigDecimal("10"),
+                null, null, null, null, null, null, null);
+
+        BoundedTtlCache.Stats afterWrite = productFacetCache.stats();
+        assertThat(afterWrite.misses() - afterStockMove.misses()).isEqualTo(1);
+        assertThat(afterWrite.hits() - afterStockMove.hits()).isZero();
+    }
+
+    @Test
+    void invalidatingOneKeyDoesNotDiscardLoadsOfOtherKeys() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 60_000);
+
+        // Invalidations that land while a load is running
+        cache.get("c", () -> {
+            cache.invalidateAll();
+            return 3;
+        });
+        cache.get("a", () -> {
+            cache.invalidate("b");
+            return 1;
+        });
+        cache.get("b", () -> {
+            cache.invalidate("b");
+            return 2;
+        });
+
+        assertThat(cache.get("a", () -> -1)).isEqualTo(1);
+        assertThat(cache.get("b", () -> -1)).isEqualTo(-1);
+        assertThat(cache.get("c", () -> -1)).isEqualTo(-1);
+    }
+}
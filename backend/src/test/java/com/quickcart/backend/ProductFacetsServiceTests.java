@@ -119,5 +119,87 @@ class ProductFacetsServiceTests {
         assertThat(facets.getBrands().stream().filter(b -> b.getValue().equalsIgnoreCase("Dell")).findFirst().orElseThrow().getCount())
                 .isEqualTo(5);
     }
-}
 
+    @Test
+    @Transactional
+    void facets_eachDimensionIgnoresOnlyItsOwnFilter() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Facet Mfg")
+                .email("facets-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        Category catA = categoryRepository.save(Category.builder()
+                .name("Furniture")
+                .slug("furniture-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        Category catB = categoryRepository.save(Category.builder()
+                .name("Lighting")
+                .slug("lighting-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        // catA: 3 x Acme, 2 x Zed; catB: 4 x Acme (mixed casing), 1 uncategorized Zed
+        createProducts(manufacturer, catA, "Acme", 3);
+        createProducts(manufacturer, catA, "Zed", 2);
+        createProducts(manufacturer, catB, "ACME", 4);
+        createProducts(manufacturer, null, "Zed", 1);
+
+        // Act: filter by catA and brand Zed at the same time
+        ProductFacetsResponse facets = productService.getProductFacetsForUser(
+                manufacturer,
+                catA.getSlug(),
+                "zed",
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        // Category facet ignores the category filter but applies brand=Zed
+        assertThat(facets.getCategories()).hasSize(1);
+        assertThat(facets.getCategories().getFirst().getId()).isEqualTo(catA.getId());
+        assertThat(facets.getCategories().getFirst().getCount()).isEqualTo(2);
+
+        // Brand facet ignores the brand filter but applies category=catA
+        assertThat(facets.getBrands()).hasSize(2);
+        assertThat(facets.getBrands().stream().filter(b -> b.getValue().equalsIgnoreCase("Acme")).findFirst().orElseThrow().getCount())
+                .isEqualTo(3);
+        assertThat(facets.getBrands().stream().filter(b -> b.getValue().equalsIgnoreCase("Zed")).findFirst().orElseThrow().getCount())
+                .isEqualTo(2);
+
+        // Unfiltered: brand casing is merged and uncategorized products still count towards brands
+        ProductFacetsResponse all = productService.getProductFacetsForUser(
+                manufacturer, null, null, null, null, null, null, null, null, null, null);
+        assertThat(all.getBrands().stream().filter(b -> b.getValue().equalsIgnoreCase("Acme")).findFirst().orElseThrow().getCount())
+                .isEqualTo(7);
+        assertThat(all.getBrands().stream().filter(b -> b.getValue().equalsIgnoreCase("Zed")).findFirst().orElseThrow().getCount())
+                .isEqualTo(3);
+    }
+
+    private void createProducts(User manufacturer, Category category, String brand, int count) {
+        for (int i = 0; i < count; i++) {
+            var req = new com.quickcart.backend.dto.CreateProductRequest();
+            req.setName(brand + "-" + i);
+            req.setDescription("desc");
+            req.setBrand(brand);
+            req.setPrice(new BigDecimal("10.00"));
+            req.setStock(10);
+            req.setCategoryId(category == null ? null : category.getId());
+            productService.createProduct(req, manufacturer);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the SQL that ProductSpecifications / ProductFacetRepositoryImpl / ProductKeysetRepositoryImpl actually
+ * generate for buyer filters and cursor pages.
+ * Criteria values are inlined (only paging stays bound) so each captured statement can be explained as is.
+ */
+@SpringBootTest(properties = {
+        "app.catalog.index.enabled=false",
+        "app.catalog.facetCache.enabled=false",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.quickcart.backend.ProductFilterIndexPlanTests$CapturingStatementInspector"
+})
+class ProductFilterIndexPlanTests {
+
+    private static final Pattern PAGING_PARAMETER =
+            Pattern.compile("(?i)(limit|offset|fetch first|fetch next)\\s+\\?");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void listAndFacetFilters_areServedByIndexes() {
+        // Arrange: a little data so the planner has statistics; seq scans are disabled so any remaining
+        // "Seq Scan on products" means no index can answer the predicate at all.
+        User manufacturer = newManufacturer();
+        User buyer = newBuyer();
+        Category category = categoryRepository.save(Category.builder()
+                .name("Index Plan")
+                .slug("index-plan-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < 20; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Plan-" + i);
+            req.setBrand(i % 2 == 0 ? "PlanBrand" : "OtherBrand");
+            req.setPrice(new BigDecimal(10 + i));
+            req.setStock(1);
+            req.setCategoryId(category.getId());
+            productService.createProduct(req, manufacturer);
+        }
+        entityManager.flush();
+        jdbcTemplate.execute("ANALYZE products");
+        jdbcTemplate.execute("ANALYZE categories");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        // Act: the buyer SQL paths (catalog index disabled for this class); page size below the match count,
+        // so the count query runs too
+        List<String> brandList = capture(() -> productService.getProductListForUser(buyer, PageRequest.of(0, 3),
+                null, "planbrand", null, null, null, null, null, null, null, null, null));
+        List<String> categoryPriceList = capture(() -> productService.getProductListForUser(buyer, PageRequest.of(0, 3),
+                category.getSlug(), null, new BigDecimal("12"), new BigDecimal("20"), null, null, null, null, null, null, null));
+        List<String> facets = capture(() -> productService.getProductFacetsForUser(buyer, category.getSlug(), "planbrand",
+                null, null, null, null, null, null, null, null));
+
+        // Assert: the statements Hibernate generated are planned on the intended indexes
+        assertThat(explain(brandList)).contains("idx_products_status_brand_key");
+        assertThat(explain(categoryPriceList)).contains("idx_products_status_category_price");
+        assertThat(explain(facets)).containsAnyOf("idx_products_status_brand_key", "idx_products_status_category_price");
+    }
+
+    @Test
+    @Transactional
+    void deepCursorPage_startsTheIndexScanAtTheCursor() {
+        // Arrange: enough rows for several pages, with ties on the sort key
+        User manufacturer = newManufacturer();
+        User buyer = newBuyer();
+        for (int i = 0; i < 30; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Seek-" + i);
+            req.setPrice(new BigDecimal(10 + (i % 10)));
+            req.setStock(1);
+            productService.createProduct(req, manufacturer);
+        }
+        entityManager.flush();
+        jdbcTemplate.execute("ANALYZE products");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        PageRequest byPriceDesc = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price"));
+        String cursor = "";
+        for (int page = 0; page < 5; page++) {
+            cursor = productService.getProductCursorPageForUser(buyer, cursor, byPriceDesc,
+                    null, null, null, null, null, null, null, null, null, null, null).getNextCursor();
+        }
+        String deepCursor = cursor;
+        assertThat(deepCursor).isNotNull();
+
+        // Act
+        List<String> deepPage = capture(() -> productService.getProductCursorPageForUser(buyer, deepCursor, byPriceDesc,
+                null, null, null, null, null, null, null, null, null, null, null));
+
+        // Assert: the cursor's price bounds the index condition, so the scan starts at the cursor
+        // instead of at the top of the status range
+        String plan = explain(deepPage);
+        assertThat(plan).contains("idx_products_status_price_id");
+        assertThat(plan).containsPattern("Index Cond: .*price <=");
+    }
+
+    /**
+     * Product statements issued by the action, as generated (criteria values are inlined for this class).
+     */
+    private List<String> capture(Runnable action) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        action.run();
+        List<String> statements = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains(" products "))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        return statements;
+    }
+
+    private String explain(List<String> statements) {
+        StringBuilder plans = new StringBuilder();
+        for (String sql : statements) {
+            // Paging is always bound; any other parameter would mean a value was not inlined
+            String executable = PAGING_PARAMETER.matcher(sql).replaceAll("$1 3");
+            assertThat(executable).doesNotContain("?");
+
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + executable, String.class));
+            assertThat(plan).doesNotContain("Seq Scan on products").doesNotContain("Seq Scan on categories");
+            plans.append(plan).append('\n');
+        }
+        return plans.toString();
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private User newBuyer() {
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+        return userRepository.save(User.builder()
+                .name("Index Buyer")
+                .email("index-buyer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+    }
+
+    private User newManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        return userRepository.save(User.builder()
+                .name("Index Mfg")
+                .email("index-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+}
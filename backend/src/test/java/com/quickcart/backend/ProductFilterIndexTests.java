@@ -0,0 +1,85 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductFilterIndexTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void brandKey_isMaintainedOnWriteAndMatchedCaseInsensitively() {
+        // Arrange
+        User manufacturer = newManufacturer();
+        String brand = "  Acme-" + UUID.randomUUID() + " ";
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName("Brand key product");
+        req.setBrand(brand);
+        req.setPrice(new BigDecimal("12.00"));
+        req.setStock(1);
+        productService.createProduct(req, manufacturer);
+        entityManager.flush();
+
+        // Act
+        Page<ProductListResponse> page = productService.getProductListForUser(
+                manufacturer, PageRequest.of(0, 10),
+                null, brand.trim().toUpperCase(), null, null, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(page.getContent()).hasSize(1);
+        Product product = productRepository.findById(page.getContent().getFirst().getId()).orElseThrow();
+        assertThat(product.getBrandKey()).isEqualTo(brand.trim().toLowerCase());
+
+        product.setBrand("Renamed");
+        entityManager.flush();
+        assertThat(product.getBrandKey()).isEqualTo("renamed");
+    }
+
+    private User newManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        return userRepository.save(User.builder()
+                .name("Index Mfg")
+                .email("index-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+}
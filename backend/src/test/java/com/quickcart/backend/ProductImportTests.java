@@ -0,0 +1,139 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.ProductImportResponse;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.InvalidImportFileException;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Small batches so a handful of rows spans several of them.
+@SpringBootTest(properties = "app.products.import.batchSize=2")
+class ProductImportTests {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @Transactional
+    void ndjsonImport_createsValidRowsAndReportsBadOnesByLine() {
+        User manufacturer = createManufacturer();
+        Category category = createCategory();
+
+        String body = String.join("\n",
+                "{\"name\":\"Import-1\",\"price\":10.50,\"stock\":3,\"categoryId\":" + category.getId() + "}",
+                "{\"name\":\"Import-2\",\"price\":12,\"stock\":1}",
+                "",
+                "{\"name\":\"Broken\",",
+                "{\"price\":5,\"stock\":1}",
+                "{\"name\":\"Import-3\",\"price\":7,\"stock\":0,\"categoryId\":-42}",
+                "{\"name\":\"Import-4\",\"price\":8,\"stock\":2,\"brand\":\"Acme\"}");
+
+        ProductImportResponse res = productImportService.importProducts(stream(body),
+                ProductImportService.NDJSON, manufacturer);
+
+        assertThat(res.getTotalRows()).isEqualTo(6);
+        assertThat(res.getCreatedCount()).isEqualTo(3);
+        assertThat(res.getFailedCount()).isEqualTo(3);
+        assertThat(res.getErrors()).extracting(ProductImportResponse.RowError::getLine).containsExactly(4L, 5L, 6L);
+        assertThat(res.getErrors().get(1).getMessage()).contains("name");
+        assertThat(res.getErrors().get(2).getMessage()).contains("Category not found");
+
+        List<Product> created = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .toList();
+        assertThat(created).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Import-1", "Import-2", "Import-4");
+    }
+
+    @Test
+    @Transactional
+    void csvImport_handlesQuotedFieldsAndRejectsUnknownColumns() {
+        User manufacturer = createManufacturer();
+
+        String body = "name,description,price,stock,isFeatured\n"
+                + "\"Desk, oak\",\"Solid \"\"oak\"\" top\nwith drawers\",199.99,2,yes\n"
+                + "Chair,,abc,1,no\n"
+                + "Lamp,,25,4,false\n";
+
+        ProductImportResponse res = productImportService.importProducts(stream(body), "text/csv; charset=UTF-8",
+                manufacturer);
+
+        assertThat(res.getCreatedCount()).isEqualTo(2);
+        assertThat(res.getErrors()).singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getLine()).isEqualTo(4L);
+                    assertThat(e.getMessage()).contains("price");
+                });
+
+        Product desk = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .filter(p -> p.getName().equals("Desk, oak"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(desk.getDescription()).isEqualTo("Solid \"oak\" top\nwith drawers");
+        assertThat(desk.getIsFeatured()).isTrue();
+
+        assertThatThrownBy(() -> productImportService.importProducts(stream("name,colour\nX,red\n"),
+                ProductImportService.CSV, manufacturer))
+                .isInstanceOf(InvalidImportFileException.class);
+    }
+
+    private User createManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        return userRepository.save(User.builder()
+                .name("Import Mfg")
+                .email("import-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+
+    private Category createCategory() {
+        return categoryRepository.save(Category.builder()
+                .name("Import")
+                .slug("import-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
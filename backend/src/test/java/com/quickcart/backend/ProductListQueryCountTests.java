@@ -0,0 +1,202 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.controller.ProductController;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.dto.UpsertProductReviewRequest;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.security.CustomUserDetails;
+import com.quickcart.backend.service.ProductReviewService;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductListQueryCountTests {
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductReviewService productReviewService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void listProducts_statementCountDoesNotGrowWithPageSize() {
+        // Arrange: manufacturer + category + 30 products, a few of them reviewed
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("QueryCount Mfg")
+                .email("querycount-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        User reviewer = userRepository.save(User.builder()
+                .name("QueryCount Reviewer")
+                .email("querycount-reviewer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Category category = categoryRepository.save(Category.builder()
+                .name("Query Count")
+                .slug("query-count-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        for (int i = 0; i < 30; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("QC-" + i);
+            req.setDescription("QC desc");
+            req.setBrand("QCBrand");
+            req.setPrice(new BigDecimal("10.00"));
+            req.setStock(5);
+            req.setCategoryId(category.getId());
+            productService.createProduct(req, manufacturer);
+        }
+
+        List<Product> created = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .toList();
+        for (int i = 0; i < 3; i++) {
+            productReviewService.upsertReview(created.get(i).getId(), reviewer, UpsertProductReviewRequest.builder()
+                    .rating(4)
+                    .comment("ok")
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act: a single page holding every product (no count query needed for a partial first page)
+        Page<ProductListResponse> page = productController.listProducts(
+                new CustomUserDetails(manufacturer),
+                PageRequest.of(0, 50),
+                null, null, null, null, null, null, null, null, null, null, null, null
+        ).getBody();
+
+        // Assert: one select for the page regardless of how many rows it maps (no per-row review queries)
+        assertThat(page).isNotNull();
+        assertThat(page.getContent()).hasSize(30);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+
+        long reviewed = page.getContent().stream()
+                .filter(p -> p.getReviewsCount() == 1)
+                .peek(p -> assertThat(p.getRating()).isEqualByComparingTo("4.00"))
+                .count();
+        assertThat(reviewed).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional
+    void listProducts_cardViewProjectsRowsWithoutDescription() {
+        // Arrange
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Card Mfg")
+                .email("card-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName("Card-" + i);
+            req.setDescription("A long description ".repeat(50));
+            req.setBrand("CardBrand");
+            req.setPrice(new BigDecimal("20.00"));
+            req.setMrp(new BigDecimal("25.00"));
+            req.setStock(i);
+            productService.createProduct(req, manufacturer);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Page<ProductListResponse> cards = productController.listProducts(
+                new CustomUserDetails(manufacturer),
+                PageRequest.of(0, 10),
+                null, null, null, null, null, null, null, null, null, null, null, "card"
+        ).getBody();
+        Page<ProductListResponse> full = productController.listProducts(
+                new CustomUserDetails(manufacturer),
+                PageRequest.of(0, 10),
+                null, null, null, null, null, null, null, null, null, null, null, null
+        ).getBody();
+
+        // Assert: rows are projected (no entity instances), the card view drops only the description
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(cards).isNotNull();
+        assertThat(full).isNotNull();
+        assertThat(cards.getContent()).hasSize(5)
+                .allSatisfy(p -> {
+                    assertThat(p.getDescription()).isNull();
+                    assertThat(p.getManufacturerName()).isEqualTo("Card Mfg");
+                    assertThat(p.getDiscountPercent()).isEqualByComparingTo("20.00");
+                });
+        assertThat(full.getContent()).allSatisfy(p -> assertThat(p.getDescription()).startsWith("A long description"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.ProductSalesCounter;
+import com.quickcart.backend.catalog.ProductSalesRecordedEvent;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Long flush interval: only the explicit flush() below may drain the counters during the test.
+@SpringBootTest(properties = "app.products.popularity.flushIntervalMs=3600000")
+class ProductPopularitySortTests {
+
+    @Autowired
+    private ProductSalesCounter productSalesCounter;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void sortByPopularity_ordersByFlushedRollingSales() {
+        // Arrange
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        User manufacturer = userRepository.save(User.builder()
+                .name("Popularity Mfg")
+                .email("popularity-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        for (String name : List.of("Pop-A", "Pop-B", "Pop-C", "Pop-D")) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName(name);
+            req.setPrice(new BigDecimal("10.00"));
+            req.setStock(100);
+            productService.createProduct(req, manufacturer);
+        }
+        entityManager.flush();
+
+        Map<String, Long> ids = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .collect(Collectors.toMap(Product::getName, Product::getId));
+
+        LocalDate today = LocalDate.now();
+        // B sells the most today but most of it is cancelled; C's sales are older than a week
+        productSalesCounter.onSalesRecorded(new ProductSalesRecordedEvent(today, Map.of(ids.get("Pop-A"), 5, ids.get("Pop-B"), 9)));
+        productSalesCounter.onSalesRecorded(new ProductSalesRecordedEvent(today, Map.of(ids.get("Pop-B"), -6)));
+        productSalesCounter.onSalesRecorded(new ProductSalesRecordedEvent(today.minusDays(10), Map.of(ids.get("Pop-C"), 10)));
+        productSalesCounter.onSalesRecorded(new ProductSalesRecordedEvent(today.minusDays(1), Map.of(ids.get("Pop-D"), 4)));
+
+        // Act
+        productSalesCounter.flush();
+        Page<ProductListResponse> page = productService.getProductListForUser(manufacturer,
+                PageRequest.of(0, 10, Sort.by("popularity")),
+                null, null, null, null, null, null, null, null, null, null, null);
+
+        // Assert: score = units_30d + 3 * units_7d -> A=20, D=16, B=12, C=10
+        assertThat(page.getContent()).extracting(ProductListResponse::getName)
+                .containsExactly("Pop-A", "Pop-D", "Pop-B", "Pop-C");
+
+        entityManager.clear();
+        assertThat(productRepository.findById(ids.get("Pop-A")).orElseThrow().getPopularityScore()).isEqualTo(20L);
+    }
+}
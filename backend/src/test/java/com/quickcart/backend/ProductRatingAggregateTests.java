@@ -0,0 +1,232 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductDetailsResponse;
+import com.quickcart.backend.dto.UpsertProductReviewRequest;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductRatingReconciler;
+import com.quickcart.backend.service.ProductReviewService;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.reviews.reconcile.enabled=false")
+class ProductRatingAggregateTests {
+
+    @Autowired
+    private ProductReviewService productReviewService;
+
+    @Autowired
+    private ProductRatingReconciler productRatingReconciler;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void reviewWrites_adjustAggregatesByDelta() {
+        // Arrange
+        Long productId = createProduct();
+        List<User> reviewers = createReviewers(3);
+
+        // Act + Assert: three new reviews
+        review(productId, reviewers.get(0), 5);
+        review(productId, reviewers.get(1), 4);
+        review(productId, reviewers.get(2), 3);
+        assertAggregates(productId, 12, 3, "4.00");
+
+        // edit: only the difference is applied
+        review(productId, reviewers.get(2), 1);
+        assertAggregates(productId, 10, 3, "3.33");
+
+        // same rating again: no change
+        review(productId, reviewers.get(2), 1);
+        assertAggregates(productId, 10, 3, "3.33");
+
+        // delete removes the old rating and one review
+        productReviewService.deleteMyReview(productId, reviewers.get(0));
+        assertAggregates(productId, 5, 2, "2.50");
+
+        // the detail page reads the star histogram (1 x 4 stars, 1 x 1 star)
+        ProductDetailsResponse details = productService.getProductDetailsByIdForUser(productId, reviewers.get(0));
+        assertThat(details.getReviewCount()).isEqualTo(2);
+        assertThat(details.getRating()).isEqualByComparingTo("2.50");
+        assertThat(details.getRatingDistribution().getOneStar()).isEqualTo(1);
+        assertThat(details.getRatingDistribution().getThreeStar()).isZero();
+        assertThat(details.getRatingDistribution().getFourStar()).isEqualTo(1);
+        assertThat(details.getRatingDistribution().getFiveStar()).isZero();
+
+        productReviewService.deleteMyReview(productId, reviewers.get(1));
+        productReviewService.deleteMyReview(productId, reviewers.get(2));
+        Product empty = productRepository.findById(productId).orElseThrow();
+        assertThat(empty.getReviewCount()).isZero();
+        assertThat(empty.getRatingSum()).isZero();
+        assertThat(empty.getRating()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void reconcile_repairsDriftedAggregates() {
+        // Arrange: correct aggregates, then corrupt them behind the service's back
+        Long productId = createProduct();
+        List<User> reviewers = createReviewers(2);
+        review(productId, reviewers.get(0), 5);
+        review(productId, reviewers.get(1), 2);
+
+        entityManager.createNativeQuery("UPDATE products SET rating_sum = 999, review_count = 7, rating = 1.00 WHERE id = :id")
+                .setParameter("id", productId)
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act
+        int repaired = productRatingReconciler.reconcile();
+
+        // Assert
+        assertThat(repaired).isGreaterThanOrEqualTo(1);
+        entityManager.clear();
+        assertAggregates(productId, 7, 2, "3.50");
+        assertThat(productRatingReconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void reconcile_repairsDriftedHistograms() {
+        // Arrange: histogram rows out of step with product_reviews, product aggregates intact
+        Long productId = createProduct();
+        Long orphanId = createProduct();
+        List<User> reviewers = createReviewers(2);
+        review(productId, reviewers.get(0), 4);
+        review(productId, reviewers.get(1), 4);
+        entityManager.createNativeQuery("UPDATE product_rating_histograms SET stars_4 = 9, stars_1 = 3 WHERE product_id = :id")
+                .setParameter("id", productId)
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO product_rating_histograms (product_id, stars_5) VALUES (:id, 2)")
+                .setParameter("id", orphanId)
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act
+        int repaired = productRatingReconciler.reconcile();
+
+        // Assert: distribution repaired; rating and count were never taken from the histogram
+        assertThat(repaired).isGreaterThanOrEqualTo(2);
+        ProductDetailsResponse details = productService.getProductDetailsByIdForUser(productId, reviewers.get(0));
+        assertThat(details.getRatingDistribution().getFourStar()).isEqualTo(2);
+        assertThat(details.getRatingDistribution().getOneStar()).isZero();
+        assertThat(details.getReviewCount()).isEqualTo(2);
+        assertThat(details.getRating()).isEqualByComparingTo("4.00");
+        assertThat(productService.getProductDetailsByIdForUser(orphanId, reviewers.get(0))
+                .getRatingDistribution().getFiveStar()).isZero();
+        assertThat(productRatingReconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void rebuildHistograms_backfillsFromReviews() {
+        // Arrange: reviews exist but the histogram row is gone (e.g. written before V16)
+        Long productId = createProduct();
+        List<User> reviewers = createReviewers(3);
+        review(productId, reviewers.get(0), 5);
+        review(productId, reviewers.get(1), 5);
+        review(productId, reviewers.get(2), 2);
+        entityManager.createNativeQuery("DELETE FROM product_rating_histograms WHERE product_id = :id")
+                .setParameter("id", productId)
+                .executeUpdate();
+
+        // Act
+        productRatingReconciler.rebuildHistograms();
+
+        // Assert
+        ProductDetailsResponse.RatingDistribution distribution = productService
+                .getProductDetailsByIdForUser(productId, reviewers.get(0))
+                .getRatingDistribution();
+        assertThat(distribution.getFiveStar()).isEqualTo(2);
+        assertThat(distribution.getTwoStar()).isEqualTo(1);
+        assertThat(distribution.getOneStar()).isZero();
+    }
+
+    private void review(Long productId, User reviewer, int rating) {
+        productReviewService.upsertReview(productId, reviewer, UpsertProductReviewRequest.builder()
+                .rating(rating)
+                .comment("r" + rating)
+                .build());
+    }
+
+    private void assertAggregates(Long productId, long ratingSum, int reviewCount, String rating) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(product.getRatingSum()).isEqualTo(ratingSum);
+        assertThat(product.getReviewCount()).isEqualTo(reviewCount);
+        assertThat(product.getRating()).isEqualByComparingTo(rating);
+    }
+
+    private Long createProduct() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        User manufacturer = userRepository.save(User.builder()
+                .name("Rating Mfg")
+                .email("rating-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        String name = "Rating-" + UUID.randomUUID();
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName(name);
+        req.setPrice(new BigDecimal("10.00"));
+        req.setStock(1);
+        productService.createProduct(req, manufacturer);
+        entityManager.flush();
+
+        return productRepository.findAll().stream()
+                .filter(p -> name.equals(p.getName()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private List<User> createReviewers(int count) {
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+        List<User> reviewers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            reviewers.add(userRepository.save(User.builder()
+                    .name("Rating Reviewer " + i)
+                    .email("rating-reviewer-" + UUID.randomUUID() + "@test.local")
+                    .password("pass")
+                    .isActive(true)
+                    .roles(Set.of(retailerRole))
+                    .build()));
+        }
+        return reviewers;
+    }
+}
@@ -0,0 +1,171 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.CursorPageResponse;
+import com.quickcart.backend.dto.ProductReviewResponse;
+import com.quickcart.backend.dto.UpsertProductReviewRequest;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.exception.InvalidCursorException;
+import com.quickcart.backend.exception.ResourceNotFoundException;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductReviewService;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProductReviewCursorTests {
+
+    private static final int[] RATINGS = {5, 2, 4, 5, 1, 3, 4};
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductReviewService productReviewService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void cursorPages_coverEveryReviewOnceInEachSortOrder() {
+        // Arrange
+        Long productId = createReviewedProduct();
+
+        // Act
+        List<ProductReviewResponse> newest = readAll(productId, PageRequest.of(0, 3));
+        List<ProductReviewResponse> highest = readAll(productId, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "rating")));
+        List<ProductReviewResponse> lowest = readAll(productId, PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "rating")));
+
+        // Assert: every order returns all reviews exactly once, in index order
+        assertThat(newest).hasSize(RATINGS.length)
+                .isSortedAccordingTo(Comparator.comparing(ProductReviewResponse::getCreatedAt)
+                        .thenComparing(ProductReviewResponse::getId).reversed());
+        assertThat(highest).hasSize(RATINGS.length)
+                .isSortedAccordingTo(Comparator.comparing(ProductReviewResponse::getRating)
+                        .thenComparing(ProductReviewResponse::getCreatedAt)
+                        .thenComparing(ProductReviewResponse::getId).reversed());
+        assertThat(lowest).hasSize(RATINGS.length)
+                .isSortedAccordingTo(Comparator.comparing(ProductReviewResponse::getRating)
+                        .thenComparing(ProductReviewResponse::getCreatedAt)
+                        .thenComparing(ProductReviewResponse::getId));
+
+        assertThat(newest).extracting(ProductReviewResponse::getId).doesNotHaveDuplicates();
+        assertThat(highest).extracting(ProductReviewResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(newest.stream().map(ProductReviewResponse::getId).toList());
+        assertThat(highest.getFirst().getRating()).isEqualTo(5);
+        assertThat(lowest.getFirst().getRating()).isEqualTo(1);
+        assertThat(newest).allSatisfy(r -> {
+            assertThat(r.getProductId()).isEqualTo(productId);
+            assertThat(r.getComment()).startsWith("Review ");
+        });
+    }
+
+    @Test
+    @Transactional
+    void cursorPage_rejectsMissingProductAndBadCursors() {
+        Long productId = createReviewedProduct();
+        CursorPageResponse<ProductReviewResponse> first =
+                productReviewService.getReviewCursorPage(productId, "", PageRequest.of(0, 2));
+
+        assertThatThrownBy(() -> productReviewService.getReviewCursorPage(-1L, "", PageRequest.of(0, 2)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> productReviewService.getReviewCursorPage(productId, "garbage", PageRequest.of(0, 2)))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> productReviewService.getReviewCursorPage(productId, first.getNextCursor(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "rating"))))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> productReviewService.getReviewCursorPage(productId, "",
+                PageRequest.of(0, 2, Sort.by("comment"))))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private List<ProductReviewResponse> readAll(Long productId, Pageable pageable) {
+        List<ProductReviewResponse> all = new ArrayList<>();
+        String cursor = "";
+        CursorPageResponse<ProductReviewResponse> page;
+        do {
+            page = productReviewService.getReviewCursorPage(productId, cursor, pageable);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(pageable.getPageSize());
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+        return all;
+    }
+
+    private Long createReviewedProduct() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Review Cursor Mfg")
+                .email("review-cursor-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName("Review Cursor Product");
+        req.setDescription("desc");
+        req.setBrand("CursorBrand");
+        req.setPrice(new BigDecimal("15.00"));
+        req.setStock(3);
+        productService.createProduct(req, manufacturer);
+
+        Product product = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        for (int i = 0; i < RATINGS.length; i++) {
+            User reviewer = userRepository.save(User.builder()
+                    .name("Review Cursor Reviewer " + i)
+                    .email("review-cursor-reviewer-" + UUID.randomUUID() + "@test.local")
+                    .password("pass")
+                    .isActive(true)
+                    .roles(Set.of(retailerRole))
+                    .build());
+            productReviewService.upsertReview(product.getId(), reviewer, UpsertProductReviewRequest.builder()
+                    .rating(RATINGS[i])
+                    .comment("Review " + i)
+                    .build());
+        }
+
+        entityManager.flush();
+        return product.getId();
+    }
+}
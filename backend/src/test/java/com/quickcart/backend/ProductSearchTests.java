@@ -0,0 +1,95 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductFacetsResponse;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProductSearchTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void search_filtersByTextAndRanksNameMatchesFirst() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Search Mfg")
+                .email("search-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        // Unique token so other data in the database cannot match
+        String token = "srch" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+
+        createProduct(manufacturer, "Plain widget", "Acme", "Mentions " + token + " only in the description", "10.00");
+        createProduct(manufacturer, token + " cordless drill", "Acme", "Drill", "20.00");
+        createProduct(manufacturer, "Unrelated hammer", "Bolt", "Nothing to see", "30.00");
+        entityManager.flush();
+
+        // Unsorted search => relevance order (name hit weighted above description hit)
+        Page<ProductListResponse> page = productService.getProductListForUser(manufacturer, PageRequest.of(0, 10),
+                null, null, null, null, null, null, null, null, null, null, token);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ProductListResponse::getName)
+                .containsExactly(token + " cordless drill", "Plain widget");
+
+        // Explicit sort still applies, and combines with structured filters
+        Page<ProductListResponse> byPrice = productService.getProductListForUser(manufacturer,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")),
+                null, null, null, new BigDecimal("15"), null, null, null, null, null, null, token);
+        assertThat(byPrice.getContent()).extracting(ProductListResponse::getName)
+                .containsExactly("Plain widget");
+
+        // Facets honour the search text too
+        ProductFacetsResponse facets = productService.getProductFacetsForUser(manufacturer,
+                null, null, null, null, null, null, null, null, null, null, token);
+        assertThat(facets.getBrands()).hasSize(1);
+        assertThat(facets.getBrands().getFirst().getCount()).isEqualTo(2);
+    }
+
+    private void createProduct(User manufacturer, String name, String brand, String description, String price) {
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName(name);
+        req.setBrand(brand);
+        req.setDescription(description);
+        req.setPrice(new BigDecimal(price));
+        req.setStock(5);
+        productService.createProduct(req, manufacturer);
+    }
+}
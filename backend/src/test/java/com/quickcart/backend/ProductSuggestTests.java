@@ -0,0 +1,129 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.CatalogIndexUpdatedEvent;
+import com.quickcart.backend.catalog.CatalogRow;
+import com.quickcart.backend.catalog.SuggestionIndex;
+import com.quickcart.backend.dto.CategoryResponse;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductSuggestionsResponse;
+import com.quickcart.backend.entity.Category;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.CategoryRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Startup rebuild is pushed out so the test's own rebuild (which sees its uncommitted rows) is the live index.
+@SpringBootTest(properties = "app.catalog.index.initialDelayMs=3600000")
+class ProductSuggestTests {
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @Transactional
+    void suggest_matchesWordPrefixesAndFollowsIncrementalUpdates() {
+        // Arrange: a word unique to this run so existing catalog data cannot match
+        String word = "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Suggest Mfg")
+                .email("suggest-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+
+        User retailer = userRepository.save(User.builder()
+                .name("Suggest Retailer")
+                .email("suggest-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Category category = categoryRepository.save(Category.builder()
+                .name(word + " Tools")
+                .slug("suggest-" + UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        String[] names = {word + " Cordless Drill", word + " Hammer Drill", word + " Angle Grinder"};
+        for (int i = 0; i < names.length; i++) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName(names[i]);
+            // Brand spelled differently per product; suggestions must still list it once
+            req.setBrand(i == 1 ? " " + word.toUpperCase() + "Works " : word.toUpperCase() + "Works");
+            req.setPrice(new BigDecimal("49.00"));
+            req.setStock(3);
+            req.setCategoryId(category.getId());
+            productService.createProduct(req, manufacturer);
+        }
+
+        suggestionIndex.rebuild();
+
+        // Act + Assert: last word is a prefix, earlier words must match too
+        ProductSuggestionsResponse drills = productService.getProductSuggestionsForUser(retailer, word + " dri", 5);
+        assertThat(drills.getProducts())
+                .extracting(ProductSuggestionsResponse.ProductSuggestion::getName)
+                .containsExactlyInAnyOrder(names[0], names[1]);
+
+        ProductSuggestionsResponse all = productService.getProductSuggestionsForUser(retailer, word.substring(0, 8), 10);
+        assertThat(all.getProducts()).hasSize(3);
+        assertThat(all.getBrands()).containsExactly(word.toUpperCase() + "Works");
+        assertThat(all.getCategories()).extracting(CategoryResponse::getId).containsExactly(category.getId());
+
+        ProductSuggestionsResponse limited = productService.getProductSuggestionsForUser(retailer, word, 1);
+        assertThat(limited.getProducts()).hasSize(1);
+
+        assertThat(productService.getProductSuggestionsForUser(manufacturer, word, 5).getProducts()).isEmpty();
+
+        // Incremental: a deactivated product drops out once the catalog index reports its row
+        Product grinder = productRepository.findAll().stream()
+                .filter(p -> p.getName().equals(names[2]))
+                .findFirst()
+                .orElseThrow();
+        productService.deactivateProduct(grinder.getId(), manufacturer);
+        List<CatalogRow> rows = productRepository.findCatalogRowsByIdIn(List.of(grinder.getId()));
+        suggestionIndex.onCatalogIndexUpdated(new CatalogIndexUpdatedEvent(0, false, true, rows, Set.of()));
+
+        assertThat(productService.getProductSuggestionsForUser(retailer, word + " gri", 5).getProducts()).isEmpty();
+        assertThat(productService.getProductSuggestionsForUser(retailer, word, 10).getProducts()).hasSize(2);
+    }
+}
@@ -0,0 +1,164 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.catalog.OrderPlacedEvent;
+import com.quickcart.backend.catalog.RelatedProductsIndex;
+import com.quickcart.backend.dto.CreateProductRequest;
+import com.quickcart.backend.dto.ProductListResponse;
+import com.quickcart.backend.entity.Product;
+import com.quickcart.backend.exception.ResourceNotFoundException;
+import com.quickcart.backend.entity.Role;
+import com.quickcart.backend.entity.User;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// No startup rebuild: it would swap in an index built from committed orders while the test feeds events.
+@SpringBootTest(properties = "app.catalog.related.initialDelayMs=3600000")
+class RelatedProductsTests {
+
+    @Autowired
+    private RelatedProductsIndex relatedProductsIndex;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void relatedProducts_rankByCoOccurrenceAndSkipInactive() {
+        // Arrange
+        User manufacturer = newManufacturer();
+        User buyer = newBuyer();
+
+        for (String name : List.of("Rel-A", "Rel-B", "Rel-C", "Rel-D", "Rel-E")) {
+            CreateProductRequest req = new CreateProductRequest();
+            req.setName(name);
+            req.setPrice(new BigDecimal("10.00"));
+            req.setStock(10);
+            productService.createProduct(req, manufacturer);
+        }
+        entityManager.flush();
+
+        Map<String, Long> ids = productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()))
+                .collect(Collectors.toMap(Product::getName, Product::getId));
+        Long a = ids.get("Rel-A");
+
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-B"), ids.get("Rel-C"))));
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-B"))));
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-D"), ids.get("Rel-D"))));
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-D"), ids.get("Rel-E"))));
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-E"))));
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(a, ids.get("Rel-E"))));
+
+        productService.deactivateProduct(ids.get("Rel-C"), manufacturer);
+        entityManager.flush();
+
+        // Act
+        List<ProductListResponse> related = productService.getRelatedProductsForUser(a, buyer, 10);
+        List<ProductListResponse> top = productService.getRelatedProductsForUser(a, buyer, 1);
+
+        // Assert: E=3, B=2, D=2 (one order, duplicates count once), C is inactive
+        assertThat(related).extracting(ProductListResponse::getName).containsExactly("Rel-E", "Rel-B", "Rel-D");
+        assertThat(top).extracting(ProductListResponse::getName).containsExactly("Rel-E");
+        assertThat(relatedProductsIndex.related(ids.get("Rel-B"), 10)).containsExactly(a, ids.get("Rel-C"));
+        assertThat(productService.getRelatedProductsForUser(a, manufacturer, 10))
+                .extracting(ProductListResponse::getName).containsExactly("Rel-E", "Rel-B", "Rel-D");
+    }
+
+    @Test
+    @Transactional
+    void relatedProducts_followDetailVisibility() {
+        // Arrange: two manufacturers' products bought together
+        User owner = newManufacturer();
+        User other = newManufacturer();
+        User buyer = newBuyer();
+        Long own = createProduct("Vis-Own", owner);
+        Long foreign = createProduct("Vis-Foreign", other);
+        Long inactive = createProduct("Vis-Inactive", owner);
+        productService.deactivateProduct(inactive, owner);
+        entityManager.flush();
+
+        relatedProductsIndex.onOrderPlaced(OrderPlacedEvent.of(null, List.of(own, foreign, inactive)));
+
+        // Act + Assert: manufacturers only see their own products, as source and as neighbours
+        assertThat(productService.getRelatedProductsForUser(own, owner, 10)).isEmpty();
+        assertThatThrownBy(() -> productService.getRelatedProductsForUser(own, other, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(productService.getRelatedProductsForUser(inactive, owner, 10)).isEmpty();
+
+        // buyers only see ACTIVE sources; unknown ids are a 404 like the detail endpoint
+        assertThat(productService.getRelatedProductsForUser(own, buyer, 10))
+                .extracting(ProductListResponse::getName).containsExactly("Vis-Foreign");
+        assertThatThrownBy(() -> productService.getRelatedProductsForUser(inactive, buyer, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> productService.getRelatedProductsForUser(-1L, buyer, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Long createProduct(String name, User manufacturer) {
+        CreateProductRequest req = new CreateProductRequest();
+        req.setName(name);
+        req.setPrice(new BigDecimal("10.00"));
+        req.setStock(10);
+        productService.createProduct(req, manufacturer);
+        entityManager.flush();
+        return productRepository.findAll().stream()
+                .filter(p -> p.getManufacturer().getId().equals(manufacturer.getId()) && p.getName().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private User newManufacturer() {
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        return userRepository.save(User.builder()
+                .name("Related Mfg")
+                .email("related-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+    }
+
+    private User newBuyer() {
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+        return userRepository.save(User.builder()
+                .name("Related Buyer")
+                .email("related-buyer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+    }
+}
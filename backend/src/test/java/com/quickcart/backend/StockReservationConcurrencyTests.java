@@ -0,0 +1,163 @@
+package com.quickcart.backend;
+
+import com.quickcart.backend.dto.OrderItemRequest;
+import com.quickcart.backend.dto.PlaceOrderRequest;
+import com.quickcart.backend.entity.*;
+import com.quickcart.backend.exception.InsufficientStockException;
+import com.quickcart.backend.repository.AddressRepository;
+import com.quickcart.backend.repository.OrderRepository;
+import com.quickcart.backend.repository.ProductRepository;
+import com.quickcart.backend.repository.RoleRepository;
+import com.quickcart.backend.repository.UserRepository;
+import com.quickcart.backend.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional on purpose: every checkout commits on its own connection, as in production.
+ */
+@SpringBootTest
+class StockReservationConcurrencyTests {
+
+    private static final int CHECKOUTS = 500;
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void concurrentCheckouts_neverOversellAndNeverDeadlock() throws Exception {
+        // Arrange: two products with 100 units each; every checkout takes one of each, listed in either order
+        Role manufacturerRole = roleRepository.findByName("MANUFACTURER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("MANUFACTURER").build()));
+        Role retailerRole = roleRepository.findByName("RETAILER")
+                .orElseGet(() -> roleRepository.save(Role.builder().name("RETAILER").build()));
+
+        User manufacturer = userRepository.save(User.builder()
+                .name("Stress Mfg")
+                .email("stress-mfg-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(manufacturerRole))
+                .build());
+        User retailer = userRepository.save(User.builder()
+                .name("Stress Retailer")
+                .email("stress-retailer-" + UUID.randomUUID() + "@test.local")
+                .password("pass")
+                .isActive(true)
+                .roles(Set.of(retailerRole))
+                .build());
+
+        Address address = Address.builder()
+                .user(retailer)
+                .name("Stress Traders")
+                .phone("9876543210")
+                .addressType(AddressType.HOME)
+                .addressLine1("MG Road")
+                .city("Bangalore")
+                .state("Karnataka")
+                .pincode("560001")
+                .isDefault(true)
+                .isActive(true)
+                .build();
+        address.setCreatedBy(retailer);
+        address.setUpdatedBy(retailer);
+        Long addressId = addressRepository.save(address).getId();
+
+        Long first = createProduct(manufacturer, "Stress A").getId();
+        Long second = createProduct(manufacturer, "Stress B").getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // Act
+        List<Runnable> checkouts = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            PlaceOrderRequest request = i % 2 == 0
+                    ? orderRequest(addressId, first, second)
+                    : orderRequest(addressId, second, first);
+            checkouts.add(() -> {
+                try {
+                    start.await();
+                    orderService.placeOrder(request, retailer);
+                    placed.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    rejected.incrementAndGet();
+                } catch (Throwable ex) {
+                    unexpected.add(ex);
+                }
+            });
+        }
+        checkouts.forEach(executor::execute);
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        // Assert: exactly the available units were sold, the rest failed cleanly, stock never went negative
+        assertThat(unexpected).isEmpty();
+        assertThat(placed.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(CHECKOUTS - STOCK);
+        assertThat(productRepository.findById(first).orElseThrow().getStockQuantity()).isZero();
+        assertThat(productRepository.findById(second).orElseThrow().getStockQuantity()).isZero();
+        assertThat(orderRepository.findAll().stream()
+                .filter(o -> o.getRetailer().getId().equals(retailer.getId()))
+                .count()).isEqualTo(STOCK);
+    }
+
+    private Product createProduct(User manufacturer, String name) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal("12.00"))
+                .stock(STOCK)
+                .status(ProductStatus.ACTIVE)
+                .manufacturer(manufacturer)
+                .build());
+    }
+
+    private static PlaceOrderRequest orderRequest(Long addressId, Long... productIds) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        PlaceOrderRequest request = new PlaceOrderRequest();
+        request.setItems(items);
+        request.setDeliveryAddressId(addressId);
+        return request;
+    }
+}
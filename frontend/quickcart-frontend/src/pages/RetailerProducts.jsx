@@ -12,6 +12,8 @@ export default function RetailerProducts() {
   const [error, setError] = useState("");
   const [wishlist, setWishlist] = useState(() => new Set());
   const [sortBy, setSortBy] = useState("recommended");
+  const [searchInput, setSearchInput] = useState("");
+  const [appliedSearch, setAppliedSearch] = useState("");
   const [selectedCategories, setSelectedCategories] = useState(() => new Set());
   const [selectedBrands, setSelectedBrands] = useState(() => new Set());
   const [selectedPrices, setSelectedPrices] = useState(() => new Set());
@@ -76,6 +78,7 @@ export default function RetailerProducts() {
     availability,
     appliedPriceMax,
     sortBy,
+    appliedSearch,
   ]);
 
   useEffect(() => {
@@ -89,6 +92,10 @@ export default function RetailerProducts() {
           size: pageSize,
         };
 
+        if (appliedSearch) {
+          params.q = appliedSearch;
+        }
+
         if (selectedCategories.size > 0) {
           params.category = Array.from(selectedCategories).join(",");
         }
@@ -209,6 +216,7 @@ export default function RetailerProducts() {
     availability,
     appliedPriceMax,
     sortBy,
+    appliedSearch,
   ]);
 
   useEffect(() => {
@@ -218,6 +226,10 @@ export default function RetailerProducts() {
       try {
         const params = {};
 
+        if (appliedSearch) {
+          params.q = appliedSearch;
+        }
+
         if (selectedCategories.size > 0) {
           params.category = Array.from(selectedCategories).join(",");
         }
@@ -303,7 +315,7 @@ export default function RetailerProducts() {
     return () => {
       isMounted = false;
     };
-  }, [selectedCategories, selectedBrands, selectedPrices, selectedRatings, availability, appliedPriceMax]);
+  }, [selectedCategories, selectedBrands, selectedPrices, selectedRatings, availability, appliedPriceMax, appliedSearch]);
 
   const pageInfo = useMemo(() => {
     const start = page * pageSize + 1;
@@ -775,6 +787,24 @@ export default function RetailerProducts() {
         <section className="retailer-products-main">
           <div className="retailer-products-toolbar">
             <div className="toolbar-left">{pageInfo}</div>
+            <form
+              className="toolbar-search"
+              onSubmit={(event) => {
+                event.preventDefault();
+                setAppliedSearch(searchInput.trim());
+              }}
+            >
+              <input
+                type="search"
+                className="toolbar-search-input"
+                placeholder="Search products, brands..."
+                value={searchInput}
+                onChange={(event) => {
+                  setSearchInput(event.target.value);
+                  if (!event.target.value) setAppliedSearch("");
+                }}
+              />
+            </form>
             <div className="toolbar-right">
               <label htmlFor="sort" className="toolbar-label">
                 Sort by: